@@ -59,9 +59,25 @@ const submitExam = (candidateId, examId, payload) =>
     headers: { 'Content-Type': 'application/json' },
     body: JSON.stringify(payload),
   });
+const getSubmissionStatus = (candidateId, ticket) => 
+  fetchAPI(`/api/${candidateId}/assessment/submissions/${ticket}`);
+
+const saveAnswers = (candidateId, examId, payload) => 
+  fetchAPI(`/api/${candidateId}/assessment/${examId}/answers`, {
+    method: 'PUT',
+    headers: { 'Content-Type': 'application/json' },
+    body: JSON.stringify(payload),
+  });
+
+const getSavedAnswers = (candidateId, examId) => 
+  fetchAPI(`/api/${candidateId}/assessment/${examId}/answers`);
+
 export const api = {
   getAllExams,
   getExamById,
   getResults,
   submitExam,
+  getSubmissionStatus,
+  saveAnswers,
+  getSavedAnswers,
 };
\ No newline at end of file
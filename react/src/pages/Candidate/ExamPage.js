@@ -32,6 +32,14 @@ export default function ExamPage({ examDetails, onComplete }) {
                     setExamData(data);
                     setFlatQuestions(flattened);
                     setTimeLeft(data.time_limit * 60);
+                    // Restore answers autosaved before a reload or crash
+                    const saved = await api.getSavedAnswers(CANDIDATE_ID, examDetails.managerTemplateId).catch(() => ({}));
+                    const restored = {};
+                    Object.keys(saved || {}).forEach(questionId => {
+                        const letter = saved[questionId];
+                        if (/^[A-Z]$/.test(letter)) restored[questionId] = letter.charCodeAt(0) - 65;
+                    });
+                    setAnswers(restored);
                 }
             } catch (error) {
                 console.error("Failed to load exam:", error);
@@ -69,6 +77,11 @@ export default function ExamPage({ examDetails, onComplete }) {
     const saveCurrent = () => {
         if (selected === '') return true;
         setAnswers((prev) => ({ ...prev, [q.id]: Number(selected) }));
+        if (answers[q.id] !== Number(selected)) {
+            const payload = { answers: { [q.id]: String.fromCharCode(65 + Number(selected)) } };
+            api.saveAnswers(CANDIDATE_ID, examDetails.managerTemplateId, payload)
+                .catch(e => console.error('Autosave failed:', e));
+        }
         return true;
     };
 
@@ -103,7 +116,13 @@ export default function ExamPage({ examDetails, onComplete }) {
 
         try {
             const payload = { answers: finalAnswersWithLetters };
-            await api.submitExam(CANDIDATE_ID, examDetails.managerTemplateId, payload);
+            const submission = await api.submitExam(CANDIDATE_ID, examDetails.managerTemplateId, payload);
+            // Grading runs in the background; wait briefly for it before showing results
+            for (let attempt = 0; submission?.ticket && attempt < 30; attempt++) {
+                const status = await api.getSubmissionStatus(CANDIDATE_ID, submission.ticket);
+                if (status.status !== 'PENDING' && status.status !== 'GRADING') break;
+                await new Promise(resolve => setTimeout(resolve, 1000));
+            }
             onComplete(examDetails.managerTemplateId);
         } catch (e) {
             console.error('Submission failed:', e);
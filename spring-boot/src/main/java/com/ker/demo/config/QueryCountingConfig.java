@@ -0,0 +1,66 @@
+package com.ker.demo.config;
+
+import java.io.IOException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.ker.demo.service.QueryStatisticsService;
+import com.ker.demo.utils.QueryCounter;
+import com.ker.demo.utils.QueryCountingDataSource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * Counts the SQL statements each HTTP request makes, through Hibernate and
+ * JdbcTemplate alike. The data source is wrapped so every executed statement
+ * bumps a per-thread counter, and a servlet filter records the difference per
+ * endpoint once the handler has run; the totals are served from
+ * /ops/query-stats.
+ */
+@Configuration
+public class QueryCountingConfig {
+
+	static final String UNMAPPED_ENDPOINT = "unmapped";
+
+	@Bean
+	public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				return bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)
+						? new QueryCountingDataSource(dataSource)
+						: bean;
+			}
+		};
+	}
+
+	@Bean
+	public FilterRegistrationBean<OncePerRequestFilter> queryCountingFilter(
+			QueryStatisticsService queryStatisticsService) {
+		OncePerRequestFilter filter = new OncePerRequestFilter() {
+			@Override
+			protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+					FilterChain chain) throws ServletException, IOException {
+				long start = QueryCounter.current();
+				try {
+					chain.doFilter(request, response);
+				} finally {
+					Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+					String endpoint = pattern == null ? UNMAPPED_ENDPOINT : request.getMethod() + " " + pattern;
+					queryStatisticsService.record(endpoint, QueryCounter.current() - start);
+				}
+			}
+		};
+		return new FilterRegistrationBean<>(filter);
+	}
+}
@@ -0,0 +1,83 @@
+package com.ker.demo.config;
+
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/*
+ * Caffeine-backed JCache regions for the Hibernate second-level and query
+ * caches. Every region is created here with its own size limit and TTL, read
+ * from exam.l2-cache.<region>.max-entries / ttl-seconds with the exam.l2-cache
+ * defaults as fallback, and Hibernate is told to fail on any region it would
+ * otherwise create unbounded.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+	public static final List<String> ENTITY_REGIONS = List.of("category", "role", "permission", "manager-template",
+			"question-answer");
+
+	public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+	public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+	@Bean(destroyMethod = "close")
+	public CacheManager secondLevelCacheManager(Environment environment) {
+		CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+		// The provider's default manager is shared JVM-wide; each application context gets its own
+		URI uri = URI.create("urn:exam-l2-cache:" + UUID.randomUUID());
+		CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+
+		long defaultMaxEntries = environment.getProperty("exam.l2-cache.max-entries", Long.class, 10_000L);
+		long defaultTtlSeconds = environment.getProperty("exam.l2-cache.ttl-seconds", Long.class, 3600L);
+		for (String region : ENTITY_REGIONS) {
+			createRegion(cacheManager, region,
+					environment.getProperty("exam.l2-cache." + region + ".max-entries", Long.class, defaultMaxEntries),
+					environment.getProperty("exam.l2-cache." + region + ".ttl-seconds", Long.class, defaultTtlSeconds));
+		}
+		createRegion(cacheManager, QUERY_RESULTS_REGION,
+				environment.getProperty("exam.l2-cache.query-results.max-entries", Long.class, defaultMaxEntries),
+				environment.getProperty("exam.l2-cache.query-results.ttl-seconds", Long.class, defaultTtlSeconds));
+		// Update timestamps must outlive every cached query result, so no size limit or expiry
+		createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, 0, 0);
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+		return properties -> {
+			properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+			properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+		};
+	}
+
+	private static void createRegion(CacheManager cacheManager, String region, long maxEntries, long ttlSeconds) {
+		CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		configuration.setStoreByValue(false);
+		configuration.setStatisticsEnabled(true);
+		if (maxEntries > 0) {
+			configuration.setMaximumSize(OptionalLong.of(maxEntries));
+		}
+		if (ttlSeconds > 0) {
+			configuration.setExpiryPolicyFactory(
+					CreatedExpiryPolicy.factoryOf(new Duration(TimeUnit.SECONDS, ttlSeconds)));
+		}
+		cacheManager.createCache(region, configuration);
+	}
+}
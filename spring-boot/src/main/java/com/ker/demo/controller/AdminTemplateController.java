@@ -12,9 +12,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.ker.demo.domin.AdminTemplate;
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.service.AdminTemplateService;
 
 @RestController
@@ -51,9 +53,18 @@ public class AdminTemplateController {
     }
 
     @GetMapping("/getAllAdminTemplates")
-    public ResponseEntity<List<AdminTemplate>> getAllTemplates() {
-        List<AdminTemplate> templates = adminTemplateService.getAllAdminTemplates();
-        return ResponseEntity.ok(templates);
+    public ResponseEntity<?> getAllTemplates(@RequestParam(required = false) String name,
+            @RequestParam(required = false) String sort, @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        if (!KeysetPage.requested(name, sort, after, limit)) {
+            List<AdminTemplate> templates = adminTemplateService.getAllAdminTemplates();
+            return ResponseEntity.ok(templates);
+        }
+        try {
+            return KeysetResponses.ok(adminTemplateService.getAdminTemplates(name, sort, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
 
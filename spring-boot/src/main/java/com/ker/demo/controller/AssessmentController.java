@@ -1,15 +1,27 @@
 package com.ker.demo.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.ker.demo.domin.Assessment;
 import com.ker.demo.service.AssessmentService;
+import com.ker.demo.service.ExamPreGenerationService;
+import com.ker.demo.service.ResultExportService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -24,10 +36,16 @@ public class AssessmentController {
     @Autowired
     private AssessmentService assessmentService;
 
+    @Autowired
+    private ExamPreGenerationService examPreGenerationService;
+
+    @Autowired
+    private ResultExportService resultExportService;
+
     @PostMapping("/schedule-exam")
-    @Operation(summary = "Schedule an exam", description = "Creates a new assessment schedule by copying admin template to manager template and mapping candidates")
+    @Operation(summary = "Schedule an exam", description = "Creates a new assessment schedule by copying admin template to manager template and queues candidate mapping and paper generation")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "201", description = "Assessment scheduled successfully"),
+        @ApiResponse(responseCode = "202", description = "Assessment scheduled; candidate papers are being generated"),
         @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
         @ApiResponse(responseCode = "404", description = "Admin template not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
@@ -35,11 +53,53 @@ public class AssessmentController {
     public ResponseEntity<?> scheduleExam(@RequestBody Assessment assessment) {
         try {
             Assessment created = assessmentService.createAssessment(assessment);
-            return new ResponseEntity<>(created, HttpStatus.CREATED);
+            return new ResponseEntity<>(created, HttpStatus.ACCEPTED);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>("Internal server error: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    @GetMapping("/schedule-exam/{managerTemplateId}/progress")
+    @Operation(summary = "Exam generation progress", description = "Returns how many candidate papers have been generated for a scheduled exam")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Progress found"),
+        @ApiResponse(responseCode = "404", description = "No generation job for this manager template")
+    })
+    public ResponseEntity<?> getScheduleProgress(@PathVariable Long managerTemplateId) {
+        return examPreGenerationService.getProgress(managerTemplateId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> new ResponseEntity<>("No exam generation found for manager template " + managerTemplateId,
+                        HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/results/{managerTemplateId}/export")
+    @Operation(summary = "Export results", description = "Streams every graded answer of a manager template as CSV or XLSX")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format"),
+        @ApiResponse(responseCode = "404", description = "Manager template not found")
+    })
+    public ResponseEntity<?> exportResults(@PathVariable Long managerTemplateId,
+            @RequestParam(defaultValue = ResultExportService.CSV) String format) {
+        try {
+            resultExportService.checkExportable(managerTemplateId, format);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (NoSuchElementException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+
+        boolean xlsx = ResultExportService.XLSX.equalsIgnoreCase(format);
+        String fileName = "results-" + managerTemplateId + (xlsx ? ".xlsx" : ".csv");
+        MediaType contentType = xlsx
+                ? MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                : new MediaType("text", "csv", StandardCharsets.UTF_8);
+        StreamingResponseBody body = out -> resultExportService.exportResults(managerTemplateId, format, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(contentType)
+                .body(body);
+    }
 }
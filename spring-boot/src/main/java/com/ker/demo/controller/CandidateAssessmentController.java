@@ -5,17 +5,26 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.ker.demo.domin.SubmissionStatus;
+import com.ker.demo.domin.VersionedExamDetails;
 import com.ker.demo.service.CandidateAssessmentService;
 import com.ker.demo.service.CandidateAssessmentService.SubmitRequest;
+import com.ker.demo.service.ExamAutosaveService;
+import com.ker.demo.service.ExamSectionService;
+import com.ker.demo.service.SubmissionGradingService;
 
 @RestController
 @RequestMapping("/{userId}/assessment")
@@ -24,12 +33,77 @@ public class CandidateAssessmentController {
 	@Autowired
 	private CandidateAssessmentService service;
 
+	@Autowired
+	private ExamSectionService examSectionService;
+
+	@Autowired
+	private SubmissionGradingService submissionGradingService;
+
+	@Autowired
+	private ExamAutosaveService examAutosaveService;
+
 	@GetMapping("/{managerTemplateId}")
 	public ResponseEntity<?> getExamDetails(@PathVariable("userId") Long userId,
+			@PathVariable("managerTemplateId") Long managerTemplateId, WebRequest request) {
+		try {
+			VersionedExamDetails details = service.getVersionedExamDetails(userId, managerTemplateId);
+			// Reloads send If-None-Match and get a 304 without a body
+			if (request.checkNotModified(details.getVersion())) {
+				return null;
+			}
+			return ResponseEntity.ok()
+					.eTag(details.getVersion())
+					.cacheControl(CacheControl.noCache().cachePrivate())
+					.body(details.getBody());
+		} catch (NoSuchElementException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+		}
+	}
+
+	@GetMapping("/{managerTemplateId}/manifest")
+	public ResponseEntity<?> getExamManifest(@PathVariable("userId") Long userId,
+			@PathVariable("managerTemplateId") Long managerTemplateId) {
+		try {
+			return ResponseEntity.ok(examSectionService.getManifest(userId, managerTemplateId));
+		} catch (NoSuchElementException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+		}
+	}
+
+	@GetMapping("/{managerTemplateId}/sections/{sectionId}")
+	public ResponseEntity<?> getExamSection(@PathVariable("userId") Long userId,
+			@PathVariable("managerTemplateId") Long managerTemplateId, @PathVariable("sectionId") Long sectionId,
+			@RequestParam(defaultValue = "0") int page, @RequestParam(required = false) Integer size) {
+		try {
+			return ResponseEntity.ok(examSectionService.getSectionPage(userId, managerTemplateId, sectionId, page, size));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+		} catch (NoSuchElementException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+		}
+	}
+
+	@PutMapping("/{managerTemplateId}/answers")
+	public ResponseEntity<?> saveAnswers(@PathVariable("userId") Long userId,
+			@PathVariable("managerTemplateId") Long managerTemplateId, @RequestBody SubmitRequest request) {
+		try {
+			// Journaled immediately, written to the results table by the next flush
+			int saved = examAutosaveService.save(userId, managerTemplateId, request == null ? null : request.answers);
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("saved", saved));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+		} catch (NoSuchElementException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+		}
+	}
+
+	@GetMapping("/{managerTemplateId}/answers")
+	public ResponseEntity<?> getSavedAnswers(@PathVariable("userId") Long userId,
 			@PathVariable("managerTemplateId") Long managerTemplateId) {
 		try {
-			Map<String, Object> details = service.getExamDetails(userId, managerTemplateId);
-			return ResponseEntity.ok(details);
+			return ResponseEntity.ok(examAutosaveService.getSavedAnswers(userId, managerTemplateId));
 		} catch (NoSuchElementException e) {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
 		}
@@ -39,20 +113,38 @@ public class CandidateAssessmentController {
 	public ResponseEntity<?> submitExam(@PathVariable("userId") Long userId,
 			@PathVariable("managerTemplateId") Long managerTemplateId, @RequestBody SubmitRequest request) {
 		try {
-			Map<String, Object> response = service.submitExam(userId, managerTemplateId, request);
-			return ResponseEntity.status(HttpStatus.CREATED).body(response);
+			// Answers are stored and graded in the background; poll the ticket for the result
+			SubmissionStatus ticket = submissionGradingService.submit(userId, managerTemplateId, request);
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(ticket);
 		} catch (IllegalArgumentException e) {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
 		} catch (NoSuchElementException e) {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
 		}
 	}
+
+	@GetMapping("/submissions/{ticket}")
+	public ResponseEntity<?> getSubmissionStatus(@PathVariable("userId") Long userId,
+			@PathVariable("ticket") String ticket) {
+		return submissionGradingService.getStatus(userId, ticket)
+				.<ResponseEntity<?>>map(ResponseEntity::ok)
+				.orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+						.body(Map.of("message", "Submission not found.")));
+	}
 	
 	@GetMapping("/results/{managerTemplateId}")
-	public ResponseEntity<?> getAllResults(@PathVariable("userId") Long userId, @PathVariable(required = false) Long managerTemplateId) {
+	public ResponseEntity<?> getAllResults(@PathVariable("userId") Long userId, @PathVariable(required = false) Long managerTemplateId,
+			@RequestParam(required = false) Long after, @RequestParam(required = false) Integer limit) {
 		try {
-			List<Map<String, Object>> results = service.getAllResults(userId, managerTemplateId);
-			return ResponseEntity.ok(results);
+			List<Map<String, Object>> results = service.getAllResults(userId, managerTemplateId, after, limit);
+			ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+			// A full page means there may be more; the client passes this back as "after"
+			if (limit != null && results.size() == limit) {
+				response.header("X-Next-After", String.valueOf(results.get(results.size() - 1).get("userEvaluationId")));
+			}
+			return response.body(results);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
 		} catch (NoSuchElementException e) {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
 		}
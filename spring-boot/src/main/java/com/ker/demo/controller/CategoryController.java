@@ -1,8 +1,7 @@
 package com.ker.demo.controller;
 
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,9 +10,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.ker.demo.domin.Category;
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.service.CategoryService;
 
 @RestController
@@ -34,8 +35,19 @@ public class CategoryController {
 	}
 
 	@GetMapping("/getAllCategories")
-	public ResponseEntity<List<Category>> getAllCategories() {
-		return ResponseEntity.ok(categoryService.getAllCategories());
+	public ResponseEntity<?> getAllCategories(@RequestParam(required = false) String name,
+			@RequestParam(required = false) String skillLevel, @RequestParam(required = false) String applicationArea,
+			@RequestParam(required = false) Integer status, @RequestParam(required = false) String sort,
+			@RequestParam(required = false) String after, @RequestParam(required = false) Integer limit) {
+		if (!KeysetPage.requested(name, skillLevel, applicationArea, status, sort, after, limit)) {
+			return ResponseEntity.ok(categoryService.getAllCategories());
+		}
+		try {
+			return KeysetResponses.ok(categoryService.getCategories(name, skillLevel, applicationArea, status, sort,
+					after, limit));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+		}
 	}
 
 	@PutMapping("/updateCategory/{id}")
@@ -4,10 +4,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
@@ -23,12 +25,20 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.ker.demo.domin.FileInfo;
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.entity.QuestionnaireDocumentsEntity;
 import com.ker.demo.repository.DocumentRepository;
 import com.ker.demo.service.FileManagerService;
+import com.ker.demo.utils.Keyset;
+
+import jakarta.persistence.criteria.Predicate;
 
 @RestController
 public class FileManagerController {
+
+	private static final Keyset<QuestionnaireDocumentsEntity> DOCUMENT_KEYSET = Keyset
+			.byId("questionnaireDocumentId", QuestionnaireDocumentsEntity::getQuestionnaireDocumentId, false);
+
 	@Autowired
 	private FileManagerService fileManagerService;
 
@@ -71,17 +81,41 @@ public class FileManagerController {
 	}
 
 	@GetMapping("/files")
-	public ResponseEntity<List<FileInfo>> listFiles() {
+	public ResponseEntity<?> listFiles(@RequestParam(required = false) Long categoryId,
+			@RequestParam(required = false) String uploadedBy, @RequestParam(required = false) String after,
+			@RequestParam(required = false) Integer limit) {
+		if (KeysetPage.requested(categoryId, uploadedBy, after, limit)) {
+			Specification<QuestionnaireDocumentsEntity> filter = (root, query, cb) -> {
+				List<Predicate> predicates = new ArrayList<>();
+				if (categoryId != null) {
+					predicates.add(cb.equal(root.get("categoryId"), categoryId));
+				}
+				if (uploadedBy != null) {
+					predicates.add(cb.equal(root.get("uploadedBy"), uploadedBy));
+				}
+				return cb.and(predicates.toArray(Predicate[]::new));
+			};
+			try {
+				return KeysetResponses.ok(DOCUMENT_KEYSET.page(questionerDocRepo, filter, after, limit)
+						.map(this::toFileInfo));
+			} catch (IllegalArgumentException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}
+
 		List<QuestionnaireDocumentsEntity> documents = questionerDocRepo.findAll();
 
-		List<FileInfo> fileInfos = documents.stream().map(
-				doc -> new FileInfo(doc.getFileName(), "http://localhost:8081/api/files/download/" + doc.getFileName()))
+		List<FileInfo> fileInfos = documents.stream().map(this::toFileInfo)
 
 				.collect(Collectors.toList());
 
 		return ResponseEntity.ok(fileInfos);
 	}
 
+	private FileInfo toFileInfo(QuestionnaireDocumentsEntity doc) {
+		return new FileInfo(doc.getFileName(), "http://localhost:8081/api/files/download/" + doc.getFileName());
+	}
+
 	@GetMapping("/files/download/{filename}")
 	public ResponseEntity<Resource> downloadFile(@PathVariable String filename) throws IOException {
 		Path filePath = Paths.get(STORAGE_DIRECTORY).resolve(filename).normalize();
@@ -0,0 +1,27 @@
+package com.ker.demo.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+import com.ker.demo.domin.KeysetPage;
+
+/**
+ * Keyset pages keep the plain list body of the unpaged endpoints; the cursor
+ * for the next page travels in the X-Next-After header.
+ */
+final class KeysetResponses {
+
+	static final String NEXT_AFTER_HEADER = "X-Next-After";
+
+	private KeysetResponses() {
+	}
+
+	static <T> ResponseEntity<List<T>> ok(KeysetPage<T> page) {
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (page.getNextAfter() != null) {
+			response.header(NEXT_AFTER_HEADER, page.getNextAfter());
+		}
+		return response.body(page.getItems());
+	}
+}
@@ -1,14 +1,19 @@
 package com.ker.demo.controller;
 
-import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ker.demo.domin.KeysetPage;
+import com.ker.demo.service.DashboardStreamService;
 import com.ker.demo.service.ManagerAssessmentService;
 
 @RestController
@@ -18,8 +23,33 @@ public class ManagerAssessmentController {
 	@Autowired
     private ManagerAssessmentService managerAssessmentService;
 
+	@Autowired
+    private DashboardStreamService dashboardStreamService;
+
     @GetMapping("/{managerId}")
-    public List<Map<String, Object>> getDashboardByManager(@PathVariable String managerId) {
-        return managerAssessmentService.getDashboardByManager(managerId);
+    public ResponseEntity<?> getDashboardByManager(@PathVariable String managerId,
+            @RequestParam(required = false) Long after, @RequestParam(required = false) Integer limit) {
+        if (!KeysetPage.requested(after, limit)) {
+            return ResponseEntity.ok(managerAssessmentService.getDashboardByManager(managerId));
+        }
+        try {
+            return KeysetResponses.ok(managerAssessmentService.getDashboardPage(managerId, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{managerId}/rollup")
+    public ResponseEntity<Map<String, Object>> getRollup(@PathVariable String managerId) {
+        return ResponseEntity.ok(managerAssessmentService.getRollup(managerId));
+    }
+
+    @GetMapping(value = "/{managerId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamDashboard(@PathVariable String managerId) {
+        try {
+            return ResponseEntity.ok(dashboardStreamService.subscribe(managerId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
@@ -12,8 +12,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.domin.ManagerTemplate;
 import com.ker.demo.service.ManagerTemplateService;
 
@@ -31,9 +33,20 @@ public class ManagerTemplateController {
 	}
 	
 	@GetMapping("/getAllManagerTemplates")
-	public ResponseEntity<List<ManagerTemplate>> getAllTemplates() {
-		List<ManagerTemplate> templates = managerTemplateService.getAllManagerTemplates();
-		return ResponseEntity.ok(templates);
+	public ResponseEntity<?> getAllTemplates(@RequestParam(required = false) Long managerId,
+			@RequestParam(required = false) String skillLevel, @RequestParam(required = false) String name,
+			@RequestParam(required = false) String sort, @RequestParam(required = false) String after,
+			@RequestParam(required = false) Integer limit) {
+		if (!KeysetPage.requested(managerId, skillLevel, name, sort, after, limit)) {
+			List<ManagerTemplate> templates = managerTemplateService.getAllManagerTemplates();
+			return ResponseEntity.ok(templates);
+		}
+		try {
+			return KeysetResponses.ok(
+					managerTemplateService.getManagerTemplates(managerId, skillLevel, name, sort, after, limit));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+		}
 	}
 
 	@GetMapping("/getManagerTemplateById/{id}")
@@ -0,0 +1,107 @@
+package com.ker.demo.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ker.demo.service.AssessmentStatusCounterService;
+import com.ker.demo.service.AssessmentStatusTransitionService;
+import com.ker.demo.service.AssignedExamCacheService;
+import com.ker.demo.service.CacheStatisticsService;
+import com.ker.demo.service.DashboardStreamService;
+import com.ker.demo.service.ExamAutosaveService;
+import com.ker.demo.service.ExamPreGenerationService;
+import com.ker.demo.service.ExamResponseCacheService;
+import com.ker.demo.service.ManagerRollupCacheService;
+import com.ker.demo.service.QueryStatisticsService;
+import com.ker.demo.service.QuestionPoolService;
+
+import io.swagger.v3.oas.annotations.Operation;
+
+@RestController
+@RequestMapping("/ops")
+public class OpsController {
+
+	@Autowired
+	private CacheStatisticsService cacheStatisticsService;
+
+	@Autowired
+	private QuestionPoolService questionPoolService;
+
+	@Autowired
+	private ExamResponseCacheService examResponseCacheService;
+
+	@Autowired
+	private ExamAutosaveService examAutosaveService;
+
+	@Autowired
+	private AssignedExamCacheService assignedExamCacheService;
+
+	@Autowired
+	private AssessmentStatusCounterService assessmentStatusCounterService;
+
+	@Autowired
+	private ManagerRollupCacheService managerRollupCacheService;
+
+	@Autowired
+	private DashboardStreamService dashboardStreamService;
+
+	@Autowired
+	private AssessmentStatusTransitionService statusTransitionService;
+
+	@Autowired
+	private QueryStatisticsService queryStatisticsService;
+
+	@Autowired
+	private ExamPreGenerationService examPreGenerationService;
+
+	@Operation(summary = "Cache statistics", description = "Hit ratios of the Hibernate second-level and query caches and the exam caches")
+	@GetMapping("/cache-stats")
+	public ResponseEntity<Map<String, Object>> getCacheStats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("hibernate", cacheStatisticsService.getSecondLevelCacheStats());
+		stats.put("questionPool", questionPoolService.getStats());
+		stats.put("examResponses", examResponseCacheService.getStats());
+		stats.put("autosave", examAutosaveService.getStats());
+		stats.put("assignedExams", assignedExamCacheService.getStats());
+		stats.put("statusCounters", assessmentStatusCounterService.getStats());
+		stats.put("managerRollups", managerRollupCacheService.getStats());
+		return ResponseEntity.ok(stats);
+	}
+
+	@Operation(summary = "Query statistics", description = "SQL statements issued per endpoint, through Hibernate and JdbcTemplate")
+	@GetMapping("/query-stats")
+	public ResponseEntity<Map<String, Object>> getQueryStats() {
+		return ResponseEntity.ok(queryStatisticsService.getStats());
+	}
+
+	@Operation(summary = "Dashboard stream statistics", description = "Live dashboard subscribers and delivered updates")
+	@GetMapping("/stream-stats")
+	public ResponseEntity<Map<String, Object>> getStreamStats() {
+		return ResponseEntity.ok(dashboardStreamService.getStats());
+	}
+
+	@Operation(summary = "Status transition statistics", description = "Assignments moved by the status transition job")
+	@GetMapping("/status-transitions")
+	public ResponseEntity<Map<String, Object>> getStatusTransitionStats() {
+		return ResponseEntity.ok(statusTransitionService.getStats());
+	}
+
+	@Operation(summary = "Run status transitions", description = "Advances due assignments now instead of on the next schedule")
+	@PostMapping("/status-transitions")
+	public ResponseEntity<Map<String, Object>> runStatusTransitions() {
+		return ResponseEntity.ok(statusTransitionService.runTransitions());
+	}
+
+	@Operation(summary = "Exam pre-generation", description = "Candidates still queued for an assignment and those that failed every attempt")
+	@GetMapping("/pregeneration")
+	public ResponseEntity<Map<String, Object>> getPreGenerationStats() {
+		return ResponseEntity.ok(examPreGenerationService.getStats());
+	}
+}
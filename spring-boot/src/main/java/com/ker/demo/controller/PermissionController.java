@@ -1,15 +1,15 @@
 package com.ker.demo.controller;
 
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.domin.Permission;
 import com.ker.demo.service.PermissionService;
 
@@ -23,9 +23,17 @@ public class PermissionController {
 	private PermissionService permissionService;
 
 	@GetMapping("/permissions")
-	@Operation(summary = "Get all permissions", description = "Returns a list of all permissions")
-	public List<Permission> getAllPermissions() {
-		return permissionService.getAllPermissions();
+	@Operation(summary = "Get all permissions", description = "Returns a list of all permissions, or one keyset page of them when paging or filter parameters are given")
+	public ResponseEntity<?> getAllPermissions(@RequestParam(required = false) String code,
+			@RequestParam(required = false) String after, @RequestParam(required = false) Integer limit) {
+		if (!KeysetPage.requested(code, after, limit)) {
+			return ResponseEntity.ok(permissionService.getAllPermissions());
+		}
+		try {
+			return KeysetResponses.ok(permissionService.getPermissions(code, after, limit));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 	}
 
 
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.ker.demo.domin.QuestionAnswer;
 import com.ker.demo.service.QuestionAnswerService;
+import com.ker.demo.service.QuestionPoolService;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -25,6 +26,9 @@ public class QuestionAnswerController {
 	@Autowired
 	private QuestionAnswerService service;
 
+	@Autowired
+	private QuestionPoolService questionPoolService;
+
     @GetMapping("/category/{categoryId}")
     public ResponseEntity<List<QuestionAnswer>> getQuestionsByCategory(@PathVariable Long categoryId) {
         List<QuestionAnswer> questions = service.getQuestionsByCategoryId(categoryId);
@@ -40,5 +44,10 @@ public class QuestionAnswerController {
         return ResponseEntity.ok(Map.of("message", "Status flags updated successfully"));
     }
 
+    @GetMapping("/pool/stats")
+    public ResponseEntity<Map<String, Object>> getQuestionPoolStats() {
+        return ResponseEntity.ok(questionPoolService.getStats());
+    }
+
     
 }
@@ -11,8 +11,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.domin.User;
 import com.ker.demo.service.UserService;
 
@@ -54,9 +56,19 @@ public class UserController {
 	// which permissions
 	// Get all users
 	@GetMapping("/users")
-	@Operation(summary = "Get all users", description = "Returns a list of all users")
-	public List<User> getAllUsers() {
-		return userService.getAllUsers();
+	@Operation(summary = "Get all users", description = "Returns a list of all users; pass after/limit or a filter for keyset pages, next cursor in X-Next-After")
+	public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String status,
+			@RequestParam(required = false) Long roleId, @RequestParam(required = false) Long reportingManagerId,
+			@RequestParam(required = false) String email, @RequestParam(required = false) String after,
+			@RequestParam(required = false) Integer limit) {
+		if (!KeysetPage.requested(status, roleId, reportingManagerId, email, after, limit)) {
+			return ResponseEntity.ok(userService.getAllUsers());
+		}
+		try {
+			return KeysetResponses.ok(userService.getUsers(status, roleId, reportingManagerId, email, after, limit));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+		}
 	}
 	
 	@GetMapping("users/managers")
@@ -0,0 +1,56 @@
+package com.ker.demo.domin;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compiled answer key of a manager template: question ids in ascending order
+ * with the zero-based index of the correct option at the same position.
+ * {@link #UNRESOLVED} marks questions whose stored answer could not be matched
+ * to an option; those are graded by comparing the answer text instead.
+ */
+public final class AnswerKey {
+
+	public static final byte UNRESOLVED = -1;
+
+	private final long[] questionIds;
+	private final byte[] correctOptions;
+
+	public AnswerKey(long[] questionIds, byte[] correctOptions) {
+		if (questionIds.length != correctOptions.length) {
+			throw new IllegalArgumentException("Question ids and correct options must have the same length");
+		}
+		this.questionIds = questionIds;
+		this.correctOptions = correctOptions;
+	}
+
+	public int size() {
+		return questionIds.length;
+	}
+
+	/** Index of the correct option, or {@link #UNRESOLVED} if unknown. */
+	public int correctOptionIndex(long questionId) {
+		int position = Arrays.binarySearch(questionIds, questionId);
+		return position < 0 ? UNRESOLVED : correctOptions[position];
+	}
+
+	/**
+	 * Maps a submitted answer to an option index. Candidates send option
+	 * letters ("A", "B", ...); the option text itself is accepted as well.
+	 * Letters past the last known option are {@link #UNRESOLVED}.
+	 */
+	public static int selectedOptionIndex(String selected, List<String> options) {
+		if (selected == null || selected.isEmpty()) {
+			return UNRESOLVED;
+		}
+		String value = selected.trim();
+		if (value.length() == 1) {
+			char letter = Character.toUpperCase(value.charAt(0));
+			if (letter >= 'A' && letter <= 'Z') {
+				int index = letter - 'A';
+				return options != null && !options.isEmpty() && index >= options.size() ? UNRESOLVED : index;
+			}
+		}
+		return options == null ? UNRESOLVED : options.indexOf(selected);
+	}
+}
@@ -12,6 +12,7 @@ public class Assessment {
 	
     private String questionCount;
     private Long templateId;
+    private Long managerTemplateId;
     private String templateName;
     private Long managerId;
     private String skillLevel;
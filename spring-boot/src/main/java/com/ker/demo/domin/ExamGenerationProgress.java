@@ -0,0 +1,24 @@
+package com.ker.demo.domin;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamGenerationProgress {
+
+	private Long managerTemplateId;
+	private String status;
+	private int totalCandidates;
+	private int completedCandidates;
+	private int failedCandidates;
+	private int percentComplete;
+	private Timestamp queuedAt;
+	private Timestamp finishedAt;
+}
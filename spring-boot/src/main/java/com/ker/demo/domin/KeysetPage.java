@@ -0,0 +1,33 @@
+package com.ker.demo.domin;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One page of a keyset-paginated list. {@code nextAfter} is the cursor to
+ * pass back as {@code after} for the following page, or null on the last one.
+ */
+@Getter
+@AllArgsConstructor
+public final class KeysetPage<T> {
+
+	private final List<T> items;
+	private final String nextAfter;
+
+	public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+		return new KeysetPage<>(items.stream().<R>map(mapper).toList(), nextAfter);
+	}
+
+	/** True when any paging, sorting or filter parameter was supplied. */
+	public static boolean requested(Object... params) {
+		for (Object param : params) {
+			if (param != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
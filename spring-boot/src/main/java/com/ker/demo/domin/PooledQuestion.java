@@ -0,0 +1,22 @@
+package com.ker.demo.domin;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Immutable, pre-parsed view of a question_answer row as held by the question
+ * pool cache. Options are already decoded from the jsonb column.
+ */
+@Getter
+@AllArgsConstructor
+public final class PooledQuestion {
+
+	private final Long questionId;
+	private final Long categoryId;
+	private final String question;
+	private final List<String> options;
+	private final String answer;
+	private final String statusFlag;
+}
@@ -0,0 +1,23 @@
+package com.ker.demo.domin;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Grading state of one exam submission, identified by its ticket. The result
+ * is only present once the submission has been graded.
+ */
+@Getter
+@AllArgsConstructor
+public final class SubmissionStatus {
+
+	private final String ticket;
+	private final Long managerTemplateId;
+	private final String status;
+	private final Timestamp submittedAt;
+	private final Timestamp gradedAt;
+	private final Map<String, Object> result;
+}
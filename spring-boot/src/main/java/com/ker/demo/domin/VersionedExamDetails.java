@@ -0,0 +1,21 @@
+package com.ker.demo.domin;
+
+import java.util.Map;
+import java.util.Set;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Exam details response together with the version token it was built for.
+ * The category ids let the response cache drop the entry when one of those
+ * question pools changes.
+ */
+@Getter
+@AllArgsConstructor
+public final class VersionedExamDetails {
+
+	private final String version;
+	private final Map<String, Object> body;
+	private final Set<Long> categoryIds;
+}
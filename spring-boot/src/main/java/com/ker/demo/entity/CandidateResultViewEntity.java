@@ -0,0 +1,54 @@
+package com.ker.demo.entity;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Read model of one graded section, written once when the submission is
+ * graded. {@code result} is the entry of the candidate's result history and
+ * {@code detail} the single-result view, both stored exactly as served.
+ */
+@Entity
+@Table(name = "candidate_result_view")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateResultViewEntity {
+
+    @Id
+    @Column(name = "user_evaluation_id")
+    private Long userEvaluationId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "manager_template_id")
+    private Long managerTemplateId;
+
+    @Column(name = "manager_template_category_id")
+    private Long managerTemplateCategoryId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "result", columnDefinition = "jsonb", nullable = false)
+    private Map<String, Object> result;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "detail", columnDefinition = "jsonb", nullable = false)
+    private Map<String, Object> detail;
+
+    @Column(name = "created_date")
+    private Timestamp createdDate;
+}
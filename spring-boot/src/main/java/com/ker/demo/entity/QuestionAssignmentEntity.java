@@ -37,5 +37,14 @@ public class QuestionAssignmentEntity {
 
     @Column(name = "assigned_date")
     private Timestamp assignedDate;
+
+    @Column(name = "user_assessment_template_id")
+    private Long userAssessmentTemplateId;
+
+    @Column(name = "manager_template_category_id")
+    private Long managerTemplateCategoryId;
+
+    @Column(name = "question_order")
+    private Integer questionOrder;
 }
 
@@ -53,6 +53,9 @@ public class UserAssessmentTemplateMapEntity {
     @Column(name = "status", nullable = false)
     private Integer status = 0; 
 
+    @Column(name = "paper_seed")
+    private Long paperSeed;
+
 //    @OneToOne(fetch = FetchType.EAGER)
 //    @JoinColumns({
 //        @JoinColumn(name = "user_id", referencedColumnName = "user_id", insertable = false, updatable = false),
@@ -35,5 +35,8 @@ public class UserQuestionAnswerResultsEntity {
 
     @Column(name = "selected_option", columnDefinition = "TEXT", nullable = false)
     private String selectedOption;
+
+    @Column(name = "attempt")
+    private Integer attempt;
 }
 
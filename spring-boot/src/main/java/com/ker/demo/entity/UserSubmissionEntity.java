@@ -37,4 +37,16 @@ public class UserSubmissionEntity {
 
     @Column(name = "submitted_date")
     private Timestamp submittedDate;
+
+    @Column(name = "ticket", length = 36)
+    private String ticket;
+
+    @Column(name = "manager_template_id")
+    private Long managerTemplateId;
+
+    @Column(name = "grading_status", length = 20)
+    private String gradingStatus;
+
+    @Column(name = "graded_date")
+    private Timestamp gradedDate;
 }
@@ -0,0 +1,20 @@
+package com.ker.demo.event;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a candidate's submission is graded, inside the grading
+ * transaction. sectionScores maps each graded manager template category id
+ * to its score.
+ */
+@Getter
+@AllArgsConstructor
+public final class AssessmentGradedEvent {
+
+	private final Long userId;
+	private final Long managerTemplateId;
+	private final Map<Long, Long> sectionScores;
+}
@@ -0,0 +1,19 @@
+package com.ker.demo.event;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when candidates are assigned a manager template, once per batch
+ * of assignments written; each candidate in the batch gets one new assignment
+ * in the Scheduled status. Listeners run inside the writing transaction.
+ */
+@Getter
+@AllArgsConstructor
+public final class AssessmentScheduledEvent {
+
+	private final Long managerTemplateId;
+	private final List<Long> userIds;
+}
@@ -0,0 +1,22 @@
+package com.ker.demo.event;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when assignments move from one status to another. userIds holds
+ * the candidate of each moved assignment, so a candidate appears once per
+ * assignment. A null managerTemplateId means the change may span several
+ * templates.
+ */
+@Getter
+@AllArgsConstructor
+public final class AssessmentStatusChangedEvent {
+
+	private final Long managerTemplateId;
+	private final List<Long> userIds;
+	private final Integer fromStatus;
+	private final Integer toStatus;
+}
@@ -1,5 +1,6 @@
 package com.ker.demo.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,4 +11,6 @@ public interface AdminTemplateCategoryMapRepository extends JpaRepository<AdminT
 
 	List<AdminTemplateCategoryMapEntity> findByAdminTemplateId(Long id);
 
+	List<AdminTemplateCategoryMapEntity> findByAdminTemplateIdIn(Collection<Long> ids);
+
 }
@@ -1,10 +1,11 @@
 package com.ker.demo.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import com.ker.demo.entity.AdminTemplateEntity;
 
-public interface AdminTemplateRepository extends JpaRepository<AdminTemplateEntity, Long> {
+public interface AdminTemplateRepository extends JpaRepository<AdminTemplateEntity, Long>, JpaSpecificationExecutor<AdminTemplateEntity> {
 	
 //    @Query("SELECT at FROM AdminTemplate at LEFT JOIN FETCH at.subjects s LEFT JOIN FETCH s.category WHERE at.adminTemplateId = :id")
 //    Optional<AdminTemplate> fetchTemplateWithSubjects(@Param("id") Long id);
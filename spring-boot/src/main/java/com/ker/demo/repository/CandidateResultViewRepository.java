@@ -0,0 +1,9 @@
+package com.ker.demo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.ker.demo.entity.CandidateResultViewEntity;
+
+public interface CandidateResultViewRepository
+		extends JpaRepository<CandidateResultViewEntity, Long>, CandidateResultViewRepositoryCustom {
+}
@@ -0,0 +1,14 @@
+package com.ker.demo.repository;
+
+import java.util.List;
+
+import com.ker.demo.entity.CandidateResultViewEntity;
+
+public interface CandidateResultViewRepositoryCustom {
+
+	/**
+	 * Inserts the views with a single statement. Views are immutable, so a row
+	 * that already exists (written by a concurrent reader) is left as it is.
+	 */
+	void bulkInsert(List<CandidateResultViewEntity> views);
+}
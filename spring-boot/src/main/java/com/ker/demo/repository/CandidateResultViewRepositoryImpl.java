@@ -0,0 +1,84 @@
+package com.ker.demo.repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ker.demo.entity.CandidateResultViewEntity;
+
+public class CandidateResultViewRepositoryImpl implements CandidateResultViewRepositoryCustom {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${spring.jpa.properties.hibernate.default_schema}")
+	private String schema;
+
+	@Override
+	public void bulkInsert(List<CandidateResultViewEntity> views) {
+		if (views.isEmpty()) {
+			return;
+		}
+		int size = views.size();
+		Long[] evaluationIds = new Long[size];
+		Long[] userIds = new Long[size];
+		Long[] templateIds = new Long[size];
+		Long[] sectionIds = new Long[size];
+		String[] results = new String[size];
+		String[] details = new String[size];
+		for (int i = 0; i < size; i++) {
+			CandidateResultViewEntity view = views.get(i);
+			evaluationIds[i] = view.getUserEvaluationId();
+			userIds[i] = view.getUserId();
+			templateIds[i] = view.getManagerTemplateId();
+			sectionIds[i] = view.getManagerTemplateCategoryId();
+			try {
+				results[i] = MAPPER.writeValueAsString(view.getResult());
+				details[i] = MAPPER.writeValueAsString(view.getDetail());
+			} catch (JsonProcessingException e) {
+				throw new IllegalArgumentException("Result view " + view.getUserEvaluationId() + " is not serializable", e);
+			}
+		}
+
+		String sql = "INSERT INTO " + schema + ".candidate_result_view "
+				+ "(user_evaluation_id, user_id, manager_template_id, manager_template_category_id, result, detail, created_date) "
+				+ "SELECT e, u, t, c, r::jsonb, d::jsonb, ? "
+				+ "FROM unnest(?::bigint[], ?::bigint[], ?::bigint[], ?::bigint[], ?::text[], ?::text[]) AS v(e, u, t, c, r, d) "
+				+ "ON CONFLICT (user_evaluation_id) DO NOTHING";
+		jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+			Array evaluationArray = connection.createArrayOf("bigint", evaluationIds);
+			Array userArray = connection.createArrayOf("bigint", userIds);
+			Array templateArray = connection.createArrayOf("bigint", templateIds);
+			Array sectionArray = connection.createArrayOf("bigint", sectionIds);
+			Array resultArray = connection.createArrayOf("text", results);
+			Array detailArray = connection.createArrayOf("text", details);
+			try (PreparedStatement ps = connection.prepareStatement(sql)) {
+				ps.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+				ps.setArray(2, evaluationArray);
+				ps.setArray(3, userArray);
+				ps.setArray(4, templateArray);
+				ps.setArray(5, sectionArray);
+				ps.setArray(6, resultArray);
+				ps.setArray(7, detailArray);
+				return ps.executeUpdate();
+			} finally {
+				evaluationArray.free();
+				userArray.free();
+				templateArray.free();
+				sectionArray.free();
+				resultArray.free();
+				detailArray.free();
+			}
+		});
+	}
+}
@@ -2,14 +2,20 @@ package com.ker.demo.repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.ker.demo.entity.CategoryEntity;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface CategoryRepository extends JpaRepository<CategoryEntity, Long> {
+public interface CategoryRepository extends JpaRepository<CategoryEntity, Long>, JpaSpecificationExecutor<CategoryEntity> {
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	CategoryEntity findByCategoryName(String categoryName);
 
 	Optional<CategoryEntity> findByCategoryNameAndSubCategoryNameAndApplicationAreaAndSkillLevelAndReference(
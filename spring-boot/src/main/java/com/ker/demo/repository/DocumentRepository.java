@@ -3,13 +3,14 @@ package com.ker.demo.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import com.ker.demo.entity.QuestionnaireDocumentsEntity;
 import com.ker.demo.entity.UserEntity;
 
 @Repository
-public interface DocumentRepository extends JpaRepository<QuestionnaireDocumentsEntity, Long> {
+public interface DocumentRepository extends JpaRepository<QuestionnaireDocumentsEntity, Long>, JpaSpecificationExecutor<QuestionnaireDocumentsEntity> {
 
 	void save(UserEntity user);
 	
@@ -1,5 +1,6 @@
 package com.ker.demo.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,5 +10,9 @@ import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
 public interface ManagerTemplateCategoryMapRepository extends JpaRepository<ManagerTemplateCategoryMapEntity, Long> {
 	
 	List<ManagerTemplateCategoryMapEntity> findByManagerTemplateId(Long id);
+
+	List<ManagerTemplateCategoryMapEntity> findByManagerTemplateIdIn(Collection<Long> ids);
+
+	boolean existsByManagerTemplateId(Long id);
 	
 }
\ No newline at end of file
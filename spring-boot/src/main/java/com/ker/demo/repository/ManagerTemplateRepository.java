@@ -1,9 +1,10 @@
 package com.ker.demo.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import com.ker.demo.entity.ManagerTemplateEntity;
 
-public interface ManagerTemplateRepository extends JpaRepository<ManagerTemplateEntity, Long> {
+public interface ManagerTemplateRepository extends JpaRepository<ManagerTemplateEntity, Long>, JpaSpecificationExecutor<ManagerTemplateEntity> {
 	
 }
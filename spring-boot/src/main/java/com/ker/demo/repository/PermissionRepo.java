@@ -1,11 +1,21 @@
 package com.ker.demo.repository;
 
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.ker.demo.entity.PermissionEntity;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface PermissionRepo extends JpaRepository<PermissionEntity, String> {
+public interface PermissionRepo extends JpaRepository<PermissionEntity, String>, JpaSpecificationExecutor<PermissionEntity> {
 
-}
\ No newline at end of file
+	@Override
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	List<PermissionEntity> findAll();
+}
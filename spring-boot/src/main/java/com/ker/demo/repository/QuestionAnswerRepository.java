@@ -1,8 +1,11 @@
 package com.ker.demo.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ker.demo.entity.QuestionAnswerEntity;
@@ -10,5 +13,65 @@ import com.ker.demo.entity.QuestionAnswerEntity;
 @Repository
 public interface QuestionAnswerRepository extends JpaRepository<QuestionAnswerEntity, Long> {
 
+	interface QuestionIdRange {
+		Long getTotal();
+
+		Long getMinId();
+
+		Long getMaxId();
+	}
+
+	interface AnswerKeyRow {
+		Long getQuestionId();
+
+		String getOptions();
+
+		String getAnswer();
+	}
+
+	interface QuestionRow {
+		Long getQuestionId();
+
+		Long getCategoryId();
+
+		String getQuestion();
+
+		String getOptions();
+
+		String getAnswer();
+
+		String getStatusFlag();
+	}
+
 	List<QuestionAnswerEntity> findByCategoryId(Long categoryId);
+
+	List<QuestionAnswerEntity> findByCategoryIdOrderByQuestionIdAsc(Long categoryId);
+
+	long countByCategoryId(Long categoryId);
+
+	@Query("SELECT count(q) AS total, min(q.questionId) AS minId, max(q.questionId) AS maxId "
+			+ "FROM QuestionAnswerEntity q WHERE q.categoryId = :categoryId")
+	QuestionIdRange findQuestionIdRange(@Param("categoryId") Long categoryId);
+
+	@Query("SELECT q.questionId AS questionId, q.options AS options, q.answer AS answer "
+			+ "FROM QuestionAnswerEntity q WHERE q.categoryId IN :categoryIds ORDER BY q.questionId")
+	List<AnswerKeyRow> findAnswerKeyRows(@Param("categoryIds") Collection<Long> categoryIds);
+
+	@Query("SELECT q.questionId AS questionId, q.categoryId AS categoryId, q.question AS question, "
+			+ "q.options AS options, q.answer AS answer, q.statusFlag AS statusFlag "
+			+ "FROM QuestionAnswerEntity q WHERE q.questionId IN :questionIds")
+	List<QuestionRow> findQuestionRows(@Param("questionIds") Collection<Long> questionIds);
+
+	@Query("SELECT q.questionId FROM QuestionAnswerEntity q WHERE q.categoryId = :categoryId ORDER BY q.questionId")
+	List<Long> findQuestionIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+	/*
+	 * Returns the probe ids that are question ids of the category. Probes that
+	 * fall into gaps of the id range return nothing, so each existing id is
+	 * equally likely to be hit. Served by the (category_id, question_id) index.
+	 */
+	@Query(value = "SELECT q.question_id FROM {h-schema}question_answer q "
+			+ "WHERE q.category_id = :categoryId "
+			+ "AND q.question_id = ANY(CAST(string_to_array(:probes, ',') AS bigint[]))", nativeQuery = true)
+	List<Long> findExistingQuestionIds(@Param("categoryId") Long categoryId, @Param("probes") String probes);
 }
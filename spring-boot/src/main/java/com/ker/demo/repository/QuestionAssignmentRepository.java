@@ -0,0 +1,13 @@
+package com.ker.demo.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.ker.demo.entity.QuestionAssignmentEntity;
+
+public interface QuestionAssignmentRepository
+		extends JpaRepository<QuestionAssignmentEntity, Long>, QuestionAssignmentRepositoryCustom {
+
+	List<QuestionAssignmentEntity> findByUserAssessmentTemplateIdOrderByQuestionOrderAsc(Long userAssessmentTemplateId);
+}
@@ -0,0 +1,14 @@
+package com.ker.demo.repository;
+
+import java.util.List;
+
+import com.ker.demo.entity.QuestionAssignmentEntity;
+
+public interface QuestionAssignmentRepositoryCustom {
+
+	/**
+	 * Inserts all rows with batched JDBC statements. The IDENTITY key on
+	 * question_assignment prevents Hibernate from batching these inserts.
+	 */
+	void bulkInsert(List<QuestionAssignmentEntity> assignments);
+}
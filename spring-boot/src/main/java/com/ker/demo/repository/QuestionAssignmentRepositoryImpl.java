@@ -0,0 +1,39 @@
+package com.ker.demo.repository;
+
+import java.sql.Types;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ker.demo.entity.QuestionAssignmentEntity;
+
+public class QuestionAssignmentRepositoryImpl implements QuestionAssignmentRepositoryCustom {
+
+	private static final int BATCH_SIZE = 500;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${spring.jpa.properties.hibernate.default_schema}")
+	private String schema;
+
+	@Override
+	public void bulkInsert(List<QuestionAssignmentEntity> assignments) {
+		if (assignments.isEmpty()) {
+			return;
+		}
+		String sql = "INSERT INTO " + schema + ".question_assignment (user_id, question_id, assigned_by, assigned_date, "
+				+ "user_assessment_template_id, manager_template_category_id, question_order) VALUES (?, ?, ?, ?, ?, ?, ?)";
+		jdbcTemplate.batchUpdate(sql, assignments, BATCH_SIZE, (ps, row) -> {
+			ps.setString(1, row.getUserId());
+			ps.setLong(2, row.getQuestionId());
+			ps.setString(3, row.getAssignedBy());
+			ps.setTimestamp(4, row.getAssignedDate());
+			ps.setObject(5, row.getUserAssessmentTemplateId(), Types.BIGINT);
+			ps.setObject(6, row.getManagerTemplateCategoryId(), Types.BIGINT);
+			ps.setObject(7, row.getQuestionOrder(), Types.INTEGER);
+		});
+	}
+}
@@ -1,12 +1,23 @@
 package com.ker.demo.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.ker.demo.entity.RoleEntity;
 
+import jakarta.persistence.QueryHint;
+
 public interface RoleRepo extends JpaRepository<RoleEntity, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<RoleEntity> findByCode(String code);
+
     boolean existsByCode(String code);
-}
\ No newline at end of file
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<RoleEntity> findAll();
+}
@@ -9,7 +9,7 @@ import com.ker.demo.entity.UserAssessmentTemplateMapEntity;
 
 
 @Repository
-public interface UserAssessmentRepository extends JpaRepository<UserAssessmentTemplateMapEntity, Long>{
+public interface UserAssessmentRepository extends JpaRepository<UserAssessmentTemplateMapEntity, Long>, UserAssessmentRepositoryCustom {
 
 	    List<UserAssessmentTemplateMapEntity> findByUserId(Long userId);
 	    
@@ -0,0 +1,61 @@
+package com.ker.demo.repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+
+public interface UserAssessmentRepositoryCustom {
+
+	/**
+	 * One assignment of a manager's direct report, with the report's profile,
+	 * the template, category and latest score of the assignment, and the
+	 * report's passed/total assignment counts.
+	 */
+	record DashboardRow(Long userId, String employeeNumber, String firstName, String lastName, String employeeGrade,
+			String project, long totalCount, long passedCount, Long userAssessmentTemplateId, Integer status,
+			Timestamp assignedDate, Long managerTemplateCategoryId, String difficultyLevel, Integer weighage,
+			String templateName, Long categoryId, String categoryName, String categoryDescription, Long score) {
+	}
+
+	/**
+	 * Reads the dashboard rows of up to {@code maxReports} direct reports with
+	 * at least one assignment, in user id order after {@code afterUserId}, with
+	 * a single statement. A null {@code maxReports} reads every report.
+	 */
+	List<DashboardRow> findDashboardRows(Long managerId, long afterUserId, Integer maxReports);
+
+	/**
+	 * Assignment totals of one manager's whole reporting subtree. Status counts
+	 * cover every assignment of the subtree's members; the average is over the
+	 * latest score of each scored assignment. memberIds is only read for the
+	 * root of the roll-up.
+	 */
+	record RollupRow(Long managerId, Long parentManagerId, int depth, String firstName, String lastName,
+			long memberCount, long scheduledCount, long pendingCount, long overdueCount, long completedCount,
+			long failedCount, BigDecimal averageScore, long scoredCount, List<Long> memberIds) {
+	}
+
+	/**
+	 * Resolves the reporting tree under {@code managerId} with one recursive
+	 * query and returns a row for the manager and for every member with
+	 * reports of their own, ordered by depth. A manager without reports has
+	 * no rows.
+	 */
+	List<RollupRow> findRollupRows(Long managerId);
+
+	/**
+	 * Moves up to {@code limit} Scheduled assignments whose schedule date has
+	 * passed to Pending and returns the user id of each moved assignment.
+	 * Rows locked by a concurrent run are skipped.
+	 */
+	List<Long> startDueAssessments(Timestamp now, int limit);
+
+	/**
+	 * Moves up to {@code limit} Pending assignments whose time limit, counted
+	 * from the schedule date, has elapsed to Overdue and returns the user id
+	 * of each moved assignment. Rows without a time limit use
+	 * {@code defaultTimeLimitMinutes}. Assignments with a submission that has
+	 * not failed, or with a graded section, are left alone.
+	 */
+	List<Long> expireElapsedAssessments(Timestamp now, int defaultTimeLimitMinutes, int limit);
+}
@@ -0,0 +1,174 @@
+package com.ker.demo.repository;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class UserAssessmentRepositoryImpl implements UserAssessmentRepositoryCustom {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${spring.jpa.properties.hibernate.default_schema}")
+	private String schema;
+
+	@Override
+	public List<DashboardRow> findDashboardRows(Long managerId, long afterUserId, Integer maxReports) {
+		List<Object> args = new ArrayList<>(List.of(managerId, afterUserId));
+		String limit = "";
+		if (maxReports != null) {
+			limit = " LIMIT ?";
+			args.add(maxReports);
+		}
+		String sql = "WITH team AS ("
+				+ "SELECT u.user_id, u.employee_number, u.first_name, u.last_name, u.employee_grade, u.program_project "
+				+ "FROM " + schema + ".user_profile u "
+				+ "WHERE u.user_id IN (SELECT m.user_id FROM " + schema + ".user_manager_map m WHERE m.manager_id = ?) "
+				+ "AND u.user_id > ? "
+				+ "AND EXISTS (SELECT 1 FROM " + schema + ".user_assessment_template_map x WHERE x.user_id = u.user_id) "
+				+ "ORDER BY u.user_id" + limit + ") "
+				+ "SELECT t.user_id, t.employee_number, t.first_name, t.last_name, t.employee_grade, t.program_project, "
+				+ "COUNT(*) OVER (PARTITION BY t.user_id) AS total_count, "
+				+ "COUNT(*) FILTER (WHERE a.status = 3) OVER (PARTITION BY t.user_id) AS passed_count, "
+				+ "a.user_assessment_template_id, a.status, a.assigned_date, "
+				+ "mtc.manager_template_category_id, mtc.difficulty_level, mtc.weighage, mt.manager_template_name, "
+				+ "c.category_id, c.category_name, c.description, "
+				+ "(SELECT e.score FROM " + schema + ".user_evalutaion_summary e "
+				+ "WHERE e.user_id = a.user_id AND e.manager_template_category_id = a.manager_template_category_id "
+				+ "ORDER BY e.user_evaluation_id DESC LIMIT 1) AS score "
+				+ "FROM team t "
+				+ "JOIN " + schema + ".user_assessment_template_map a ON a.user_id = t.user_id "
+				+ "LEFT JOIN " + schema + ".manager_template_category_map mtc "
+				+ "ON mtc.manager_template_category_id = a.manager_template_category_id "
+				+ "LEFT JOIN " + schema + ".manager_template mt ON mt.manager_template_id = mtc.manager_template_id "
+				+ "LEFT JOIN " + schema + ".category c ON c.category_id = mtc.category_id "
+				+ "ORDER BY t.user_id, a.user_assessment_template_id";
+		return jdbcTemplate.query(sql, (rs, rowNum) -> new DashboardRow(
+				rs.getLong("user_id"),
+				rs.getString("employee_number"),
+				rs.getString("first_name"),
+				rs.getString("last_name"),
+				rs.getString("employee_grade"),
+				rs.getString("program_project"),
+				rs.getLong("total_count"),
+				rs.getLong("passed_count"),
+				rs.getLong("user_assessment_template_id"),
+				rs.getObject("status", Integer.class),
+				rs.getTimestamp("assigned_date"),
+				rs.getObject("manager_template_category_id", Long.class),
+				rs.getString("difficulty_level"),
+				rs.getObject("weighage", Integer.class),
+				rs.getString("manager_template_name"),
+				rs.getObject("category_id", Long.class),
+				rs.getString("category_name"),
+				rs.getString("description"),
+				rs.getObject("score", Long.class)), args.toArray());
+	}
+
+	@Override
+	public List<RollupRow> findRollupRows(Long managerId) {
+		// A member reached through several managers keeps the shortest chain only
+		String sql = "WITH RECURSIVE tree (user_id, depth, path) AS ("
+				+ "SELECT DISTINCT m.user_id, 1, ARRAY[?::bigint, m.user_id] "
+				+ "FROM " + schema + ".user_manager_map m WHERE m.manager_id = ? AND m.user_id <> ? "
+				+ "UNION ALL "
+				+ "SELECT m.user_id, t.depth + 1, t.path || m.user_id "
+				+ "FROM tree t JOIN " + schema + ".user_manager_map m ON m.manager_id = t.user_id "
+				+ "WHERE m.user_id <> ALL (t.path)), "
+				+ "members AS (SELECT DISTINCT ON (user_id) user_id, depth, path FROM tree ORDER BY user_id, depth), "
+				+ "closure AS (SELECT p.ancestor, mb.user_id FROM members mb "
+				+ "CROSS JOIN LATERAL unnest(mb.path[1:cardinality(mb.path) - 1]) AS p(ancestor)), "
+				+ "assignments AS (SELECT a.user_id, a.status, s.score FROM members mb "
+				+ "JOIN " + schema + ".user_assessment_template_map a ON a.user_id = mb.user_id "
+				+ "LEFT JOIN LATERAL (SELECT e.score FROM " + schema + ".user_evalutaion_summary e "
+				+ "WHERE e.user_id = a.user_id AND e.manager_template_category_id = a.manager_template_category_id "
+				+ "ORDER BY e.user_evaluation_id DESC LIMIT 1) s ON true), "
+				+ "rollup AS (SELECT c.ancestor AS manager_id, COUNT(DISTINCT c.user_id) AS member_count, "
+				+ "COUNT(*) FILTER (WHERE a.status = 0) AS scheduled_count, "
+				+ "COUNT(*) FILTER (WHERE a.status = 1) AS pending_count, "
+				+ "COUNT(*) FILTER (WHERE a.status = 2) AS overdue_count, "
+				+ "COUNT(*) FILTER (WHERE a.status = 3) AS completed_count, "
+				+ "COUNT(*) FILTER (WHERE a.status = 4) AS failed_count, "
+				+ "ROUND(AVG(a.score), 2) AS average_score, COUNT(a.score) AS scored_count "
+				+ "FROM closure c LEFT JOIN assignments a ON a.user_id = c.user_id GROUP BY c.ancestor) "
+				+ "SELECT r.*, COALESCE(mb.depth, 0) AS depth, mb.path[cardinality(mb.path) - 1] AS parent_manager_id, "
+				+ "u.first_name, u.last_name, "
+				+ "CASE WHEN mb.user_id IS NULL THEN (SELECT array_agg(user_id ORDER BY user_id) FROM members) END "
+				+ "AS member_ids "
+				+ "FROM rollup r LEFT JOIN members mb ON mb.user_id = r.manager_id "
+				+ "LEFT JOIN " + schema + ".user_profile u ON u.user_id = r.manager_id "
+				+ "ORDER BY depth, r.manager_id";
+		return jdbcTemplate.query(sql, (rs, rowNum) -> new RollupRow(
+				rs.getLong("manager_id"),
+				rs.getObject("parent_manager_id", Long.class),
+				rs.getInt("depth"),
+				rs.getString("first_name"),
+				rs.getString("last_name"),
+				rs.getLong("member_count"),
+				rs.getLong("scheduled_count"),
+				rs.getLong("pending_count"),
+				rs.getLong("overdue_count"),
+				rs.getLong("completed_count"),
+				rs.getLong("failed_count"),
+				rs.getBigDecimal("average_score"),
+				rs.getLong("scored_count"),
+				toIds(rs.getArray("member_ids"))), managerId, managerId, managerId);
+	}
+
+	@Override
+	public List<Long> startDueAssessments(Timestamp now, int limit) {
+		return transition(0, 1, "", List.of(now), limit);
+	}
+
+	@Override
+	public List<Long> expireElapsedAssessments(Timestamp now, int defaultTimeLimitMinutes, int limit) {
+		// Submitted or graded sections never expire, even while the submission waits in the grading queue
+		return transition(1, 2, "AND x.schedule_date + make_interval(mins => COALESCE(x.time_limit, ?)) <= ? "
+				+ "AND NOT EXISTS (SELECT 1 FROM " + schema + ".user_submission s "
+				+ "JOIN " + schema + ".manager_template_category_map mtc "
+				+ "ON mtc.manager_template_id = s.manager_template_id "
+				+ "WHERE s.user_id = x.user_id::text "
+				+ "AND mtc.manager_template_category_id = x.manager_template_category_id "
+				+ "AND s.submitted_date >= x.assigned_date "
+				+ "AND (s.grading_status IS NULL OR s.grading_status <> 'FAILED')) "
+				+ "AND NOT EXISTS (SELECT 1 FROM " + schema + ".user_evalutaion_summary e "
+				+ "WHERE e.user_id = x.user_id AND e.manager_template_category_id = x.manager_template_category_id) ",
+				List.of(now, defaultTimeLimitMinutes, now), limit);
+	}
+
+	/*
+	 * One set-based chunk: the oldest due rows are picked through the
+	 * (status, schedule_date) index and updated in the same statement.
+	 */
+	private List<Long> transition(int fromStatus, int toStatus, String duePredicate, List<Object> dueArgs,
+			int limit) {
+		String sql = "WITH due AS (SELECT x.user_assessment_template_id "
+				+ "FROM " + schema + ".user_assessment_template_map x "
+				+ "WHERE x.status = " + fromStatus + " AND x.schedule_date <= ? " + duePredicate
+				+ "ORDER BY x.status, x.schedule_date LIMIT ? FOR UPDATE SKIP LOCKED) "
+				+ "UPDATE " + schema + ".user_assessment_template_map a SET status = " + toStatus + " "
+				+ "FROM due WHERE a.user_assessment_template_id = due.user_assessment_template_id "
+				+ "RETURNING a.user_id";
+		List<Object> args = new ArrayList<>(dueArgs);
+		args.add(limit);
+		return jdbcTemplate.queryForList(sql, Long.class, args.toArray());
+	}
+
+	private static List<Long> toIds(Array array) throws SQLException {
+		if (array == null) {
+			return null;
+		}
+		try {
+			return Arrays.asList((Long[]) array.getArray());
+		} finally {
+			array.free();
+		}
+	}
+}
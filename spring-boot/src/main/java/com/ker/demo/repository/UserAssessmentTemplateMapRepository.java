@@ -1,11 +1,48 @@
 package com.ker.demo.repository;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.ker.demo.entity.UserAssessmentTemplateMapEntity;
 
 public interface UserAssessmentTemplateMapRepository extends JpaRepository<UserAssessmentTemplateMapEntity, Long> {
+
+    interface AssignedExamRow {
+        Long getManagerTemplateCategoryId();
+
+        Long getManagerTemplateId();
+
+        Long getCategoryId();
+
+        String getTemplateName();
+
+        String getSkillLevel();
+
+        String getCategoryName();
+
+        Integer getWeighage();
+
+        Timestamp getAssignedDate();
+    }
+
     List<UserAssessmentTemplateMapEntity> findByUserId(Long userId);
+
+    @Query("SELECT a FROM UserAssessmentTemplateMapEntity a WHERE a.userId = :userId "
+            + "AND a.managerTemplateCategoryMap.managerTemplateId = :managerTemplateId "
+            + "ORDER BY a.userAssessmentTemplateId DESC")
+    List<UserAssessmentTemplateMapEntity> findByUserIdAndManagerTemplateId(@Param("userId") Long userId,
+            @Param("managerTemplateId") Long managerTemplateId);
+
+    @Query("SELECT m.managerTemplateCategoryId AS managerTemplateCategoryId, m.managerTemplateId AS managerTemplateId, "
+            + "m.categoryId AS categoryId, t.managerTemplateName AS templateName, t.skillLevel AS skillLevel, "
+            + "c.categoryName AS categoryName, m.weighage AS weighage, a.assignedDate AS assignedDate "
+            + "FROM UserAssessmentTemplateMapEntity a JOIN a.managerTemplateCategoryMap m "
+            + "LEFT JOIN ManagerTemplateEntity t ON t.managerTemplateId = m.managerTemplateId "
+            + "LEFT JOIN CategoryEntity c ON c.categoryId = m.categoryId "
+            + "WHERE a.userId = :userId ORDER BY a.userAssessmentTemplateId")
+    List<AssignedExamRow> findAssignedExams(@Param("userId") Long userId);
 }
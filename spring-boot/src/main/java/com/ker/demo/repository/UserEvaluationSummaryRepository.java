@@ -1,15 +1,64 @@
 package com.ker.demo.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.ker.demo.entity.UserEvaluationSummaryEntity;
 
 public interface UserEvaluationSummaryRepository extends JpaRepository<UserEvaluationSummaryEntity, Long> {
 
+	interface ResultRow {
+		Long getUserEvaluationId();
+
+		Long getScore();
+
+		Long getManagerTemplateCategoryId();
+
+		Long getManagerTemplateId();
+	}
+
+	interface SectionEvaluation {
+		Long getUserEvaluationId();
+
+		Long getManagerTemplateCategoryId();
+	}
+
 	List<UserEvaluationSummaryEntity> findByUserId(Long userId);
+
+	List<UserEvaluationSummaryEntity> findByUserIdAndManagerTemplateId(Long userId, Long managerTemplateId);
+
+	boolean existsByUserIdAndManagerTemplateId(Long userId, Long managerTemplateId);
 	
 	UserEvaluationSummaryEntity findByUserIdAndManagerTemplateCategoryId(Long userId, Long managerTemplateCategoryId);
 
+	/*
+	 * Keyset page of a candidate's per-section scores that still belong to a
+	 * template section, walked in user_evaluation_id order from the cursor.
+	 */
+	@Query("SELECT s.userEvaluationId AS userEvaluationId, s.score AS score, "
+			+ "s.managerTemplateCategoryId AS managerTemplateCategoryId, m.managerTemplateId AS managerTemplateId "
+			+ "FROM UserEvaluationSummaryEntity s JOIN ManagerTemplateCategoryMapEntity m "
+			+ "ON m.managerTemplateCategoryId = s.managerTemplateCategoryId "
+			+ "WHERE s.userId = :userId AND s.userEvaluationId > :after ORDER BY s.userEvaluationId")
+	List<ResultRow> findResultPage(@Param("userId") Long userId, @Param("after") Long after, Limit limit);
+
+	@Query("SELECT s.userEvaluationId AS userEvaluationId, s.score AS score, "
+			+ "s.managerTemplateCategoryId AS managerTemplateCategoryId, m.managerTemplateId AS managerTemplateId "
+			+ "FROM UserEvaluationSummaryEntity s JOIN ManagerTemplateCategoryMapEntity m "
+			+ "ON m.managerTemplateCategoryId = s.managerTemplateCategoryId "
+			+ "WHERE s.userId = :userId AND m.managerTemplateId = :managerTemplateId "
+			+ "AND s.userEvaluationId > :after ORDER BY s.userEvaluationId")
+	List<ResultRow> findResultPageForTemplate(@Param("userId") Long userId,
+			@Param("managerTemplateId") Long managerTemplateId, @Param("after") Long after, Limit limit);
+
+	@Query("SELECT s.userEvaluationId AS userEvaluationId, s.managerTemplateCategoryId AS managerTemplateCategoryId "
+			+ "FROM UserEvaluationSummaryEntity s WHERE s.userId = :userId "
+			+ "AND s.managerTemplateCategoryId IN :sectionIds ORDER BY s.userEvaluationId")
+	List<SectionEvaluation> findSectionEvaluations(@Param("userId") Long userId,
+			@Param("sectionIds") Collection<Long> sectionIds);
 }
@@ -1,11 +1,25 @@
 package com.ker.demo.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.ker.demo.entity.UserQuestionAnswerResultsEntity;
 
-public interface UserQuestionAnswerResultsRepository extends JpaRepository<UserQuestionAnswerResultsEntity, Long> {
+public interface UserQuestionAnswerResultsRepository
+        extends JpaRepository<UserQuestionAnswerResultsEntity, Long>, UserQuestionAnswerResultsRepositoryCustom {
     List<UserQuestionAnswerResultsEntity> findByUserIdAndManagerTemplateCategoryId(Long userId, Long managerTemplateCategoryId);
+
+    List<UserQuestionAnswerResultsEntity> findByUserIdAndManagerTemplateCategoryIdIn(Long userId, Collection<Long> managerTemplateCategoryIds);
+
+    // Answers of each section's open attempt, the one after its last evaluation
+    @Query("SELECT a FROM UserQuestionAnswerResultsEntity a WHERE a.userId = :userId "
+            + "AND a.managerTemplateCategoryId IN :sectionIds AND a.attempt = 1 + (SELECT COUNT(e) "
+            + "FROM UserEvaluationSummaryEntity e WHERE e.userId = a.userId "
+            + "AND e.managerTemplateCategoryId = a.managerTemplateCategoryId)")
+    List<UserQuestionAnswerResultsEntity> findOpenAttempt(@Param("userId") Long userId,
+            @Param("sectionIds") Collection<Long> sectionIds);
 }
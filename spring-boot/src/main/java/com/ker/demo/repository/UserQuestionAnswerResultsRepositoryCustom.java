@@ -0,0 +1,24 @@
+package com.ker.demo.repository;
+
+import java.util.List;
+
+import com.ker.demo.entity.UserQuestionAnswerResultsEntity;
+
+public interface UserQuestionAnswerResultsRepositoryCustom {
+
+	/**
+	 * Inserts a whole submission with a single statement and one round trip,
+	 * whatever its size. The IDENTITY key on user_question_answer_results
+	 * prevents Hibernate from batching these inserts. Rows go to each section's
+	 * open attempt, the one after its last evaluation summary.
+	 */
+	void bulkInsert(List<UserQuestionAnswerResultsEntity> answers);
+
+	/**
+	 * Writes the latest selected option per (user, section, question) of the
+	 * open attempt in one statement: existing rows are updated in place and
+	 * missing ones inserted, so autosaved answers and the final submission
+	 * never duplicate each other, and earlier attempts are left untouched.
+	 */
+	void bulkUpsert(List<UserQuestionAnswerResultsEntity> answers);
+}
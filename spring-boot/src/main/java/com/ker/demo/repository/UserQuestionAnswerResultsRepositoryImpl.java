@@ -0,0 +1,89 @@
+package com.ker.demo.repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ker.demo.entity.UserQuestionAnswerResultsEntity;
+
+public class UserQuestionAnswerResultsRepositoryImpl implements UserQuestionAnswerResultsRepositoryCustom {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${spring.jpa.properties.hibernate.default_schema}")
+	private String schema;
+
+	/*
+	 * Columns are sent as four arrays and expanded server side with unnest, so
+	 * a 500-answer submission is still one statement and one round trip.
+	 */
+	@Override
+	public void bulkInsert(List<UserQuestionAnswerResultsEntity> answers) {
+		execute(insert(), answers);
+	}
+
+	/*
+	 * Relies on the unique index on (user_id, manager_template_category_id,
+	 * question_id, attempt); concurrent writers of the same slot serialize on
+	 * it instead of both inserting. Callers pass at most one row per slot.
+	 */
+	@Override
+	public void bulkUpsert(List<UserQuestionAnswerResultsEntity> answers) {
+		execute(insert() + "ON CONFLICT (user_id, manager_template_category_id, question_id, attempt) "
+				+ "DO UPDATE SET selected_option = EXCLUDED.selected_option", answers);
+	}
+
+	// The open attempt of a section is the one after its last graded evaluation
+	private String insert() {
+		return "INSERT INTO " + schema + ".user_question_answer_results "
+				+ "(user_id, manager_template_category_id, question_id, selected_option, attempt) "
+				+ "SELECT n.user_id, n.section_id, n.question_id, n.selected_option, "
+				+ "1 + (SELECT COUNT(*) FROM " + schema + ".user_evalutaion_summary e "
+				+ "WHERE e.user_id = n.user_id AND e.manager_template_category_id = n.section_id) "
+				+ "FROM unnest(?::bigint[], ?::bigint[], ?::bigint[], ?::text[]) "
+				+ "AS n(user_id, section_id, question_id, selected_option) ";
+	}
+
+	private void execute(String sql, List<UserQuestionAnswerResultsEntity> answers) {
+		if (answers.isEmpty()) {
+			return;
+		}
+		int size = answers.size();
+		Long[] userIds = new Long[size];
+		Long[] sectionIds = new Long[size];
+		Long[] questionIds = new Long[size];
+		String[] selectedOptions = new String[size];
+		for (int i = 0; i < size; i++) {
+			UserQuestionAnswerResultsEntity answer = answers.get(i);
+			userIds[i] = answer.getUserId();
+			sectionIds[i] = answer.getManagerTemplateCategoryId();
+			questionIds[i] = answer.getQuestionId();
+			selectedOptions[i] = answer.getSelectedOption();
+		}
+
+		jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+			Array userArray = connection.createArrayOf("bigint", userIds);
+			Array sectionArray = connection.createArrayOf("bigint", sectionIds);
+			Array questionArray = connection.createArrayOf("bigint", questionIds);
+			Array optionArray = connection.createArrayOf("text", selectedOptions);
+			try (PreparedStatement ps = connection.prepareStatement(sql)) {
+				ps.setArray(1, userArray);
+				ps.setArray(2, sectionArray);
+				ps.setArray(3, questionArray);
+				ps.setArray(4, optionArray);
+				return ps.executeUpdate();
+			} finally {
+				userArray.free();
+				sectionArray.free();
+				questionArray.free();
+				optionArray.free();
+			}
+		});
+	}
+}
@@ -4,12 +4,14 @@ import java.util.List;
 import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.ker.demo.entity.UserEntity;
 
 @Repository
-public interface UserRepo extends JpaRepository<UserEntity, Long> {
+public interface UserRepo extends JpaRepository<UserEntity, Long>, JpaSpecificationExecutor<UserEntity> {
 
 	UserEntity findByEmail(String email);
 
@@ -18,4 +20,8 @@ public interface UserRepo extends JpaRepository<UserEntity, Long> {
 	List<UserEntity> findByUserIdIn(Set<Long> userIds);
 	
 	List<UserEntity> findByReportingManagerId(Long reportingManagerId);
+
+	@Query("SELECT u FROM UserEntity u LEFT JOIN FETCH u.reportingManager "
+			+ "WHERE u.userRoleId IN (SELECT r.id FROM RoleEntity r WHERE lower(r.code) = 'manager') ORDER BY u.userId")
+	List<UserEntity> findManagers();
 }
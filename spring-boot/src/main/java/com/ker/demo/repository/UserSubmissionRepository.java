@@ -0,0 +1,34 @@
+package com.ker.demo.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ker.demo.entity.UserSubmissionEntity;
+
+public interface UserSubmissionRepository extends JpaRepository<UserSubmissionEntity, Long>, UserSubmissionRepositoryCustom {
+
+	List<UserSubmissionEntity> findByTicketOrderBySubmissionIdAsc(String ticket);
+
+	boolean existsByUserIdAndManagerTemplateIdAndGradingStatusNot(String userId, Long managerTemplateId,
+			String gradingStatus);
+
+	/*
+	 * Moves every row of a ticket from one grading status to another. Used as a
+	 * compare-and-set: zero updated rows means another worker got there first.
+	 */
+	@Modifying
+	@Query("UPDATE UserSubmissionEntity s SET s.gradingStatus = :to, s.gradedDate = :gradedDate "
+			+ "WHERE s.ticket = :ticket AND s.gradingStatus = :from")
+	int transition(@Param("ticket") String ticket, @Param("from") String from, @Param("to") String to,
+			@Param("gradedDate") Timestamp gradedDate);
+
+	@Query("SELECT s.ticket FROM UserSubmissionEntity s WHERE s.gradingStatus = :status "
+			+ "GROUP BY s.ticket ORDER BY min(s.submittedDate)")
+	List<String> findTicketsByStatus(@Param("status") String status, Pageable pageable);
+}
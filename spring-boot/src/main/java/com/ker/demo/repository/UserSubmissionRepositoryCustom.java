@@ -0,0 +1,14 @@
+package com.ker.demo.repository;
+
+import java.util.List;
+
+import com.ker.demo.entity.UserSubmissionEntity;
+
+public interface UserSubmissionRepositoryCustom {
+
+	/**
+	 * Inserts all answers of a submission with a single statement. The IDENTITY
+	 * key on user_submission prevents Hibernate from batching these inserts.
+	 */
+	void bulkInsert(List<UserSubmissionEntity> submissions);
+}
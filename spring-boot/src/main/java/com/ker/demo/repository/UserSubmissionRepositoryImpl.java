@@ -0,0 +1,72 @@
+package com.ker.demo.repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ker.demo.entity.UserSubmissionEntity;
+
+public class UserSubmissionRepositoryImpl implements UserSubmissionRepositoryCustom {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${spring.jpa.properties.hibernate.default_schema}")
+	private String schema;
+
+	@Override
+	public void bulkInsert(List<UserSubmissionEntity> submissions) {
+		if (submissions.isEmpty()) {
+			return;
+		}
+		int size = submissions.size();
+		String[] userIds = new String[size];
+		Long[] questionIds = new Long[size];
+		String[] selectedOptions = new String[size];
+		Timestamp[] submittedDates = new Timestamp[size];
+		String[] tickets = new String[size];
+		Long[] managerTemplateIds = new Long[size];
+		String[] statuses = new String[size];
+		for (int i = 0; i < size; i++) {
+			UserSubmissionEntity submission = submissions.get(i);
+			userIds[i] = submission.getUserId();
+			questionIds[i] = submission.getQuestionId();
+			selectedOptions[i] = submission.getSelectedOption();
+			submittedDates[i] = submission.getSubmittedDate();
+			tickets[i] = submission.getTicket();
+			managerTemplateIds[i] = submission.getManagerTemplateId();
+			statuses[i] = submission.getGradingStatus();
+		}
+
+		String sql = "INSERT INTO " + schema + ".user_submission "
+				+ "(user_id, question_id, selected_option, submitted_date, ticket, manager_template_id, grading_status) "
+				+ "SELECT * FROM unnest(?::varchar[], ?::bigint[], ?::text[], ?::timestamp[], ?::varchar[], "
+				+ "?::bigint[], ?::varchar[])";
+		jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+			Array[] arrays = {
+					connection.createArrayOf("varchar", userIds),
+					connection.createArrayOf("bigint", questionIds),
+					connection.createArrayOf("text", selectedOptions),
+					connection.createArrayOf("timestamp", submittedDates),
+					connection.createArrayOf("varchar", tickets),
+					connection.createArrayOf("bigint", managerTemplateIds),
+					connection.createArrayOf("varchar", statuses) };
+			try (PreparedStatement ps = connection.prepareStatement(sql)) {
+				for (int i = 0; i < arrays.length; i++) {
+					ps.setArray(i + 1, arrays[i]);
+				}
+				return ps.executeUpdate();
+			} finally {
+				for (Array array : arrays) {
+					array.free();
+				}
+			}
+		});
+	}
+}
@@ -3,6 +3,7 @@ package com.ker.demo.service;
 import java.util.List;
 
 import com.ker.demo.domin.AdminTemplate;
+import com.ker.demo.domin.KeysetPage;
 
 public interface AdminTemplateService {
 
@@ -15,4 +16,6 @@ public interface AdminTemplateService {
 	AdminTemplate updateAdminTemplate(Long id, AdminTemplate updatedTemplate);
 
 	List<AdminTemplate> getAllAdminTemplates();
+
+	KeysetPage<AdminTemplate> getAdminTemplates(String name, String sort, String after, Integer limit);
 }
@@ -0,0 +1,14 @@
+package com.ker.demo.service;
+
+import java.util.Collection;
+
+import com.ker.demo.domin.AnswerKey;
+
+public interface AnswerKeyService {
+
+	AnswerKey getAnswerKey(Long managerTemplateId);
+
+	void evictTemplate(Long managerTemplateId);
+
+	void evictCategories(Collection<Long> categoryIds);
+}
@@ -0,0 +1,21 @@
+package com.ker.demo.service;
+
+import java.util.List;
+import java.util.Map;
+
+public interface AssessmentStatusCounterService {
+
+	/** Scheduled, Pending, Overdue, Completed and Fail, in status code order. */
+	int STATUS_COUNT = 5;
+
+	/**
+	 * Assignment counts of the manager's reports indexed by status code, served
+	 * from memory once the manager's counters are loaded.
+	 */
+	long[] getStatusCounts(Long managerId);
+
+	/** The manager's direct reports, refreshed together with the counters. */
+	List<Long> getUserIds(Long managerId);
+
+	Map<String, Object> getStats();
+}
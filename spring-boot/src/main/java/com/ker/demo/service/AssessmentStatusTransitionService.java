@@ -0,0 +1,15 @@
+package com.ker.demo.service;
+
+import java.util.Map;
+
+public interface AssessmentStatusTransitionService {
+
+	/**
+	 * Advances every due assignment: Scheduled to Pending once the schedule
+	 * date passes, Pending to Overdue once the time limit has elapsed. Returns
+	 * the run's metrics, or those of the last run if one is already running.
+	 */
+	Map<String, Object> runTransitions();
+
+	Map<String, Object> getStats();
+}
@@ -0,0 +1,21 @@
+package com.ker.demo.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.ker.demo.repository.UserAssessmentTemplateMapRepository.AssignedExamRow;
+
+public interface AssignedExamCacheService {
+
+	List<AssignedExamRow> getOrLoad(Long userId, Supplier<List<AssignedExamRow>> loader);
+
+	void evictUsers(Collection<Long> userIds);
+
+	void evictTemplate(Long managerTemplateId);
+
+	void evictCategories(Collection<Long> categoryIds);
+
+	Map<String, Object> getStats();
+}
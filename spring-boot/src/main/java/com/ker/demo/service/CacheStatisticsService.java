@@ -0,0 +1,8 @@
+package com.ker.demo.service;
+
+import java.util.Map;
+
+public interface CacheStatisticsService {
+
+	Map<String, Object> getSecondLevelCacheStats();
+}
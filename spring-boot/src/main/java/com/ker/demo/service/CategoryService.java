@@ -3,6 +3,7 @@ package com.ker.demo.service;
 import java.util.List;
 
 import com.ker.demo.domin.Category;
+import com.ker.demo.domin.KeysetPage;
 
 public interface CategoryService {
 	
@@ -12,6 +13,9 @@ public interface CategoryService {
 
 	List<Category> getAllCategories();
 
+	KeysetPage<Category> getCategories(String name, String skillLevel, String applicationArea, Integer status,
+			String sort, String after, Integer limit);
+
 	Category updateCategory(Long id, Category category);
 
 	void deleteCategory(Long id);
@@ -0,0 +1,18 @@
+package com.ker.demo.service;
+
+import java.util.Map;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface DashboardStreamService {
+
+	/**
+	 * Opens a server-sent event stream of assignment, status and score changes
+	 * for the manager's direct reports.
+	 *
+	 * @throws IllegalStateException when the subscriber limit is reached
+	 */
+	SseEmitter subscribe(String managerId);
+
+	Map<String, Object> getStats();
+}
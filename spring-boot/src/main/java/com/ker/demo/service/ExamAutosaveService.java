@@ -0,0 +1,16 @@
+package com.ker.demo.service;
+
+import java.util.Map;
+
+public interface ExamAutosaveService {
+
+	int save(Long userId, Long managerTemplateId, Map<String, String> answers);
+
+	Map<String, String> getSavedAnswers(Long userId, Long managerTemplateId);
+
+	void discard(Long userId, Long managerTemplateId);
+
+	void flush();
+
+	Map<String, Object> getStats();
+}
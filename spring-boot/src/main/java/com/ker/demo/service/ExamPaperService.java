@@ -0,0 +1,28 @@
+package com.ker.demo.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.ker.demo.domin.PooledQuestion;
+import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
+import com.ker.demo.entity.UserAssessmentTemplateMapEntity;
+
+public interface ExamPaperService {
+
+	long newSeed();
+
+	long resolveSeed(UserAssessmentTemplateMapEntity assignment, Long userId, Long managerTemplateId);
+
+	Map<Long, List<PooledQuestion>> buildPaper(long seed, Integer questionCount, List<ManagerTemplateCategoryMapEntity> categories);
+
+	Map<Long, List<PooledQuestion>> getPaper(UserAssessmentTemplateMapEntity assignment, Long userId,
+			Long managerTemplateId, Integer questionCount, List<ManagerTemplateCategoryMapEntity> categories);
+
+	Map<Long, List<Long>> getPaperQuestionIds(UserAssessmentTemplateMapEntity assignment, Long userId,
+			Long managerTemplateId, Integer questionCount, List<ManagerTemplateCategoryMapEntity> categories);
+
+	void materializePapers(List<UserAssessmentTemplateMapEntity> assignments, Integer questionCount,
+			List<ManagerTemplateCategoryMapEntity> categories);
+
+	long getPaperVersion(long seed, Integer questionCount, List<ManagerTemplateCategoryMapEntity> categories);
+}
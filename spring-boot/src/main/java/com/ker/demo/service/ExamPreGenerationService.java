@@ -0,0 +1,19 @@
+package com.ker.demo.service;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.ker.demo.domin.ExamGenerationProgress;
+
+public interface ExamPreGenerationService {
+
+	ExamGenerationProgress enqueue(Long managerTemplateId, List<Long> userIds, String assignedBy, Integer timeLimit,
+			Timestamp scheduleDate);
+
+	Optional<ExamGenerationProgress> getProgress(Long managerTemplateId);
+
+	/** Queued and failed candidates per manager template, with the ids of the failed ones. */
+	Map<String, Object> getStats();
+}
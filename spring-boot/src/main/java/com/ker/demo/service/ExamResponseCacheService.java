@@ -0,0 +1,23 @@
+package com.ker.demo.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.ker.demo.domin.VersionedExamDetails;
+
+public interface ExamResponseCacheService {
+
+	VersionedExamDetails getOrLoad(Long userId, Long managerTemplateId, Supplier<VersionedExamDetails> loader);
+
+	void evict(Long userId, Long managerTemplateId);
+
+	void evictTemplate(Long managerTemplateId);
+
+	void evictCategories(Collection<Long> categoryIds);
+
+	/** Advances on every eviction; lets derived caches detect that their inputs changed. */
+	long getGeneration();
+
+	Map<String, Object> getStats();
+}
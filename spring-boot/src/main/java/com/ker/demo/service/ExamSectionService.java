@@ -0,0 +1,10 @@
+package com.ker.demo.service;
+
+import java.util.Map;
+
+public interface ExamSectionService {
+
+	Map<String, Object> getManifest(Long userId, Long managerTemplateId);
+
+	Map<String, Object> getSectionPage(Long userId, Long managerTemplateId, Long sectionId, int page, Integer size);
+}
@@ -3,7 +3,13 @@ package com.ker.demo.service;
 import java.util.List;
 import java.util.Map;
 
+import com.ker.demo.domin.KeysetPage;
+
 public interface ManagerAssessmentService {
 
 	List<Map<String, Object>> getDashboardByManager(String managerId);
+
+	KeysetPage<Map<String, Object>> getDashboardPage(String managerId, Long after, Integer limit);
+
+	Map<String, Object> getRollup(String managerId);
 }
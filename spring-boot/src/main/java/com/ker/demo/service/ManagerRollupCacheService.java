@@ -0,0 +1,17 @@
+package com.ker.demo.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.ker.demo.repository.UserAssessmentRepositoryCustom.RollupRow;
+
+public interface ManagerRollupCacheService {
+
+	List<RollupRow> getOrLoad(Long managerId, Supplier<List<RollupRow>> loader);
+
+	/** Drops every roll-up, e.g. after the reporting structure changed. */
+	void evictAll();
+
+	Map<String, Object> getStats();
+}
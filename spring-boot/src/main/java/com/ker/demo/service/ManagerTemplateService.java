@@ -2,6 +2,7 @@ package com.ker.demo.service;
 
 import java.util.List;
 
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.domin.ManagerTemplate;
 
 public interface ManagerTemplateService {
@@ -15,4 +16,7 @@ public interface ManagerTemplateService {
 	ManagerTemplate updateManagerTemplate(Long id, ManagerTemplate updatedTemplate);
 
 	List<ManagerTemplate> getAllManagerTemplates();
+
+	KeysetPage<ManagerTemplate> getManagerTemplates(Long managerId, String skillLevel, String name, String sort,
+			String after, Integer limit);
 }
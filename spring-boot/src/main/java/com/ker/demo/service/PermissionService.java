@@ -3,10 +3,12 @@ package com.ker.demo.service;
 import java.util.List;
 import java.util.Optional;
 
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.domin.Permission;
 
 public interface PermissionService {
     List<Permission> getAllPermissions();
+    KeysetPage<Permission> getPermissions(String code, String after, Integer limit);
     Optional<Permission> getPermissionByCode(String code);
     Permission createPermission(Permission permission);
     Permission updatePermission(String code, Permission permission);
@@ -0,0 +1,10 @@
+package com.ker.demo.service;
+
+import java.util.Map;
+
+public interface QueryStatisticsService {
+
+	void record(String endpoint, long statements);
+
+	Map<String, Object> getStats();
+}
@@ -0,0 +1,11 @@
+package com.ker.demo.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
+
+public interface QuestionAllocationService {
+
+	Map<Long, Integer> allocate(Integer questionCount, List<ManagerTemplateCategoryMapEntity> categories);
+}
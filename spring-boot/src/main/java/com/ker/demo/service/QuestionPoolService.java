@@ -0,0 +1,29 @@
+package com.ker.demo.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+import com.ker.demo.domin.PooledQuestion;
+
+public interface QuestionPoolService {
+
+	List<PooledQuestion> getPool(Long categoryId);
+
+	List<PooledQuestion> sample(Long categoryId, int count, RandomGenerator random);
+
+	List<Long> sampleIds(Long categoryId, int count, RandomGenerator random);
+
+	int getSize(Long categoryId);
+
+	List<PooledQuestion> getQuestions(Long categoryId, Collection<Long> questionIds);
+
+	long getVersion(Long categoryId);
+
+	void evict(Long categoryId);
+
+	void evictAll(Collection<Long> categoryIds);
+
+	Map<String, Object> getStats();
+}
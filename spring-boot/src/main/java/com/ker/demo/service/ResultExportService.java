@@ -0,0 +1,15 @@
+package com.ker.demo.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ResultExportService {
+
+	String CSV = "csv";
+	String XLSX = "xlsx";
+
+	/** Fails fast, before any bytes are streamed, on an unknown format or template. */
+	void checkExportable(Long managerTemplateId, String format);
+
+	void exportResults(Long managerTemplateId, String format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,13 @@
+package com.ker.demo.service;
+
+import java.util.Optional;
+
+import com.ker.demo.domin.SubmissionStatus;
+import com.ker.demo.service.CandidateAssessmentService.SubmitRequest;
+
+public interface SubmissionGradingService {
+
+	SubmissionStatus submit(Long userId, Long managerTemplateId, SubmitRequest request);
+
+	Optional<SubmissionStatus> getStatus(Long userId, String ticket);
+}
@@ -2,6 +2,7 @@ package com.ker.demo.service;
 
 import java.util.List;
 
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.domin.User;
 
 
@@ -13,6 +14,9 @@ public interface UserService {
 
 	List<User> getAllUsers();
 
+	KeysetPage<User> getUsers(String status, Long roleId, Long reportingManagerId, String email, String after,
+			Integer limit);
+
 	User updateUser(Long id, User updatedUser);
 
 	void deleteUserById(Long id);
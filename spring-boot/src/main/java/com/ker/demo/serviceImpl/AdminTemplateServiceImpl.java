@@ -8,11 +8,13 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import com.ker.demo.domin.AdminTemplate;
 import com.ker.demo.domin.AdminTemplateCategoryMap;
 import com.ker.demo.domin.Category;
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.entity.AdminTemplateCategoryMapEntity;
 import com.ker.demo.entity.AdminTemplateEntity;
 import com.ker.demo.entity.CategoryEntity;
@@ -21,10 +23,16 @@ import com.ker.demo.repository.AdminTemplateCategoryMapRepository;
 import com.ker.demo.repository.AdminTemplateRepository;
 import com.ker.demo.repository.CategoryRepository;
 import com.ker.demo.service.AdminTemplateService;
+import com.ker.demo.utils.Keyset;
 
 @Service
 public class AdminTemplateServiceImpl implements AdminTemplateService {
 
+	private static final Map<String, Keyset<AdminTemplateEntity>> SORTS = Map.of(
+			"id", Keyset.byId("adminTemplateId", AdminTemplateEntity::getAdminTemplateId, false),
+			"name", Keyset.by("adminTemplateName", AdminTemplateEntity::getAdminTemplateName,
+					"adminTemplateId", AdminTemplateEntity::getAdminTemplateId, false));
+
 	@Autowired
 	private AdminTemplateRepository adminTemplateRepository;
 	@Autowired
@@ -143,6 +151,22 @@ public class AdminTemplateServiceImpl implements AdminTemplateService {
 		return result;
 	}
 
+	@Override
+	public KeysetPage<AdminTemplate> getAdminTemplates(String name, String sort, String after, Integer limit) {
+		Specification<AdminTemplateEntity> filter = name == null ? null
+				: (root, query, cb) -> Keyset.startsWith(cb, cb.lower(root.get("adminTemplateName")), name.toLowerCase());
+		KeysetPage<AdminTemplateEntity> page = Keyset.forSort(sort, "id", SORTS).page(adminTemplateRepository,
+				filter, after, limit);
+
+		// Category mappings for the whole page are read in one query
+		Map<Long, List<AdminTemplateCategoryMap>> categories = categoryMapRepository
+				.findByAdminTemplateIdIn(page.getItems().stream().map(AdminTemplateEntity::getAdminTemplateId).toList())
+				.stream().collect(Collectors.groupingBy(AdminTemplateCategoryMapEntity::getAdminTemplateId,
+						Collectors.mapping(this::mapToDomain, Collectors.toList())));
+		return page.map(entity -> mapToDomain(entity,
+				categories.getOrDefault(entity.getAdminTemplateId(), new ArrayList<>())));
+	}
+
 	private void validateTemplate(AdminTemplate template) {
 		if (template.getAdminTemplateName() == null || template.getAdminTemplateName().isBlank()) {
 			throw new ValidationException("Field 'adminTemplateName' is required");
@@ -0,0 +1,156 @@
+package com.ker.demo.serviceImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ker.demo.domin.AnswerKey;
+import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
+import com.ker.demo.repository.ManagerTemplateCategoryMapRepository;
+import com.ker.demo.repository.QuestionAnswerRepository;
+import com.ker.demo.repository.QuestionAnswerRepository.AnswerKeyRow;
+import com.ker.demo.service.AnswerKeyService;
+import com.ker.demo.utils.AfterCommit;
+
+/*
+ * Compiles and caches one AnswerKey per manager template, covering every
+ * question of the template's categories. Compilation reads only id, options
+ * and answer columns. Keys are dropped when a question pool of one of their
+ * categories is evicted or the template changes.
+ */
+@Service
+public class AnswerKeyServiceImpl implements AnswerKeyService {
+
+	@Autowired
+	private ManagerTemplateCategoryMapRepository managerTemplateCategoryMapRepository;
+
+	@Autowired
+	private QuestionAnswerRepository questionAnswerRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final Map<Long, CompiledKey> keys = new ConcurrentHashMap<>();
+	private final AtomicLong generation = new AtomicLong();
+
+	@Override
+	public AnswerKey getAnswerKey(Long managerTemplateId) {
+		CompiledKey cached = keys.get(managerTemplateId);
+		if (cached != null) {
+			return cached.key;
+		}
+
+		long loadGeneration = generation.get();
+		CompiledKey compiled = compile(managerTemplateId);
+		// Skip caching if an eviction raced with the compile; the next call recompiles.
+		if (generation.get() == loadGeneration) {
+			keys.putIfAbsent(managerTemplateId, compiled);
+		}
+		return compiled.key;
+	}
+
+	@Override
+	public void evictTemplate(Long managerTemplateId) {
+		if (managerTemplateId == null) {
+			return;
+		}
+		evictWhere(entry -> entry.getKey().equals(managerTemplateId));
+	}
+
+	@Override
+	public void evictCategories(Collection<Long> categoryIds) {
+		if (categoryIds == null || categoryIds.isEmpty()) {
+			return;
+		}
+		List<Long> ids = new ArrayList<>(categoryIds);
+		evictWhere(entry -> ids.stream().anyMatch(entry.getValue().categoryIds::contains));
+	}
+
+	private void evictWhere(Predicate<Map.Entry<Long, CompiledKey>> filter) {
+		Runnable eviction = () -> {
+			generation.incrementAndGet();
+			keys.entrySet().removeIf(filter);
+		};
+		AfterCommit.runNowAndAfterCommit(eviction);
+	}
+
+	private CompiledKey compile(Long managerTemplateId) {
+		Set<Long> categoryIds = managerTemplateCategoryMapRepository.findByManagerTemplateId(managerTemplateId).stream()
+				.map(ManagerTemplateCategoryMapEntity::getCategoryId)
+				.collect(Collectors.toSet());
+		if (categoryIds.isEmpty()) {
+			return new CompiledKey(new AnswerKey(new long[0], new byte[0]), categoryIds);
+		}
+
+		List<AnswerKeyRow> rows = questionAnswerRepository.findAnswerKeyRows(categoryIds);
+		long[] questionIds = new long[rows.size()];
+		byte[] correctOptions = new byte[rows.size()];
+		for (int i = 0; i < rows.size(); i++) {
+			AnswerKeyRow row = rows.get(i);
+			questionIds[i] = row.getQuestionId();
+			correctOptions[i] = correctOptionIndex(row.getOptions(), row.getAnswer());
+		}
+		return new CompiledKey(new AnswerKey(questionIds, correctOptions), categoryIds);
+	}
+
+	/*
+	 * Seeded questions store options as {"A": ..., "B": ...} with the key as the
+	 * answer; imported ones store a JSON array with the option text as the
+	 * answer. Both resolve to the option's position.
+	 */
+	private byte correctOptionIndex(String optionsJson, String answer) {
+		if (optionsJson == null || answer == null) {
+			return AnswerKey.UNRESOLVED;
+		}
+		try {
+			JsonNode node = objectMapper.readTree(optionsJson);
+			int index = 0;
+			if (node.isObject()) {
+				Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+				while (fields.hasNext() && index <= Byte.MAX_VALUE) {
+					Map.Entry<String, JsonNode> field = fields.next();
+					if (field.getKey().equalsIgnoreCase(answer.trim()) || field.getValue().asText().equals(answer)) {
+						return (byte) index;
+					}
+					index++;
+				}
+			} else if (node.isArray()) {
+				for (JsonNode option : node) {
+					if (index > Byte.MAX_VALUE) {
+						break;
+					}
+					if (option.asText().equals(answer)) {
+						return (byte) index;
+					}
+					index++;
+				}
+			}
+		} catch (Exception e) {
+			// Unparseable options are graded by answer text
+		}
+		return AnswerKey.UNRESOLVED;
+	}
+
+	private static final class CompiledKey {
+
+		private final AnswerKey key;
+		private final Set<Long> categoryIds;
+
+		private CompiledKey(AnswerKey key, Set<Long> categoryIds) {
+			this.key = key;
+			this.categoryIds = categoryIds;
+		}
+	}
+}
@@ -2,7 +2,6 @@ package com.ker.demo.serviceImpl;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,15 +14,12 @@ import com.ker.demo.entity.AdminTemplateCategoryMapEntity;
 import com.ker.demo.entity.AdminTemplateEntity;
 import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
 import com.ker.demo.entity.ManagerTemplateEntity;
-import com.ker.demo.entity.UserAssessmentTemplateMapEntity;
-import com.ker.demo.entity.UserEntity;
 import com.ker.demo.repository.AdminTemplateCategoryMapRepository;
 import com.ker.demo.repository.AdminTemplateRepository;
 import com.ker.demo.repository.ManagerTemplateCategoryMapRepository;
 import com.ker.demo.repository.ManagerTemplateRepository;
-import com.ker.demo.repository.UserAssessmentTemplateMapRepository;
-import com.ker.demo.repository.UserRepo;
 import com.ker.demo.service.AssessmentService;
+import com.ker.demo.service.ExamPreGenerationService;
 
 @Service
 public class AssessmentServiceImpl implements AssessmentService {
@@ -41,10 +37,7 @@ public class AssessmentServiceImpl implements AssessmentService {
     private ManagerTemplateCategoryMapRepository managerTemplateCategoryMapRepository;
 
     @Autowired
-    private UserAssessmentTemplateMapRepository userAssessmentTemplateMapRepository;
-
-    @Autowired
-    private UserRepo userRepo;
+    private ExamPreGenerationService examPreGenerationService;
 
     @Transactional
     public Assessment createAssessment(Assessment assessment) {
@@ -92,44 +85,21 @@ public class AssessmentServiceImpl implements AssessmentService {
                 managerTemplateCategoryMapRepository.save(managerCategoryMap);
             }
 
-            // Step 4: Save candidate mappings in user_assessment_template_map
-            if (assessment.getUserIds() == null || assessment.getUserIds().isEmpty()) {
-                throw new RuntimeException("Candidate IDs cannot be null or empty");
-            }
-
-            // Get the first category mapping for the manager template
+            // Step 4: Queue candidate mappings and their papers for the background workers
             List<ManagerTemplateCategoryMapEntity> categoryMaps = 
                     managerTemplateCategoryMapRepository.findByManagerTemplateId(managerTemplate.getManagerTemplateId());
             
             if (categoryMaps.isEmpty()) {
                 throw new RuntimeException("No category mappings found for ManagerTemplate ID: " + managerTemplate.getManagerTemplateId());
             }
-            
-            Long managerTemplateCategoryId = categoryMaps.get(0).getManagerTemplateCategoryId();
-
-            for (Long userId : assessment.getUserIds()) {
-                UserAssessmentTemplateMapEntity userMap = new UserAssessmentTemplateMapEntity();
-                userMap.setUserId(userId ); // candidateIds from request -> user_assessment_template_map.user_id
-                ManagerTemplateCategoryMapEntity managerTemplateCategory = new ManagerTemplateCategoryMapEntity();
-                managerTemplateCategory.setManagerTemplateCategoryId(managerTemplateCategoryId);
-                userMap.setManagerTemplateCategoryMap(managerTemplateCategory);
-                userMap.setAssignedBy(assessment.getManagerId().toString()); // Default assigned by
-                userMap.setAssignedDate(Timestamp.valueOf(LocalDateTime.now()));
-                userMap.setTimeLimit(Integer.parseInt(assessment.getTimeLimitMinutes())); // timeLimitMinutes from request -> user_assessment_template_map.time_limit
-                userMap.setScheduleDate(Timestamp.valueOf(assessment.getScheduledAt())); // scheduledAt from request -> user_assessment_template_map.schedule_date
-                userAssessmentTemplateMapRepository.save(userMap);
-            }
-            List<UserEntity> users = userRepo.findByUserIdIn(
-            	    new HashSet<>(assessment.getUserIds())
-            	);
 
+            examPreGenerationService.enqueue(managerTemplate.getManagerTemplateId(), assessment.getUserIds(),
+                    assessment.getManagerId().toString(), // Default assigned by
+                    Integer.parseInt(assessment.getTimeLimitMinutes()), // timeLimitMinutes from request -> user_assessment_template_map.time_limit
+                    Timestamp.valueOf(assessment.getScheduledAt())); // scheduledAt from request -> user_assessment_template_map.schedule_date
 
-            List<String> userFullNames = users.stream()
-                .map(u -> u.getFirstName() + " " + u.getLastName())
-                .toList();
-
+            assessment.setManagerTemplateId(managerTemplate.getManagerTemplateId());
             assessment.setUserIds(null);
-            assessment.setUserNames(userFullNames);
             return assessment;
             
         } catch (NumberFormatException e) {
@@ -164,6 +134,9 @@ public class AssessmentServiceImpl implements AssessmentService {
         if (assessment.getTimeLimitMinutes() == null || assessment.getTimeLimitMinutes().trim().isEmpty()) {
             throw new RuntimeException("Time limit is required");
         }
+        if (assessment.getUserIds() == null || assessment.getUserIds().isEmpty()) {
+            throw new RuntimeException("Candidate IDs cannot be null or empty");
+        }
         
         // Validate question count is a positive integer
         try {
@@ -0,0 +1,366 @@
+package com.ker.demo.serviceImpl;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ker.demo.event.AssessmentScheduledEvent;
+import com.ker.demo.event.AssessmentStatusChangedEvent;
+import com.ker.demo.service.AssessmentStatusCounterService;
+
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Per-manager assignment counts by status, keyed by the manager's user id as
+ * recorded in user_manager_map.manager_id, the same key the dashboard, the
+ * roll-up and the dashboard stream use. Each manager's counters are a base
+ * read from assessment_status_counter plus the deltas this instance has seen
+ * since, held in LongAdders so committed status changes only add to a cell.
+ * A flush adds the unflushed deltas to the table and re-reads the bases, which
+ * also picks up other instances' flushes. A manager missing from the table is
+ * seeded from the assignments themselves; the reconcile job recomputes every
+ * row from the assignments to correct drift, e.g. from reassigned reports or
+ * deleted rows, which publish no events. The manager's report ids are read with
+ * the bases, so reads are served from memory and see new reports within a
+ * flush interval.
+ */
+@Service
+public class AssessmentStatusCounterServiceImpl implements AssessmentStatusCounterService {
+
+	private static final int SCHEDULED = 0;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${spring.jpa.properties.hibernate.default_schema}")
+	private String schema;
+
+	private TransactionTemplate transactionTemplate;
+
+	private final Map<Long, Counters> counters = new ConcurrentHashMap<>();
+	private final Object flushLock = new Object();
+	private final LongAdder reads = new LongAdder();
+	private final LongAdder loads = new LongAdder();
+	private final LongAdder flushes = new LongAdder();
+	private final LongAdder reconciles = new LongAdder();
+	private volatile Timestamp lastReconciled;
+
+	@PostConstruct
+	void start() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Override
+	public long[] getStatusCounts(Long managerId) {
+		reads.increment();
+		return loaded(managerId).current();
+	}
+
+	@Override
+	public List<Long> getUserIds(Long managerId) {
+		return loaded(managerId).snapshot.userIds();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onScheduled(AssessmentScheduledEvent event) {
+		apply(event.getUserIds(), null, SCHEDULED);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onStatusChanged(AssessmentStatusChangedEvent event) {
+		apply(event.getUserIds(), event.getFromStatus(), event.getToStatus());
+	}
+
+	@Scheduled(initialDelayString = "${exam.status-counters.flush-interval-ms:10000}",
+			fixedDelayString = "${exam.status-counters.flush-interval-ms:10000}")
+	void flush() {
+		try {
+			synchronized (flushLock) {
+				Set<Long> dirty = new HashSet<>();
+				counters.forEach((managerId, managerCounters) -> {
+					if (managerCounters.isDirty()) {
+						dirty.add(managerId);
+					}
+				});
+				if (!dirty.isEmpty()) {
+					flushes.increment();
+					transactionTemplate.executeWithoutResult(status -> writeDeltas(dirty));
+				}
+				// Bases are re-read even when nothing changed here, to see other instances' flushes
+				load(loadedManagers());
+			}
+		} catch (RuntimeException e) {
+			System.err.println("Could not flush assessment status counters: " + e.getMessage());
+		}
+	}
+
+	@Scheduled(initialDelayString = "${exam.status-counters.reconcile-initial-delay-ms:60000}",
+			fixedDelayString = "${exam.status-counters.reconcile-interval-ms:3600000}")
+	void reconcile() {
+		try {
+			synchronized (flushLock) {
+				Map<Long, long[]> sums = new HashMap<>();
+				counters.forEach((managerId, managerCounters) -> sums.put(managerId, managerCounters.pendingSums()));
+				Timestamp now = new Timestamp(System.currentTimeMillis());
+				transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+						"INSERT INTO " + schema + ".assessment_status_counter "
+								+ "(manager_id, status, assessment_count, reconciled_date) "
+								+ countsFromAssignments(null)
+								+ "ON CONFLICT (manager_id, status) DO UPDATE SET assessment_count = EXCLUDED.assessment_count, "
+								+ "reconciled_date = EXCLUDED.reconciled_date",
+						now));
+				// Every delta seen so far is part of the recomputed counts
+				sums.forEach((managerId, pending) -> counters.get(managerId).flushed = pending);
+				reconciles.increment();
+				lastReconciled = now;
+				load(loadedManagers());
+			}
+		} catch (RuntimeException e) {
+			System.err.println("Could not reconcile assessment status counters: " + e.getMessage());
+		}
+	}
+
+	@Override
+	public Map<String, Object> getStats() {
+		long dirty = counters.values().stream().filter(Counters::isDirty).count();
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("managers", counters.size());
+		stats.put("dirtyManagers", dirty);
+		stats.put("reads", reads.sum());
+		stats.put("loads", loads.sum());
+		stats.put("flushes", flushes.sum());
+		stats.put("reconciles", reconciles.sum());
+		stats.put("lastReconciled", lastReconciled);
+		return stats;
+	}
+
+	private Counters loaded(Long managerId) {
+		Counters managerCounters = counters.computeIfAbsent(managerId, id -> new Counters());
+		if (managerCounters.snapshot == null) {
+			synchronized (flushLock) {
+				if (managerCounters.snapshot == null) {
+					loads.increment();
+					load(Set.of(managerId));
+				}
+			}
+		}
+		return managerCounters;
+	}
+
+	private void apply(List<Long> userIds, Integer fromStatus, Integer toStatus) {
+		if (userIds == null || userIds.isEmpty()) {
+			return;
+		}
+		try {
+			Map<Long, List<Long>> managers = new HashMap<>();
+			jdbcTemplate.query("SELECT DISTINCT user_id, manager_id FROM " + schema + ".user_manager_map "
+					+ "WHERE user_id = ANY(?) AND manager_id IS NOT NULL",
+					rs -> {
+						managers.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+					}, (Object) userIds.toArray(Long[]::new));
+			for (Long userId : userIds) {
+				for (Long managerId : managers.getOrDefault(userId, List.of())) {
+					counters.computeIfAbsent(managerId, id -> new Counters()).add(fromStatus, toStatus);
+				}
+			}
+		} catch (RuntimeException e) {
+			// The next reconcile recomputes the counts from the assignments
+			System.err.println("Could not update assessment status counters: " + e.getMessage());
+		}
+	}
+
+	private Set<Long> loadedManagers() {
+		Set<Long> loaded = new HashSet<>();
+		counters.forEach((managerId, managerCounters) -> {
+			if (managerCounters.snapshot != null) {
+				loaded.add(managerId);
+			}
+		});
+		return loaded;
+	}
+
+	// Callers hold flushLock
+	private void writeDeltas(Set<Long> managerIds) {
+		// Managers without rows are seeded from the assignments, which already include their deltas
+		Set<Long> seeded = seed(managerIds);
+		List<Long> managers = new ArrayList<>();
+		List<Integer> statuses = new ArrayList<>();
+		List<Long> deltas = new ArrayList<>();
+		for (Long managerId : managerIds) {
+			Counters managerCounters = counters.get(managerId);
+			long[] pending = managerCounters.pendingSums();
+			if (!seeded.contains(managerId)) {
+				for (int status = 0; status < STATUS_COUNT; status++) {
+					long delta = pending[status] - managerCounters.flushed[status];
+					if (delta != 0) {
+						managers.add(managerId);
+						statuses.add(status);
+						deltas.add(delta);
+					}
+				}
+			}
+			managerCounters.flushed = pending;
+		}
+		if (managers.isEmpty()) {
+			return;
+		}
+		String sql = "UPDATE " + schema + ".assessment_status_counter c "
+				+ "SET assessment_count = c.assessment_count + v.d "
+				+ "FROM unnest(?::bigint[], ?::int[], ?::bigint[]) AS v(m, s, d) "
+				+ "WHERE c.manager_id = v.m AND c.status = v.s";
+		jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+			Array managerArray = connection.createArrayOf("bigint", managers.toArray());
+			Array statusArray = connection.createArrayOf("integer", statuses.toArray());
+			Array deltaArray = connection.createArrayOf("bigint", deltas.toArray());
+			try (PreparedStatement ps = connection.prepareStatement(sql)) {
+				ps.setArray(1, managerArray);
+				ps.setArray(2, statusArray);
+				ps.setArray(3, deltaArray);
+				return ps.executeUpdate();
+			} finally {
+				managerArray.free();
+				statusArray.free();
+				deltaArray.free();
+			}
+		});
+	}
+
+	// Callers hold flushLock
+	private Set<Long> seed(Set<Long> managerIds) {
+		Set<Long> seeded = new HashSet<>();
+		jdbcTemplate.query("INSERT INTO " + schema + ".assessment_status_counter "
+				+ "(manager_id, status, assessment_count, reconciled_date) "
+				+ countsFromAssignments("m.manager_id = ANY(?) ")
+				+ "ON CONFLICT (manager_id, status) DO NOTHING RETURNING manager_id",
+				rs -> {
+					seeded.add(rs.getLong(1));
+				}, new Timestamp(System.currentTimeMillis()), managerIds.toArray(Long[]::new));
+		return seeded;
+	}
+
+	// Callers hold flushLock
+	private void load(Set<Long> managerIds) {
+		if (managerIds.isEmpty()) {
+			return;
+		}
+		Set<Long> seeded = transactionTemplate.execute(status -> seed(managerIds));
+		Map<Long, long[]> bases = new HashMap<>();
+		jdbcTemplate.query("SELECT manager_id, status, assessment_count FROM " + schema
+				+ ".assessment_status_counter WHERE manager_id = ANY(?)",
+				rs -> {
+					int status = rs.getInt(2);
+					if (status >= 0 && status < STATUS_COUNT) {
+						bases.computeIfAbsent(rs.getLong(1), id -> new long[STATUS_COUNT])[status] = rs.getLong(3);
+					}
+				}, (Object) managerIds.toArray(Long[]::new));
+		Map<Long, List<Long>> reports = new HashMap<>();
+		jdbcTemplate.query("SELECT DISTINCT manager_id, user_id FROM " + schema + ".user_manager_map "
+				+ "WHERE manager_id = ANY(?) ORDER BY manager_id, user_id",
+				rs -> {
+					reports.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+				}, (Object) managerIds.toArray(Long[]::new));
+		for (Long managerId : managerIds) {
+			Counters managerCounters = counters.get(managerId);
+			if (seeded.contains(managerId)) {
+				managerCounters.flushed = managerCounters.pendingSums();
+			}
+			managerCounters.snapshot = new Snapshot(bases.getOrDefault(managerId, new long[STATUS_COUNT]),
+					managerCounters.flushed, List.copyOf(reports.getOrDefault(managerId, List.of())));
+		}
+	}
+
+	/*
+	 * One row per manager and status with the current number of assignments,
+	 * zero included, for the managers of any report and those already counted.
+	 * The single parameter is the reconciled date; a filter on m.manager_id
+	 * may add one more.
+	 */
+	private String countsFromAssignments(String managerFilter) {
+		return "SELECT m.manager_id, s.status, COALESCE(t.assessment_count, 0), ? "
+				+ "FROM (SELECT manager_id FROM " + schema + ".user_manager_map WHERE manager_id IS NOT NULL "
+				+ "UNION SELECT manager_id FROM " + schema + ".assessment_status_counter) m "
+				+ "CROSS JOIN generate_series(0, " + (STATUS_COUNT - 1) + ") AS s(status) "
+				+ "LEFT JOIN (SELECT r.manager_id, a.status, COUNT(*) AS assessment_count "
+				+ "FROM " + schema + ".user_assessment_template_map a "
+				+ "JOIN (SELECT DISTINCT manager_id, user_id FROM " + schema + ".user_manager_map) r "
+				+ "ON r.user_id = a.user_id "
+				+ "GROUP BY r.manager_id, a.status) t "
+				+ "ON t.manager_id = m.manager_id AND t.status = s.status "
+				+ (managerFilter == null ? "" : "WHERE " + managerFilter);
+	}
+
+	private record Snapshot(long[] base, long[] pendingAtBase, List<Long> userIds) {
+	}
+
+	private static final class Counters {
+
+		private final LongAdder[] pending = new LongAdder[STATUS_COUNT];
+		// Guarded by flushLock
+		private long[] flushed = new long[STATUS_COUNT];
+		private volatile Snapshot snapshot;
+
+		private Counters() {
+			for (int status = 0; status < STATUS_COUNT; status++) {
+				pending[status] = new LongAdder();
+			}
+		}
+
+		private void add(Integer fromStatus, Integer toStatus) {
+			if (fromStatus != null && fromStatus >= 0 && fromStatus < STATUS_COUNT) {
+				pending[fromStatus].decrement();
+			}
+			if (toStatus != null && toStatus >= 0 && toStatus < STATUS_COUNT) {
+				pending[toStatus].increment();
+			}
+		}
+
+		private long[] pendingSums() {
+			long[] sums = new long[STATUS_COUNT];
+			for (int status = 0; status < STATUS_COUNT; status++) {
+				sums[status] = pending[status].sum();
+			}
+			return sums;
+		}
+
+		private boolean isDirty() {
+			long[] sums = pendingSums();
+			for (int status = 0; status < STATUS_COUNT; status++) {
+				if (sums[status] != flushed[status]) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private long[] current() {
+			Snapshot current = snapshot;
+			long[] counts = new long[STATUS_COUNT];
+			for (int status = 0; status < STATUS_COUNT; status++) {
+				counts[status] = current.base()[status] + pending[status].sum() - current.pendingAtBase()[status];
+			}
+			return counts;
+		}
+	}
+}
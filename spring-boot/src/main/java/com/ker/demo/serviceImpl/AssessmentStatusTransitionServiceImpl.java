@@ -0,0 +1,139 @@
+package com.ker.demo.serviceImpl;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ker.demo.event.AssessmentStatusChangedEvent;
+import com.ker.demo.repository.UserAssessmentRepository;
+import com.ker.demo.service.AssessmentStatusTransitionService;
+
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Moves assignments between statuses by time, a chunk of rows per statement
+ * and a transaction per chunk, so a backlog of millions of rows never holds
+ * long locks. Each chunk publishes one AssessmentStatusChangedEvent inside its
+ * transaction, which keeps the status counters, caches and dashboard streams
+ * in step. A run stops after max-chunks-per-transition chunks and the next
+ * run continues from there.
+ */
+@Service
+public class AssessmentStatusTransitionServiceImpl implements AssessmentStatusTransitionService {
+
+	private static final int SCHEDULED = 0;
+	private static final int PENDING = 1;
+	private static final int OVERDUE = 2;
+
+	@Autowired
+	private UserAssessmentRepository assessmentRepo;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${exam.status-transitions.chunk-size:5000}")
+	private int chunkSize;
+
+	@Value("${exam.status-transitions.max-chunks-per-transition:200}")
+	private int maxChunks;
+
+	@Value("${exam.status-transitions.default-time-limit-minutes:10}")
+	private int defaultTimeLimitMinutes;
+
+	private TransactionTemplate transactionTemplate;
+
+	private final AtomicBoolean running = new AtomicBoolean();
+	private final LongAdder runs = new LongAdder();
+	private final LongAdder started = new LongAdder();
+	private final LongAdder expired = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private volatile Map<String, Object> lastRun = Map.of();
+
+	@PostConstruct
+	void start() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Scheduled(initialDelayString = "${exam.status-transitions.interval-ms:60000}",
+			fixedDelayString = "${exam.status-transitions.interval-ms:60000}")
+	void scheduledRun() {
+		runTransitions();
+	}
+
+	@Override
+	public Map<String, Object> runTransitions() {
+		if (!running.compareAndSet(false, true)) {
+			return lastRun;
+		}
+		long startedAt = System.currentTimeMillis();
+		Map<String, Object> run = new LinkedHashMap<>();
+		run.put("startedAt", new Timestamp(startedAt));
+		try {
+			// One cut-off per run, so rows becoming due mid-run wait for the next
+			Timestamp now = new Timestamp(startedAt);
+			run.put("scheduledToPending", advance(SCHEDULED, PENDING, started, run,
+					() -> assessmentRepo.startDueAssessments(now, chunkSize)));
+			run.put("pendingToOverdue", advance(PENDING, OVERDUE, expired, run,
+					() -> assessmentRepo.expireElapsedAssessments(now, defaultTimeLimitMinutes, chunkSize)));
+		} catch (RuntimeException e) {
+			failures.increment();
+			run.put("error", e.getMessage());
+			System.err.println("Assessment status transitions failed: " + e.getMessage());
+		} finally {
+			run.put("durationMs", System.currentTimeMillis() - startedAt);
+			runs.increment();
+			lastRun = run;
+			running.set(false);
+		}
+		return run;
+	}
+
+	@Override
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("runs", runs.sum());
+		stats.put("scheduledToPending", started.sum());
+		stats.put("pendingToOverdue", expired.sum());
+		stats.put("failures", failures.sum());
+		stats.put("running", running.get());
+		stats.put("chunkSize", chunkSize);
+		stats.put("lastRun", lastRun);
+		return stats;
+	}
+
+	private long advance(int fromStatus, int toStatus, LongAdder total, Map<String, Object> run,
+			Supplier<List<Long>> chunk) {
+		long moved = 0;
+		for (int i = 0; i < maxChunks; i++) {
+			int count = transactionTemplate.execute(status -> {
+				List<Long> userIds = chunk.get();
+				if (!userIds.isEmpty()) {
+					eventPublisher.publishEvent(new AssessmentStatusChangedEvent(null, userIds, fromStatus, toStatus));
+				}
+				return userIds.size();
+			});
+			moved += count;
+			total.add(count);
+			run.merge("chunks", 1, (a, b) -> (Integer) a + (Integer) b);
+			if (count < chunkSize) {
+				break;
+			}
+		}
+		return moved;
+	}
+}
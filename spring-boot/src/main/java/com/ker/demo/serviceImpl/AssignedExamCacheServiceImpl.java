@@ -0,0 +1,151 @@
+package com.ker.demo.serviceImpl;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.ker.demo.event.AssessmentScheduledEvent;
+import com.ker.demo.event.AssessmentStatusChangedEvent;
+import com.ker.demo.repository.UserAssessmentTemplateMapRepository.AssignedExamRow;
+import com.ker.demo.service.AssignedExamCacheService;
+import com.ker.demo.utils.AfterCommit;
+
+/*
+ * Bounded LRU of each candidate's assigned-exam rows, read on every candidate
+ * login. Entries are dropped when the candidate is scheduled for an exam or
+ * an assignment status changes (both arrive as application events), and when
+ * a template or category shown in the rows is edited.
+ */
+@Service
+public class AssignedExamCacheServiceImpl implements AssignedExamCacheService {
+
+	private record Entry(List<AssignedExamRow> rows, Set<Long> managerTemplateIds, Set<Long> categoryIds) {
+	}
+
+	@Value("${exam.candidate.assigned-exams-cache.max-entries:20000}")
+	private int maxEntries;
+
+	private final Map<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+			return size() > maxEntries;
+		}
+	};
+
+	private final AtomicLong generation = new AtomicLong();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	@Override
+	public List<AssignedExamRow> getOrLoad(Long userId, Supplier<List<AssignedExamRow>> loader) {
+		synchronized (entries) {
+			Entry cached = entries.get(userId);
+			if (cached != null) {
+				hits.increment();
+				return cached.rows();
+			}
+		}
+		misses.increment();
+
+		long loadGeneration = generation.get();
+		List<AssignedExamRow> rows = List.copyOf(loader.get());
+		Entry loaded = new Entry(rows, collect(rows, AssignedExamRow::getManagerTemplateId),
+				collect(rows, AssignedExamRow::getCategoryId));
+		synchronized (entries) {
+			// Skip caching if an eviction raced with the load; the next call rebuilds.
+			if (generation.get() == loadGeneration) {
+				entries.put(userId, loaded);
+			}
+		}
+		return rows;
+	}
+
+	@EventListener
+	public void onScheduled(AssessmentScheduledEvent event) {
+		evictUsers(event.getUserIds());
+	}
+
+	@EventListener
+	public void onStatusChanged(AssessmentStatusChangedEvent event) {
+		evictUsers(event.getUserIds());
+	}
+
+	@Override
+	public void evictUsers(Collection<Long> userIds) {
+		if (userIds == null || userIds.isEmpty()) {
+			return;
+		}
+		Set<Long> ids = Set.copyOf(userIds);
+		evictMatching((userId, entry) -> ids.contains(userId));
+	}
+
+	@Override
+	public void evictTemplate(Long managerTemplateId) {
+		if (managerTemplateId == null) {
+			return;
+		}
+		evictMatching((userId, entry) -> entry.managerTemplateIds().contains(managerTemplateId));
+	}
+
+	@Override
+	public void evictCategories(Collection<Long> categoryIds) {
+		if (categoryIds == null || categoryIds.isEmpty()) {
+			return;
+		}
+		evictMatching((userId, entry) -> categoryIds.stream().anyMatch(entry.categoryIds()::contains));
+	}
+
+	@Override
+	public Map<String, Object> getStats() {
+		long hitCount = hits.sum();
+		long missCount = misses.sum();
+		long requests = hitCount + missCount;
+		int size;
+		synchronized (entries) {
+			size = entries.size();
+		}
+
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("entries", size);
+		stats.put("maxEntries", maxEntries);
+		stats.put("hits", hitCount);
+		stats.put("misses", missCount);
+		stats.put("evictions", evictions.sum());
+		stats.put("hitRatio", requests == 0 ? 0.0 : (double) hitCount / requests);
+		return stats;
+	}
+
+	private static Set<Long> collect(List<AssignedExamRow> rows, Function<AssignedExamRow, Long> id) {
+		return rows.stream().map(id).filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+	}
+
+	private void evictMatching(BiPredicate<Long, Entry> filter) {
+		Runnable eviction = () -> {
+			generation.incrementAndGet();
+			synchronized (entries) {
+				entries.entrySet().removeIf(entry -> {
+					boolean remove = filter.test(entry.getKey(), entry.getValue());
+					if (remove) {
+						evictions.increment();
+					}
+					return remove;
+				});
+			}
+		};
+		AfterCommit.runNowAndAfterCommit(eviction);
+	}
+}
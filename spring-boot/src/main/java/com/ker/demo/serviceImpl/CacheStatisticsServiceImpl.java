@@ -0,0 +1,58 @@
+package com.ker.demo.serviceImpl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.ker.demo.config.SecondLevelCacheConfig;
+import com.ker.demo.service.CacheStatisticsService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Override
+	public Map<String, Object> getSecondLevelCacheStats() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		Map<String, Object> regions = new LinkedHashMap<>();
+		for (String region : SecondLevelCacheConfig.ENTITY_REGIONS) {
+			CacheRegionStatistics regionStats = statistics.getDomainDataRegionStatistics(region);
+			if (regionStats != null) {
+				regions.put(region, toMap(regionStats.getHitCount(), regionStats.getMissCount(),
+						regionStats.getPutCount(), regionStats.getElementCountInMemory()));
+			}
+		}
+
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("enabled", statistics.isStatisticsEnabled());
+		stats.put("secondLevel", toMap(statistics.getSecondLevelCacheHitCount(),
+				statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount(), -1));
+		stats.put("queryCache", toMap(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+				statistics.getQueryCachePutCount(), -1));
+		stats.put("regions", regions);
+		return stats;
+	}
+
+	private static Map<String, Object> toMap(long hits, long misses, long puts, long entries) {
+		long requests = hits + misses;
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("hits", hits);
+		stats.put("misses", misses);
+		stats.put("puts", puts);
+		if (entries >= 0) {
+			stats.put("entries", entries);
+		}
+		stats.put("hitRatio", requests == 0 ? 0.0 : (double) hits / requests);
+		return stats;
+	}
+}
@@ -1,10 +1,13 @@
 package com.ker.demo.serviceImpl;
  
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -14,35 +17,54 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ker.demo.domin.AnswerKey;
+import com.ker.demo.domin.PooledQuestion;
 import com.ker.demo.domin.UserEvaluationSummary;
+import com.ker.demo.domin.VersionedExamDetails;
+import com.ker.demo.event.AssessmentGradedEvent;
+import com.ker.demo.event.AssessmentStatusChangedEvent;
+import com.ker.demo.entity.CandidateResultViewEntity;
 import com.ker.demo.entity.CategoryEntity;
 import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
 import com.ker.demo.entity.ManagerTemplateEntity;
-import com.ker.demo.entity.QuestionAnswerEntity;
 import com.ker.demo.entity.UserAssessmentTemplateMapEntity;
 import com.ker.demo.entity.UserEntity;
 import com.ker.demo.entity.UserEvaluationSummaryEntity;
 import com.ker.demo.entity.UserQuestionAnswerResultsEntity;
+import com.ker.demo.repository.CandidateResultViewRepository;
 import com.ker.demo.repository.CategoryRepository;
 import com.ker.demo.repository.ManagerTemplateCategoryMapRepository;
 import com.ker.demo.repository.ManagerTemplateRepository;
 import com.ker.demo.repository.QuestionAnswerRepository;
+import com.ker.demo.repository.QuestionAnswerRepository.QuestionRow;
 import com.ker.demo.repository.UserAssessmentTemplateMapRepository;
 import com.ker.demo.repository.UserEvaluationSummaryRepository;
 import com.ker.demo.repository.UserQuestionAnswerResultsRepository;
 import com.ker.demo.repository.UserRepo;
+import com.ker.demo.service.AnswerKeyService;
+import com.ker.demo.service.AssignedExamCacheService;
 import com.ker.demo.service.CandidateAssessmentService;
-import com.ker.demo.utils.ShuffleController;
+import com.ker.demo.service.ExamPaperService;
+import com.ker.demo.service.ExamResponseCacheService;
 
 import jakarta.transaction.Transactional;
  
 @Service
 public class CandidateAssessmentServiceImpl implements CandidateAssessmentService {
  
+    private static final int DEFAULT_TIME_LIMIT_MINUTES = 10;
+    private static final int MAX_RESULTS_PAGE_SIZE = 100;
+    private static final int COMPLETED = 3;
+    private static final int FAIL = 4;
+    private static final ObjectMapper RESULT_MAPPER = new ObjectMapper();
+
     @Autowired
     private UserRepo userRepo;
  
@@ -66,215 +88,290 @@ public class CandidateAssessmentServiceImpl implements CandidateAssessmentServic
     
     @Autowired
     private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExamPaperService examPaperService;
+
+    @Autowired
+    private ExamResponseCacheService examResponseCacheService;
+
+    @Autowired
+    private AnswerKeyService answerKeyService;
+
+    @Autowired
+    private CandidateResultViewRepository resultViewRepo;
+
+    @Autowired
+    private AssignedExamCacheService assignedExamCacheService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${exam.grading.pass-mark:60}")
+    private int passMark;
  
     @Override
     // ... (imports and class structure omitted for brevity)
-    public List<Map<String, Object>> getAllResults(Long userId, Long managerTemplateId) {
-        if (userRepo.findById(userId).isEmpty()) {
+    public List<Map<String, Object>> getAllResults(Long userId, Long managerTemplateId, Long after, Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_RESULTS_PAGE_SIZE)) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_RESULTS_PAGE_SIZE + ".");
+        }
+        if (!userRepo.existsById(userId)) {
             throw new NoSuchElementException("Candidate not found.");
         }
- 
-        List<ManagerTemplateCategoryMapEntity> templateCategories;
-        if (managerTemplateId != null) {
-            templateCategories = managerTemplateCategoryMapRepository.findByManagerTemplateId(managerTemplateId);
-        } else {
-            templateCategories = managerTemplateCategoryMapRepository.findAll();
+
+        // A fixed number of set-based queries, however many results the candidate has
+        long cursor = after == null ? 0L : after;
+        Limit pageLimit = limit == null ? Limit.unlimited() : Limit.of(limit);
+        List<UserEvaluationSummaryRepository.ResultRow> rows = managerTemplateId != null
+                ? evaluationRepo.findResultPageForTemplate(userId, managerTemplateId, cursor, pageLimit)
+                : evaluationRepo.findResultPage(userId, cursor, pageLimit);
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
         }
- 
-        return templateCategories.stream()
-            .flatMap(templateCategory -> {
-                List<UserEvaluationSummaryEntity> summaries = evaluationRepo.findAll().stream()
-                    .filter(s -> s.getUserId().equals(userId) &&
-                               s.getManagerTemplateCategoryId().equals(templateCategory.getManagerTemplateCategoryId()))
-                    .collect(Collectors.toList());
- 
-                return summaries.stream().map(s -> {
-                    Map<String, Object> result = new HashMap<>();
-                    result.put("score", s.getScore());
-                    result.put("userEvaluationId", s.getUserEvaluationId());
-                   
-                    // Get Manager Template info
-                    Optional<ManagerTemplateEntity> mtOpt = managerTemplateRepository.findById(templateCategory.getManagerTemplateId());
-                    Map<String, Object> managerTemplate = new HashMap<>();
-                    mtOpt.ifPresent(mt -> {
-                        managerTemplate.put("id", mt.getManagerTemplateId());
-                        managerTemplate.put("name", mt.getManagerTemplateName());
-                        managerTemplate.put("templateId", mt.getManagerTemplateId());
-                        managerTemplate.put("templateName", mt.getManagerTemplateName());
-                        managerTemplate.put("skillLevel", mt.getSkillLevel());
-                       
-                        // Get questions and answers
-                        List<Map<String, Object>> questions = new ArrayList<>();
-                       
-                        // Get all answers for this user and template category
-                        List<UserQuestionAnswerResultsEntity> answers =
-                            userAnswersRepo.findByUserIdAndManagerTemplateCategoryId(userId, s.getManagerTemplateCategoryId());
-
-                        List<Long> questionIds = answers.stream()
-                            .map(UserQuestionAnswerResultsEntity::getQuestionId)
-                            .filter(Objects::nonNull)
-                            .distinct()
-                            .collect(Collectors.toList());
-
-                        List<QuestionAnswerEntity> userQuestions = questionIds.isEmpty()
-                            ? Collections.emptyList()
-                            : questionAnswerRepository.findAllById(questionIds);
-
-                        // Create a map of questionId to answer for quick lookup
-                        Map<Long, UserQuestionAnswerResultsEntity> answersByQuestionId = new HashMap<>();
-                        for (UserQuestionAnswerResultsEntity answer : answers) {
-                            if (answer != null && answer.getQuestionId() != null) {
-                                answersByQuestionId.put(answer.getQuestionId(), answer);
-                            }
-                        }
-
-                        // Map questions with their answers (only user-linked ones)
-                        for (QuestionAnswerEntity question : userQuestions) {
-                            if (question == null) continue;
-                           
-                            Map<String, Object> q = new HashMap<>();
-                            q.put("questionId", question.getQuestionId());
-                            q.put("question", question.getQuestion());
-
-                            try {
-                                ObjectMapper mapper = new ObjectMapper();
-                                Map<String, Object> optionsMap = mapper.readValue(
-                                    question.getOptions(),
-                                    new TypeReference<Map<String, Object>>() {}
-                                );
-                                q.put("options", optionsMap);
-                            } catch (Exception e) {
-                                q.put("options", question.getOptions());
-                            }
-
-                            // Add correct answer
-                            String correctAnswer = question.getAnswer();
-                            q.put("answer", correctAnswer);
-
-                            // Get the user's answer for this question
-                            UserQuestionAnswerResultsEntity userAnswer = answersByQuestionId.get(question.getQuestionId());
-                           
-                            if (userAnswer != null) {
-                                String selectedOption = userAnswer.getSelectedOption();
-                                if (selectedOption != null && !selectedOption.trim().isEmpty()) {
-                                    q.put("selectedAnswer", selectedOption);
-                                   
-                                    // Try to convert numeric index to letter format
-                                    try {
-                                        int index = Integer.parseInt(selectedOption.trim());
-                                        if (index >= 0) {
-                                            q.put("selectedOptionLetter", String.valueOf((char)('A' + index)));
-                                        } else {
-                                            q.put("selectedOptionLetter", selectedOption);
-                                        }
-                                    } catch (NumberFormatException e) {
-                                        // If not a number, assume it's already a letter
-                                        q.put("selectedOptionLetter", selectedOption);
-                                    }
-                                } else {
-                                    // Initialize selected answer fields with null if empty answer
-                                    q.put("selectedOptionLetter", null);
-                                    q.put("selectedAnswer", null);
-                                }
-                            } else {
-                                // Initialize selected answer fields with null if no answer found
-                                q.put("selectedAnswer", null);
-                            }
-                            questions.add(q);
-                        }
-                        managerTemplate.put("questions", questions);
-                    });
-                   
-                    result.put("managerTemplate", managerTemplate);
-                    return result;
-                });
-            })
-            .collect(Collectors.toList());
+
+        // Graded results are served from the views written when they were graded
+        Map<Long, CandidateResultViewEntity> views = new HashMap<>();
+        resultViewRepo.findAllById(rows.stream().map(UserEvaluationSummaryRepository.ResultRow::getUserEvaluationId).toList())
+                .forEach(view -> views.put(view.getUserEvaluationId(), view));
+        List<ResultSource> missing = rows.stream()
+                .filter(row -> !views.containsKey(row.getUserEvaluationId()))
+                .map(row -> new ResultSource(row.getUserEvaluationId(), row.getScore(),
+                        row.getManagerTemplateCategoryId(), row.getManagerTemplateId()))
+                .toList();
+        if (!missing.isEmpty()) {
+            // Results graded before the read model existed are built once and stored
+            List<CandidateResultViewEntity> built = buildResultViews(userId, missing);
+            resultViewRepo.bulkInsert(built);
+            built.forEach(view -> views.put(view.getUserEvaluationId(), view));
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>(rows.size());
+        for (UserEvaluationSummaryRepository.ResultRow row : rows) {
+            results.add(new HashMap<>(views.get(row.getUserEvaluationId()).getResult()));
+        }
+        return results;
     }
 
+    private List<CandidateResultViewEntity> buildResultViews(Long userId, List<ResultSource> sources) {
+        Set<Long> templateIds = new HashSet<>();
+        Set<Long> sectionIds = new HashSet<>();
+        for (ResultSource source : sources) {
+            if (source.managerTemplateId() != null) {
+                templateIds.add(source.managerTemplateId());
+            }
+            sectionIds.add(source.managerTemplateCategoryId());
+        }
+        Map<Long, ManagerTemplateEntity> templates = managerTemplateRepository.findAllById(templateIds).stream()
+                .collect(Collectors.toMap(ManagerTemplateEntity::getManagerTemplateId, mt -> mt));
+
+        // The n-th evaluation of a section graded the section's n-th attempt
+        Map<Long, Integer> attemptByEvaluation = new HashMap<>();
+        Map<Long, Integer> attemptsBySection = new HashMap<>();
+        for (UserEvaluationSummaryRepository.SectionEvaluation evaluation : evaluationRepo
+                .findSectionEvaluations(userId, sectionIds)) {
+            attemptByEvaluation.put(evaluation.getUserEvaluationId(),
+                    attemptsBySection.merge(evaluation.getManagerTemplateCategoryId(), 1, Integer::sum));
+        }
 
+        Map<Long, Map<Integer, List<UserQuestionAnswerResultsEntity>>> answersBySection = new HashMap<>();
+        Set<Long> questionIds = new HashSet<>();
+        for (UserQuestionAnswerResultsEntity answer : userAnswersRepo
+                .findByUserIdAndManagerTemplateCategoryIdIn(userId, sectionIds)) {
+            answersBySection.computeIfAbsent(answer.getManagerTemplateCategoryId(), k -> new HashMap<>())
+                    .computeIfAbsent(answer.getAttempt(), k -> new ArrayList<>()).add(answer);
+            if (answer.getQuestionId() != null) {
+                questionIds.add(answer.getQuestionId());
+            }
+        }
+        Map<Long, QuestionRow> questionsById = findQuestions(questionIds);
+
+        List<CandidateResultViewEntity> views = new ArrayList<>(sources.size());
+        for (ResultSource source : sources) {
+            List<UserQuestionAnswerResultsEntity> answers = answersBySection
+                    .getOrDefault(source.managerTemplateCategoryId(), Map.of())
+                    .getOrDefault(attemptByEvaluation.get(source.userEvaluationId()), List.of());
+            views.add(toResultView(userId, source, templates.get(source.managerTemplateId()), answers,
+                    questionsById));
+        }
+        return views;
+    }
 
+    private Map<Long, QuestionRow> findQuestions(Collection<Long> questionIds) {
+        return questionIds.isEmpty()
+                ? Collections.emptyMap()
+                : questionAnswerRepository.findQuestionRows(questionIds).stream()
+                        .collect(Collectors.toMap(QuestionRow::getQuestionId, q -> q));
+    }
+
+    /*
+     * Builds both served documents of one graded section: the result history
+     * entry and the single-result detail.
+     */
+    private CandidateResultViewEntity toResultView(Long userId, ResultSource source, ManagerTemplateEntity mt,
+            List<UserQuestionAnswerResultsEntity> answers, Map<Long, QuestionRow> questionsById) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("score", source.score());
+        result.put("userEvaluationId", source.userEvaluationId());
+
+        Map<String, Object> managerTemplate = new HashMap<>();
+        if (mt != null) {
+            managerTemplate.put("id", mt.getManagerTemplateId());
+            managerTemplate.put("name", mt.getManagerTemplateName());
+            managerTemplate.put("templateId", mt.getManagerTemplateId());
+            managerTemplate.put("templateName", mt.getManagerTemplateName());
+            managerTemplate.put("skillLevel", mt.getSkillLevel());
+
+            // Latest answer per question, as the per-section lookup kept it
+            Map<Long, UserQuestionAnswerResultsEntity> latest = new LinkedHashMap<>();
+            for (UserQuestionAnswerResultsEntity answer : answers) {
+                if (answer.getQuestionId() != null) {
+                    latest.put(answer.getQuestionId(), answer);
+                }
+            }
+            List<Map<String, Object>> questions = new ArrayList<>();
+            for (UserQuestionAnswerResultsEntity answer : latest.values()) {
+                QuestionRow question = questionsById.get(answer.getQuestionId());
+                if (question != null) {
+                    questions.add(toResultQuestion(question, answer));
+                }
+            }
+            managerTemplate.put("questions", questions);
+        }
+        result.put("managerTemplate", managerTemplate);
+
+        Map<String, Object> detail = new HashMap<>();
+        detail.put("summary", new UserEvaluationSummary(source.userEvaluationId(), String.valueOf(userId),
+                source.managerTemplateCategoryId(), source.score()));
 
- 
-    @Override
-    public Map<String, Object> getResultById(Long userId, Long evaluationId) {
-        if (userRepo.findById(userId).isEmpty())
-            throw new NoSuchElementException("Candidate not found.");
- 
-        Optional<UserEvaluationSummaryEntity> opt = evaluationRepo.findById(evaluationId);
-        if (opt.isEmpty() || !opt.get().getUserId().equals(userId))
-            throw new NoSuchElementException("Result not found.");
- 
-        UserEvaluationSummaryEntity summary = opt.get();
-        List<UserQuestionAnswerResultsEntity> answers = userAnswersRepo.findByUserIdAndManagerTemplateCategoryId(userId,
-                summary.getManagerTemplateCategoryId());
- 
-        Map<String, Object> resp = new HashMap<>();
-        resp.put("summary", new UserEvaluationSummary(summary.getUserEvaluationId(),
-                String.valueOf(summary.getUserId()), summary.getManagerTemplateCategoryId(), summary.getScore()));
- 
         // Build questions array with questionId, question, options, correct answer, and selected answer
-        List<Map<String, Object>> questions = answers.stream().map(a -> {
+        List<Map<String, Object>> detailQuestions = answers.stream().map(a -> {
             Map<String, Object> m = new HashMap<>();
             m.put("questionId", a.getQuestionId());
-            QuestionAnswerEntity question = questionAnswerRepository.findById(a.getQuestionId()).orElse(null);
+            QuestionRow question = questionsById.get(a.getQuestionId());
             if (question != null) {
                 m.put("question", question.getQuestion());
                 m.put("options", question.getOptions());
                 m.put("correctAnswer", question.getAnswer());
-                m.put("selectedAnswer", a.getSelectedOption());
-            } else {
-                m.put("selectedAnswer", a.getSelectedOption());
             }
+            m.put("selectedAnswer", a.getSelectedOption());
             return m;
         }).collect(Collectors.toList());
- 
-        resp.put("questions", questions);
-        return resp;
+        detail.put("questions", detailQuestions);
+
+        return new CandidateResultViewEntity(source.userEvaluationId(), userId, source.managerTemplateId(),
+                source.managerTemplateCategoryId(), result, detail, new Timestamp(System.currentTimeMillis()));
     }
- 
-    @Override
-    public List<Map<String, Object>> getAssignedExams(Long userId) {
-        Optional<UserEntity> user = userRepo.findById(userId);
-        if (user.isEmpty())
-            throw new NoSuchElementException("Candidate not found.");
- 
-        List<UserAssessmentTemplateMapEntity> assignments = userAssessmentRepo.findByUserId(userId);
-        List<Map<String, Object>> result = new ArrayList<>();
- 
-        for (UserAssessmentTemplateMapEntity a : assignments) {
-            Optional<ManagerTemplateCategoryMapEntity> mapOpt = managerTemplateCategoryMapRepository
-                    .findById(a.getManagerTemplateCategoryMap().getCategoryId());
-            if (mapOpt.isEmpty())
-                continue;
-            ManagerTemplateCategoryMapEntity map = mapOpt.get();
- 
-            Optional<ManagerTemplateEntity> mtOpt = managerTemplateRepository.findById(map.getManagerTemplateId());
-            String templateName = mtOpt.map(ManagerTemplateEntity::getManagerTemplateName).orElse("");
- 
-            String categoryName = "";
-            if (map.getCategoryId() != null) {
-                Optional<CategoryEntity> categoryOpt = categoryRepository.findById(map.getCategoryId());
-                if (categoryOpt.isPresent()) {
-                    categoryName = categoryOpt.get().getCategoryName();
+
+    private Map<String, Object> toResultQuestion(QuestionRow question, UserQuestionAnswerResultsEntity userAnswer) {
+        Map<String, Object> q = new HashMap<>();
+        q.put("questionId", question.getQuestionId());
+        q.put("question", question.getQuestion());
+
+        try {
+            Map<String, Object> optionsMap = RESULT_MAPPER.readValue(
+                question.getOptions(),
+                new TypeReference<Map<String, Object>>() {}
+            );
+            q.put("options", optionsMap);
+        } catch (Exception e) {
+            q.put("options", question.getOptions());
+        }
+
+        // Add correct answer
+        q.put("answer", question.getAnswer());
+
+        String selectedOption = userAnswer.getSelectedOption();
+        if (selectedOption != null && !selectedOption.trim().isEmpty()) {
+            q.put("selectedAnswer", selectedOption);
+
+            // Try to convert numeric index to letter format
+            try {
+                int index = Integer.parseInt(selectedOption.trim());
+                if (index >= 0) {
+                    q.put("selectedOptionLetter", String.valueOf((char)('A' + index)));
+                } else {
+                    q.put("selectedOptionLetter", selectedOption);
                 }
+            } catch (NumberFormatException e) {
+                // If not a number, assume it's already a letter
+                q.put("selectedOptionLetter", selectedOption);
             }
+        } else {
+            // Initialize selected answer fields with null if empty answer
+            q.put("selectedOptionLetter", null);
+            q.put("selectedAnswer", null);
+        }
+        return q;
+    }
+
+    @Override
+    public Map<String, Object> getResultById(Long userId, Long evaluationId) {
+        if (!userRepo.existsById(userId))
+            throw new NoSuchElementException("Candidate not found.");
+
+        // Single primary-key read of the view written at grading time
+        Optional<CandidateResultViewEntity> view = resultViewRepo.findById(evaluationId);
+        if (view.isPresent()) {
+            if (!view.get().getUserId().equals(userId))
+                throw new NoSuchElementException("Result not found.");
+            return new HashMap<>(view.get().getDetail());
+        }
+
+        Optional<UserEvaluationSummaryEntity> opt = evaluationRepo.findById(evaluationId);
+        if (opt.isEmpty() || !opt.get().getUserId().equals(userId))
+            throw new NoSuchElementException("Result not found.");
+
+        UserEvaluationSummaryEntity summary = opt.get();
+        Long managerTemplateId = summary.getManagerTemplateId() != null
+                ? summary.getManagerTemplateId()
+                : managerTemplateCategoryMapRepository.findById(summary.getManagerTemplateCategoryId())
+                        .map(ManagerTemplateCategoryMapEntity::getManagerTemplateId)
+                        .orElse(null);
+        CandidateResultViewEntity built = buildResultViews(userId, List.of(new ResultSource(
+                summary.getUserEvaluationId(), summary.getScore(), summary.getManagerTemplateCategoryId(),
+                managerTemplateId))).get(0);
+        resultViewRepo.bulkInsert(List.of(built));
+        return new HashMap<>(built.getDetail());
+    }
  
+    @Override
+    public List<Map<String, Object>> getAssignedExams(Long userId) {
+        // Logins are served from the per-candidate cache; a miss costs two queries
+        List<UserAssessmentTemplateMapRepository.AssignedExamRow> rows = assignedExamCacheService.getOrLoad(userId,
+                () -> {
+                    if (!userRepo.existsById(userId))
+                        throw new NoSuchElementException("Candidate not found.");
+                    return userAssessmentRepo.findAssignedExams(userId);
+                });
+
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (UserAssessmentTemplateMapRepository.AssignedExamRow row : rows) {
             Map<String, Object> entry = new HashMap<>();
-            entry.put("id", map.getManagerTemplateCategoryId());
-            entry.put("name", templateName);
-            entry.put("category", categoryName);
-            entry.put("weightage", map.getWeighage());
-            entry.put("skillLevel", mtOpt.map(ManagerTemplateEntity::getSkillLevel).orElse(""));
-            entry.put("scheduleDate", a.getAssignedDate());
+            entry.put("id", row.getManagerTemplateCategoryId());
+            entry.put("name", Objects.requireNonNullElse(row.getTemplateName(), ""));
+            entry.put("category", Objects.requireNonNullElse(row.getCategoryName(), ""));
+            entry.put("weightage", row.getWeighage());
+            entry.put("skillLevel", Objects.requireNonNullElse(row.getSkillLevel(), ""));
+            entry.put("scheduleDate", row.getAssignedDate());
             result.add(entry);
         }
- 
         return result;
     }
  
     @Override
     public Map<String, Object> getExamDetails(Long userId, Long managerTemplateId) {
+        return getVersionedExamDetails(userId, managerTemplateId).getBody();
+    }
+
+    @Override
+    public VersionedExamDetails getVersionedExamDetails(Long userId, Long managerTemplateId) {
+        // Repeat fetches of the same exam are served from the response cache
+        return examResponseCacheService.getOrLoad(userId, managerTemplateId,
+                () -> buildExamDetails(userId, managerTemplateId));
+    }
+
+    private VersionedExamDetails buildExamDetails(Long userId, Long managerTemplateId) {
         if (userRepo.findById(userId).isEmpty())
             throw new NoSuchElementException("Candidate not found.");
 
@@ -289,72 +386,36 @@ public class CandidateAssessmentServiceImpl implements CandidateAssessmentServic
         Map<String, Object> response = new HashMap<>();
         response.put("name", mt.getManagerTemplateName());
         response.put("skillLevel", mt.getSkillLevel());
-        // time_limit not present in schema; defaulting to 10 as per example
-        response.put("time_limit", 10);
         // FIX: Include managerTemplateId in the response
         response.put("managerTemplateId", managerTemplateId); 
 
-        // scheduleDate: if there is an assignment record for this user and any category of this template, use its assignedDate
-        String scheduleDate = null;
-        try {
-            List<UserAssessmentTemplateMapEntity> assignments = userAssessmentRepo.findByUserId(userId);
-            for (UserAssessmentTemplateMapEntity a : assignments) {
-                // match against categories of this manager template
-                boolean matches = categories.stream()
-                        .anyMatch(c -> c.getManagerTemplateCategoryId().equals(a.getManagerTemplateCategoryMap().getCategoryId()));
-                if (matches && a.getAssignedDate() != null) {
-                    // Assuming getAssignedDate() returns a Timestamp or Date compatible with toLocalDateTime()
-                    scheduleDate = a.getAssignedDate().toLocalDateTime().toLocalDate().toString();
-                    break;
-                }
-            }
-        } catch (Exception ignore) {
-            // Log this exception instead of ignoring in production code
-        }
-        if (scheduleDate != null) {
-            response.put("scheduleDate", scheduleDate);
+        UserAssessmentTemplateMapEntity assignment = findAssignment(userId, managerTemplateId);
+        // time_limit comes from the candidate's assignment; older rows without one keep the default of 10
+        response.put("time_limit", assignment != null && assignment.getTimeLimit() != null
+                ? assignment.getTimeLimit() : DEFAULT_TIME_LIMIT_MINUTES);
+        if (assignment != null && assignment.getAssignedDate() != null) {
+            response.put("scheduleDate", assignment.getAssignedDate().toLocalDateTime().toLocalDate().toString());
         }
 
+        // Frozen paper from question_assignment, or regenerated from the assignment seed
+        Map<Long, List<PooledQuestion>> paper = examPaperService.getPaper(assignment, userId, managerTemplateId,
+                mt.getQuestionCount(), categories);
+
         Map<String, Object> categoryMap = new HashMap<>();
         for (ManagerTemplateCategoryMapEntity map : categories) {
             String catName = categoryRepository.findById(map.getCategoryId())
                     .map(CategoryEntity::getCategoryName)
                     .orElse("category-");
 
-            List<QuestionAnswerEntity> questions = questionAnswerRepository.findByCategoryId(map.getCategoryId());
-
-			// Convert to ShuffleController.Question
-			List<ShuffleController.Question> questionList = questions.stream().map(q -> {
-				ShuffleController.Question sq = new ShuffleController.Question();
-				sq.id = q.getQuestionId();
-				sq.question = q.getQuestion();
-				return sq;
-			}).collect(Collectors.toList());
-
-			// Shuffle and batch
-			ShuffleController<ShuffleController.Question> sampler = new ShuffleController<>(questionList, 5);
-			List<ShuffleController.Question> batch = sampler.getNextBatch();
+			List<PooledQuestion> batch = paper.getOrDefault(map.getManagerTemplateCategoryId(), List.of());
 
 			// Convert batch to response format
 			List<Map<String, Object>> qList = batch.stream().map(q -> {
 				Map<String, Object> qm = new HashMap<>();
-				qm.put("id", q.id);
-				qm.put("question", q.question);
-
-				// Find matching QuestionAnswerEntity to get options and answer
-				QuestionAnswerEntity original = questions.stream().filter(qa -> Objects.equals(qa.getQuestionId(), q.id)).findFirst()
-						.orElse(null);
-
-				if (original != null) {
-					ObjectMapper mapper = new ObjectMapper();
-					try {
-						Map<String, String> optionMap = mapper.readValue(original.getOptions(), Map.class);
-						qm.put("options", new ArrayList<>(optionMap.values()));
-					} catch (Exception e) {
-						qm.put("options", Collections.emptyList());
-					}
-					qm.put("answer", original.getAnswer());
-				}
+				qm.put("id", q.getQuestionId());
+				qm.put("question", q.getQuestion());
+				qm.put("options", q.getOptions());
+				qm.put("answer", q.getAnswer());
 				return qm;
 			}).collect(Collectors.toList());
 
@@ -370,7 +431,29 @@ public class CandidateAssessmentServiceImpl implements CandidateAssessmentServic
         }
 
         response.put("category", categoryMap);
-        return response;
+
+        // Version token: the assignment plus the paper it was drawn from
+        long seed = examPaperService.resolveSeed(assignment, userId, managerTemplateId);
+        long version = 31 * (assignment != null ? assignment.getUserAssessmentTemplateId() : 0)
+                + examPaperService.getPaperVersion(seed, mt.getQuestionCount(), categories);
+        Set<Long> categoryIds = categories.stream()
+                .map(ManagerTemplateCategoryMapEntity::getCategoryId)
+                .collect(Collectors.toSet());
+        return new VersionedExamDetails(Long.toHexString(version), Collections.unmodifiableMap(response), categoryIds);
+    }
+
+    private static boolean isCorrect(AnswerKey answerKey, PooledQuestion question, String selected) {
+        int expected = answerKey.correctOptionIndex(question.getQuestionId());
+        if (expected == AnswerKey.UNRESOLVED) {
+            return selected.equals(question.getAnswer());
+        }
+        return AnswerKey.selectedOptionIndex(selected, question.getOptions()) == expected;
+    }
+
+    private UserAssessmentTemplateMapEntity findAssignment(Long userId, Long managerTemplateId) {
+        return userAssessmentRepo.findByUserIdAndManagerTemplateId(userId, managerTemplateId).stream()
+                .findFirst()
+                .orElse(null);
     }
 
  
@@ -391,84 +474,45 @@ public class CandidateAssessmentServiceImpl implements CandidateAssessmentServic
         if (maps.isEmpty())
             throw new NoSuchElementException("Exam not found.");
  
-        // Group questions by category for individual scoring
-        Map<Long, List<QuestionAnswerEntity>> questionsByCategory = new HashMap<>();
-        Map<Long, QuestionAnswerEntity> questionById = new HashMap<>();
-        Map<Long, Long> categoryTemplateMap = new HashMap<>();
-        Set<Long> allCategoryIds = new HashSet<>();
-       
-        for (ManagerTemplateCategoryMapEntity m : maps) {
-            try {
-            	allCategoryIds.add(m.getCategoryId());
-            	categoryTemplateMap.put(m.getCategoryId(), m.getManagerTemplateCategoryId());
-            	List<QuestionAnswerEntity> qs = questionAnswerRepository.findByCategoryId(m.getCategoryId());
-                questionsByCategory.put(m.getCategoryId(), qs);
-                for (QuestionAnswerEntity q : qs) {
-                    questionById.put(q.getQuestionId(), q);
-                }
-            } catch (Exception e) {
-                System.err.println("Error loading questions for category " + m.getCategoryId() + ": " + e.getMessage());
-                // Continue with other categories even if one fails
-                questionsByCategory.put(m.getCategoryId(), new ArrayList<>());
-            }
-        }
- 
- 
-        // New logic: For all assigned subjects, include all questions in analysis, even if not answered
+        // Grade only the questions of the candidate's own paper
+        UserAssessmentTemplateMapEntity examAssignment = findAssignment(userId, managerTemplateId);
+        ManagerTemplateEntity template = managerTemplateRepository.findById(managerTemplateId).orElse(null);
+        Integer questionCount = template == null ? null : template.getQuestionCount();
+        Map<Long, List<PooledQuestion>> paper = examPaperService.getPaper(examAssignment, userId, managerTemplateId,
+                questionCount, maps);
+
+        AnswerKey answerKey = answerKeyService.getAnswerKey(managerTemplateId);
+
         int total = 0;
         int correct = 0;
         int unanswered = 0;
         List<Map<String, Object>> questionAnalysis = new ArrayList<>();
         Map<Long, Integer> correctByCategory = new HashMap<>();
         Map<Long, Integer> totalByCategory = new HashMap<>();
- 
-//        // Get all assigned category maps for the user (avoid duplicate variable names)
-//        List<UserAssessmentTemplateMapEntity> allAssignmentsForQuestions = userAssessmentRepo.findByUserId(userId);
-//        List<Long> allCategoryMapIdsForQuestions = new ArrayList<>();
-//        for (UserAssessmentTemplateMapEntity assignment : allAssignmentsForQuestions) {
-//            allCategoryMapIdsForQuestions.add(assignment.getManagerTemplateCategoryMap().getCategoryId());
-//        }
-//        List<ManagerTemplateCategoryMapEntity> allCategoryMapsForQuestions = new ArrayList<>();
-//        for (Long mapId : allCategoryMapIdsForQuestions) {
-//            managerTemplateCategoryMapRepository.findById(mapId).ifPresent(allCategoryMapsForQuestions::add);
-//        }
-//        Set<Long> allCategoryIds = new HashSet<>();
-//        for (ManagerTemplateCategoryMapEntity m : allCategoryMapsForQuestions) {
-//            allCategoryIds.add(m.getCategoryId());
-//        }
-        
-        Integer incorrect = 0;
-    	Double totalScore = 0.0;
- 
-        // For each assigned subject (category), get all questions
-        for (Long categoryId : allCategoryIds) {
-        	List<QuestionAnswerEntity> questions = questionAnswerRepository.findByCategoryId(categoryId);
-        	Long manageTemplateCategoryId = categoryTemplateMap.get(categoryId);
-        	
-        	incorrect = 0;
-        	totalScore = 0.0;
-        	
-        	for (QuestionAnswerEntity q : questions) {
-                total++;
-                String selected = null;
-                String status = "unanswered";
-                String correctAnswer = null;
-                try {
-                	correctAnswer = q.getAnswer();
-                } catch (Exception ignore) {}
- 
-                // Check if this question was answered in the request
-                if (request.answers == null || !request.answers.containsKey(String.valueOf(q.getQuestionId()))) {
-                    continue;
-                }
+        double examWeightedScore = 0;
+        double examWeightage = 0;
+        List<UserQuestionAnswerResultsEntity> answerRows = new ArrayList<>(request.answers.size());
+        List<UserEvaluationSummaryEntity> summaries = new ArrayList<>(maps.size());
+        List<ResultSource> gradedSections = new ArrayList<>(maps.size());
+
+        for (ManagerTemplateCategoryMapEntity m : maps) {
+            Long categoryId = m.getCategoryId();
+            Long manageTemplateCategoryId = m.getManagerTemplateCategoryId();
+            List<PooledQuestion> questions = paper.getOrDefault(manageTemplateCategoryId, List.of());
+            int categoryCorrect = 0;
+
+            for (PooledQuestion q : questions) {
                 total++;
-                selected = request.answers.get(String.valueOf(q.getQuestionId()));
+                String correctAnswer = q.getAnswer();
+                String selected = request.answers.get(String.valueOf(q.getQuestionId()));
+                String status;
 
                 if (selected == null || selected.isEmpty()) {
                     unanswered++;
                     status = "unanswered";
-                } else if (selected.equals(correctAnswer)) {
+                } else if (isCorrect(answerKey, q, selected)) {
                     correct++;
+                    categoryCorrect++;
                     status = "correct";
                     correctByCategory.put(categoryId, correctByCategory.getOrDefault(categoryId, 0) + 1);
                 } else {
@@ -483,7 +527,7 @@ public class CandidateAssessmentServiceImpl implements CandidateAssessmentServic
                     ur.setManagerTemplateCategoryId(manageTemplateCategoryId);
                     ur.setQuestionId(q.getQuestionId());
                     ur.setSelectedOption(selected);
-                    userAnswersRepo.save(ur);
+                    answerRows.add(ur);
                 }
  
                 Map<String, Object> qa = new HashMap<>();
@@ -495,17 +539,36 @@ public class CandidateAssessmentServiceImpl implements CandidateAssessmentServic
                 qa.put("status", status);
                 questionAnalysis.add(qa);
             }
-            
-            incorrect = total - correct - unanswered;
-            totalScore = total == 0 ? 0.0 : (100.0 * correct) / total;
+
+            double categoryScore = questions.isEmpty() ? 0.0 : (100.0 * categoryCorrect) / questions.size();
+            int sectionWeightage = m.getWeighage() != null ? m.getWeighage() : 1;
+            examWeightedScore += categoryScore * sectionWeightage;
+            examWeightage += sectionWeightage;
 
             UserEvaluationSummaryEntity summary = new UserEvaluationSummaryEntity();
             summary.setUserId(userId);
             summary.setManagerTemplateId(managerTemplateId);
             summary.setManagerTemplateCategoryId(manageTemplateCategoryId);
-            summary.setScore(Math.round(totalScore));
+            summary.setScore(Math.round(categoryScore));
+            summaries.add(summary);
+        }
+        // All answers of the submission in one statement, replacing the autosaved ones of this attempt;
+        // written before the summaries, which close the attempt
+        userAnswersRepo.bulkUpsert(answerRows);
+        for (UserEvaluationSummaryEntity summary : summaries) {
             evaluationRepo.save(summary);
+            gradedSections.add(new ResultSource(summary.getUserEvaluationId(), summary.getScore(),
+                    summary.getManagerTemplateCategoryId(), managerTemplateId));
+        }
+        writeResultViews(userId, template, gradedSections, answerRows);
+        Map<Long, Long> sectionScores = new LinkedHashMap<>();
+        for (ResultSource section : gradedSections) {
+            sectionScores.put(section.managerTemplateCategoryId(), section.score());
         }
+        settleAssignment(userId, managerTemplateId, examAssignment,
+                examWeightage == 0 ? 0 : examWeightedScore / examWeightage);
+        eventPublisher.publishEvent(new AssessmentGradedEvent(userId, managerTemplateId, sectionScores));
+        int incorrect = total - correct - unanswered;
  
         Map<String, Object> analysis = new HashMap<>();
         analysis.put("totalQuestions", total);
@@ -575,5 +638,50 @@ public class CandidateAssessmentServiceImpl implements CandidateAssessmentServic
         resp.put("analysis", analysis);
         return resp;
     }
+
+    /*
+     * Grading decides Completed or Fail for the exam's assignment from the
+     * weighted score of all its sections, whatever status the time-based
+     * transitions left it in.
+     */
+    private void settleAssignment(Long userId, Long managerTemplateId, UserAssessmentTemplateMapEntity assignment,
+            double examScore) {
+        if (assignment == null) {
+            return;
+        }
+        Integer from = assignment.getStatus();
+        int to = examScore >= passMark ? COMPLETED : FAIL;
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        assignment.setStatus(to);
+        userAssessmentRepo.save(assignment);
+        eventPublisher.publishEvent(new AssessmentStatusChangedEvent(managerTemplateId, List.of(userId), from, to));
+    }
+
+    /*
+     * Results never change after grading, so both result documents are
+     * written in the grading transaction and later served by primary key.
+     */
+    private void writeResultViews(Long userId, ManagerTemplateEntity template, List<ResultSource> gradedSections,
+            List<UserQuestionAnswerResultsEntity> answerRows) {
+        Map<Long, List<UserQuestionAnswerResultsEntity>> answersBySection = new HashMap<>();
+        Set<Long> questionIds = new HashSet<>();
+        for (UserQuestionAnswerResultsEntity answer : answerRows) {
+            answersBySection.computeIfAbsent(answer.getManagerTemplateCategoryId(), k -> new ArrayList<>()).add(answer);
+            questionIds.add(answer.getQuestionId());
+        }
+        Map<Long, QuestionRow> questionsById = findQuestions(questionIds);
+
+        List<CandidateResultViewEntity> views = new ArrayList<>(gradedSections.size());
+        for (ResultSource section : gradedSections) {
+            views.add(toResultView(userId, section, template,
+                    answersBySection.getOrDefault(section.managerTemplateCategoryId(), List.of()), questionsById));
+        }
+        resultViewRepo.bulkInsert(views);
+    }
+
+    private record ResultSource(Long userEvaluationId, Long score, Long managerTemplateCategoryId,
+            Long managerTemplateId) {
+    }
 }
- 
\ No newline at end of file
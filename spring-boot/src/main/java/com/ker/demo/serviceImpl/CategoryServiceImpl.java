@@ -1,26 +1,46 @@
 package com.ker.demo.serviceImpl;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import com.ker.demo.domin.Category;
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.domin.ReviewStatus;
 import com.ker.demo.entity.CategoryEntity;
 import com.ker.demo.exception.ResourceNotFoundException;
 import com.ker.demo.repository.CategoryRepository;
+import com.ker.demo.service.AssignedExamCacheService;
 import com.ker.demo.service.CategoryService;
+import com.ker.demo.service.ExamResponseCacheService;
+import com.ker.demo.utils.Keyset;
+
+import jakarta.persistence.criteria.Predicate;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
 
+	private static final Map<String, Keyset<CategoryEntity>> SORTS = Map.of(
+			"id", Keyset.byId("categoryId", CategoryEntity::getCategoryId, false),
+			"name", Keyset.by("categoryName", CategoryEntity::getCategoryName, "categoryId",
+					CategoryEntity::getCategoryId, false));
+
 	@Autowired
 	private CategoryRepository categoryRepository;
 
+	@Autowired
+	private ExamResponseCacheService examResponseCacheService;
+
+	@Autowired
+	private AssignedExamCacheService assignedExamCacheService;
+
 	@Override
 	public Category createCategory(Category category) {
 		if (category.getCategoryName() == null || category.getCategoryName().trim().isEmpty()) {
@@ -58,6 +78,28 @@ public class CategoryServiceImpl implements CategoryService {
 		return categoryRepository.findAll().stream().map(this::mapToDomain).collect(Collectors.toList());
 	}
 
+	@Override
+	public KeysetPage<Category> getCategories(String name, String skillLevel, String applicationArea, Integer status,
+			String sort, String after, Integer limit) {
+		Specification<CategoryEntity> filter = (root, query, cb) -> {
+			List<Predicate> predicates = new ArrayList<>();
+			if (name != null) {
+				predicates.add(Keyset.startsWith(cb, cb.lower(root.get("categoryName")), name.toLowerCase()));
+			}
+			if (skillLevel != null) {
+				predicates.add(cb.equal(root.get("skillLevel"), skillLevel));
+			}
+			if (applicationArea != null) {
+				predicates.add(cb.equal(root.get("applicationArea"), applicationArea));
+			}
+			if (status != null) {
+				predicates.add(cb.equal(root.get("status"), status));
+			}
+			return cb.and(predicates.toArray(Predicate[]::new));
+		};
+		return Keyset.forSort(sort, "id", SORTS).page(categoryRepository, filter, after, limit).map(this::mapToDomain);
+	}
+
 	@Override
 	public Category updateCategory(Long id, Category category) {
 		CategoryEntity existing = categoryRepository.findById(id)
@@ -73,6 +115,8 @@ public class CategoryServiceImpl implements CategoryService {
 		existing.setModifiedDate(new Timestamp(System.currentTimeMillis()));
 
 		CategoryEntity updated = categoryRepository.save(existing);
+		examResponseCacheService.evictCategories(List.of(id));
+		assignedExamCacheService.evictCategories(List.of(id));
 		return mapToDomain(updated);
 	}
 
@@ -82,6 +126,8 @@ public class CategoryServiceImpl implements CategoryService {
 			throw new ResourceNotFoundException("CategoryId does not exist");
 		}
 		categoryRepository.deleteById(id);
+		examResponseCacheService.evictCategories(List.of(id));
+		assignedExamCacheService.evictCategories(List.of(id));
 	}
 
 	private Category mapToDomain(CategoryEntity entity) {
@@ -0,0 +1,257 @@
+package com.ker.demo.serviceImpl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ker.demo.event.AssessmentGradedEvent;
+import com.ker.demo.event.AssessmentScheduledEvent;
+import com.ker.demo.event.AssessmentStatusChangedEvent;
+import com.ker.demo.service.DashboardStreamService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Fans committed assignment, status and score changes out to the managers of
+ * the affected candidates. Each subscriber has a bounded buffer drained by its
+ * own virtual thread, so a slow client never holds up the committing thread
+ * or other subscribers. When a buffer overflows the oldest update is dropped
+ * and the client is sent a resync event telling it to reload the dashboard.
+ */
+@Service
+public class DashboardStreamServiceImpl implements DashboardStreamService {
+
+	private static final String HEARTBEAT = "heartbeat";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${spring.jpa.properties.hibernate.default_schema}")
+	private String schema;
+
+	@Value("${exam.dashboard-stream.buffer-size:100}")
+	private int bufferSize;
+
+	@Value("${exam.dashboard-stream.max-subscribers:1000}")
+	private int maxSubscribers;
+
+	@Value("${exam.dashboard-stream.timeout-ms:1800000}")
+	private long timeoutMs;
+
+	private ExecutorService senders;
+
+	private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+	private final LongAdder published = new LongAdder();
+	private final LongAdder sent = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+
+	@PostConstruct
+	void start() {
+		senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-stream-", 0).factory());
+	}
+
+	@PreDestroy
+	void stop() {
+		senders.shutdownNow();
+		subscribers.values().forEach(managerSubscribers -> managerSubscribers.forEach(s -> s.emitter.complete()));
+	}
+
+	@Override
+	public SseEmitter subscribe(String managerIdStr) {
+		Long managerId = Long.valueOf(managerIdStr);
+		if (subscriberCount.incrementAndGet() > maxSubscribers) {
+			subscriberCount.decrementAndGet();
+			throw new IllegalStateException("Too many dashboard subscribers, try again later.");
+		}
+		Subscriber subscriber = new Subscriber(managerId, new SseEmitter(timeoutMs),
+				new ArrayBlockingQueue<>(bufferSize));
+		// Registered before any callback can fire, and inside compute so a concurrent
+		// remove cannot drop the manager's set between lookup and add
+		subscribers.compute(managerId, (id, managerSubscribers) -> {
+			Set<Subscriber> registered = managerSubscribers != null ? managerSubscribers
+					: ConcurrentHashMap.newKeySet();
+			registered.add(subscriber);
+			return registered;
+		});
+		subscriber.emitter.onCompletion(() -> remove(subscriber));
+		subscriber.emitter.onTimeout(() -> remove(subscriber));
+		subscriber.emitter.onError(e -> remove(subscriber));
+		senders.execute(() -> send(subscriber));
+		return subscriber.emitter;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onScheduled(AssessmentScheduledEvent event) {
+		fanOut(event.getUserIds(), userIds -> {
+			Map<String, Object> update = new LinkedHashMap<>();
+			update.put("managerTemplateId", event.getManagerTemplateId());
+			update.put("userIds", userIds);
+			return new Update("scheduled", update);
+		});
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onStatusChanged(AssessmentStatusChangedEvent event) {
+		fanOut(event.getUserIds(), userIds -> {
+			Map<String, Object> update = new LinkedHashMap<>();
+			update.put("managerTemplateId", event.getManagerTemplateId());
+			update.put("userIds", userIds);
+			update.put("fromStatus", event.getFromStatus());
+			update.put("toStatus", event.getToStatus());
+			return new Update("status", update);
+		});
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onGraded(AssessmentGradedEvent event) {
+		fanOut(List.of(event.getUserId()), userIds -> {
+			Map<String, Object> update = new LinkedHashMap<>();
+			update.put("userId", event.getUserId());
+			update.put("managerTemplateId", event.getManagerTemplateId());
+			update.put("sectionScores", event.getSectionScores());
+			return new Update("score", update);
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${exam.dashboard-stream.heartbeat-ms:15000}")
+	void heartbeat() {
+		// Keeps proxies from closing idle streams and detects gone clients
+		Update heartbeat = new Update(HEARTBEAT, null);
+		subscribers.values().forEach(managerSubscribers -> managerSubscribers.forEach(s -> s.buffer.offer(heartbeat)));
+	}
+
+	@Override
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("managers", subscribers.size());
+		stats.put("subscribers", subscriberCount.get());
+		stats.put("maxSubscribers", maxSubscribers);
+		stats.put("bufferSize", bufferSize);
+		stats.put("published", published.sum());
+		stats.put("sent", sent.sum());
+		stats.put("dropped", dropped.sum());
+		return stats;
+	}
+
+	/*
+	 * Groups the candidates by direct manager with one query, skipped entirely
+	 * while nobody is subscribed, and queues one update per subscribed manager.
+	 */
+	private void fanOut(List<Long> userIds, Function<List<Long>, Update> toUpdate) {
+		if (userIds == null || userIds.isEmpty() || subscribers.isEmpty()) {
+			return;
+		}
+		try {
+			Map<Long, List<Long>> usersByManager = new HashMap<>();
+			jdbcTemplate.query("SELECT DISTINCT manager_id, user_id FROM " + schema + ".user_manager_map "
+					+ "WHERE user_id = ANY(?) AND manager_id = ANY(?)",
+					rs -> {
+						usersByManager.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+					}, userIds.toArray(Long[]::new), subscribers.keySet().toArray(Long[]::new));
+			usersByManager.forEach((managerId, managerUserIds) -> {
+				Set<Subscriber> managerSubscribers = subscribers.get(managerId);
+				if (managerSubscribers == null) {
+					return;
+				}
+				Update update = toUpdate.apply(List.copyOf(managerUserIds));
+				published.increment();
+				managerSubscribers.forEach(subscriber -> subscriber.offer(update));
+			});
+		} catch (RuntimeException e) {
+			System.err.println("Could not publish dashboard updates: " + e.getMessage());
+		}
+	}
+
+	private void send(Subscriber subscriber) {
+		try {
+			subscriber.emitter.send(SseEmitter.event().comment("connected"));
+			while (!subscriber.removed.get()) {
+				Update update = subscriber.buffer.poll(1, TimeUnit.SECONDS);
+				if (update == null) {
+					continue;
+				}
+				if (subscriber.overflowed.getAndSet(false)) {
+					subscriber.emitter.send(SseEmitter.event().name("resync").data(Map.of("managerId",
+							subscriber.managerId), MediaType.APPLICATION_JSON));
+				}
+				if (HEARTBEAT.equals(update.type())) {
+					subscriber.emitter.send(SseEmitter.event().comment(HEARTBEAT));
+				} else {
+					subscriber.emitter.send(SseEmitter.event().name(update.type()).data(update.payload(),
+							MediaType.APPLICATION_JSON));
+					sent.increment();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException | IllegalStateException e) {
+			// The client went away; the emitter callbacks may not fire for a broken connection
+			subscriber.emitter.completeWithError(e);
+			remove(subscriber);
+		}
+	}
+
+	private void remove(Subscriber subscriber) {
+		if (!subscriber.removed.compareAndSet(false, true)) {
+			return;
+		}
+		subscriberCount.decrementAndGet();
+		subscribers.computeIfPresent(subscriber.managerId, (id, managerSubscribers) -> {
+			managerSubscribers.remove(subscriber);
+			return managerSubscribers.isEmpty() ? null : managerSubscribers;
+		});
+	}
+
+	private record Update(String type, Map<String, Object> payload) {
+	}
+
+	private final class Subscriber {
+
+		private final Long managerId;
+		private final SseEmitter emitter;
+		private final BlockingQueue<Update> buffer;
+		private final AtomicBoolean overflowed = new AtomicBoolean();
+		private final AtomicBoolean removed = new AtomicBoolean();
+
+		private Subscriber(Long managerId, SseEmitter emitter, BlockingQueue<Update> buffer) {
+			this.managerId = managerId;
+			this.emitter = emitter;
+			this.buffer = buffer;
+		}
+
+		// Drops the oldest update when the client falls behind
+		private void offer(Update update) {
+			while (!buffer.offer(update)) {
+				if (buffer.poll() != null) {
+					overflowed.set(true);
+					dropped.increment();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,402 @@
+package com.ker.demo.serviceImpl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
+import com.ker.demo.entity.ManagerTemplateEntity;
+import com.ker.demo.entity.UserAssessmentTemplateMapEntity;
+import com.ker.demo.entity.UserQuestionAnswerResultsEntity;
+import com.ker.demo.repository.ManagerTemplateCategoryMapRepository;
+import com.ker.demo.repository.ManagerTemplateRepository;
+import com.ker.demo.repository.UserAssessmentTemplateMapRepository;
+import com.ker.demo.repository.UserEvaluationSummaryRepository;
+import com.ker.demo.repository.UserQuestionAnswerResultsRepository;
+import com.ker.demo.repository.UserRepo;
+import com.ker.demo.repository.UserSubmissionRepository;
+import com.ker.demo.service.ExamAutosaveService;
+import com.ker.demo.service.ExamPaperService;
+import com.ker.demo.utils.MappedJournal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Write-behind store for answers saved while an exam is in progress. Each
+ * delta is appended to a memory-mapped journal before it is acknowledged and
+ * kept in memory keyed by (user, exam, section, question), so repeated saves
+ * of the same question coalesce to the latest value. A scheduled flush writes
+ * what accumulated since the previous one with a single upsert per batch and
+ * then drops the journal segments it covered; on startup the journal is
+ * replayed so acknowledged answers survive a restart.
+ *
+ * Submitting an exam discards its pending deltas (and journals the discard),
+ * so a late flush can never overwrite the submitted answers. Saves re-check the
+ * in-memory closed marker under the same lock the discard takes. When an exam is
+ * first loaded, its submission and evaluation rows are checked as well, so saves
+ * stay rejected after a restart and after the marker is evicted.
+ */
+@Service
+public class ExamAutosaveServiceImpl implements ExamAutosaveService {
+
+	private static final byte ANSWER = 1;
+	private static final byte DISCARD = 2;
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Autowired
+	private ManagerTemplateRepository managerTemplateRepository;
+
+	@Autowired
+	private ManagerTemplateCategoryMapRepository managerTemplateCategoryMapRepository;
+
+	@Autowired
+	private UserAssessmentTemplateMapRepository userAssessmentRepo;
+
+	@Autowired
+	private UserQuestionAnswerResultsRepository userAnswersRepo;
+
+	@Autowired
+	private UserSubmissionRepository userSubmissionRepository;
+
+	@Autowired
+	private UserEvaluationSummaryRepository evaluationRepo;
+
+	@Autowired
+	private ExamPaperService examPaperService;
+
+	@Value("${exam.autosave.journal-dir:${java.io.tmpdir}/mcq-autosave}")
+	private String journalDir;
+
+	@Value("${exam.autosave.segment-bytes:8388608}")
+	private int segmentBytes;
+
+	@Value("${exam.autosave.flush-batch-size:1000}")
+	private int flushBatchSize;
+
+	@Value("${exam.autosave.paper-cache.max-entries:5000}")
+	private int maxCachedPapers;
+
+	@Value("${exam.autosave.closed-retention-seconds:3600}")
+	private long closedRetentionSeconds;
+
+	private MappedJournal journal;
+
+	private final Object flushLock = new Object();
+
+	// Guarded by itself; replaced wholesale by each flush
+	private Map<Slot, String> pending = new LinkedHashMap<>();
+
+	private final Map<Exam, Long> closed = new LinkedHashMap<>(256, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Exam, Long> eldest) {
+			return size() > maxCachedPapers;
+		}
+	};
+
+	private final Map<Exam, Paper> papers = new LinkedHashMap<>(256, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Exam, Paper> eldest) {
+			return size() > maxCachedPapers;
+		}
+	};
+
+	private final LongAdder accepted = new LongAdder();
+	private final LongAdder flushed = new LongAdder();
+	private final LongAdder flushes = new LongAdder();
+	private final LongAdder failedFlushes = new LongAdder();
+
+	@PostConstruct
+	void start() {
+		journal = new MappedJournal(Path.of(journalDir), segmentBytes);
+		synchronized (flushLock) {
+			journal.replay(this::apply);
+		}
+	}
+
+	@PreDestroy
+	void stop() {
+		flush();
+		journal.close();
+	}
+
+	@Override
+	public int save(Long userId, Long managerTemplateId, Map<String, String> answers) {
+		if (answers == null || answers.isEmpty()) {
+			throw new IllegalArgumentException("Answers are required.");
+		}
+		Exam exam = new Exam(userId, managerTemplateId);
+		Paper paper = paper(exam);
+		if (paper.submitted()) {
+			throw new IllegalStateException("Exam already submitted.");
+		}
+		Map<Long, Long> sectionByQuestion = paper.sectionByQuestion();
+
+		List<Slot> slots = new ArrayList<>(answers.size());
+		List<String> values = new ArrayList<>(answers.size());
+		for (Map.Entry<String, String> answer : answers.entrySet()) {
+			if (answer.getValue() == null) {
+				continue;
+			}
+			Long questionId = parseQuestionId(answer.getKey());
+			Long sectionId = sectionByQuestion.get(questionId);
+			if (sectionId == null) {
+				throw new IllegalArgumentException("Question " + questionId + " is not part of this exam.");
+			}
+			slots.add(new Slot(userId, managerTemplateId, sectionId, questionId));
+			values.add(answer.getValue());
+		}
+
+		synchronized (this) {
+			// discard marks the exam closed under this lock, so no save can slip in after it
+			if (isClosed(exam)) {
+				throw new IllegalStateException("Exam already submitted.");
+			}
+			for (int i = 0; i < slots.size(); i++) {
+				Slot slot = slots.get(i);
+				journal.append(encodeAnswer(slot, values.get(i)));
+				pending.put(slot, values.get(i));
+			}
+		}
+		accepted.add(slots.size());
+		return slots.size();
+	}
+
+	@Override
+	public Map<String, String> getSavedAnswers(Long userId, Long managerTemplateId) {
+		Exam exam = new Exam(userId, managerTemplateId);
+		Map<Long, Long> sectionByQuestion = paper(exam).sectionByQuestion();
+
+		Map<String, String> saved = new LinkedHashMap<>();
+		List<UserQuestionAnswerResultsEntity> rows = userAnswersRepo
+				.findOpenAttempt(userId, new HashSet<>(sectionByQuestion.values()));
+		for (UserQuestionAnswerResultsEntity row : rows) {
+			if (sectionByQuestion.containsKey(row.getQuestionId())) {
+				saved.put(String.valueOf(row.getQuestionId()), row.getSelectedOption());
+			}
+		}
+		synchronized (this) {
+			pending.forEach((slot, selected) -> {
+				if (slot.belongsTo(exam)) {
+					saved.put(String.valueOf(slot.questionId), selected);
+				}
+			});
+		}
+		return saved;
+	}
+
+	@Override
+	public void discard(Long userId, Long managerTemplateId) {
+		Exam exam = new Exam(userId, managerTemplateId);
+		// Waits for an in-flight flush so it cannot land after the submission
+		synchronized (flushLock) {
+			synchronized (this) {
+				journal.append(encodeDiscard(exam));
+				pending.keySet().removeIf(slot -> slot.belongsTo(exam));
+				synchronized (closed) {
+					closed.put(exam, System.currentTimeMillis());
+				}
+			}
+			// The next load re-reads the submission state from the database
+			synchronized (papers) {
+				papers.remove(exam);
+			}
+		}
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${exam.autosave.flush-interval-ms:2000}",
+			initialDelayString = "${exam.autosave.flush-interval-ms:2000}")
+	public void flush() {
+		synchronized (flushLock) {
+			Map<Slot, String> batch;
+			List<Path> segments;
+			synchronized (this) {
+				if (pending.isEmpty()) {
+					return;
+				}
+				batch = pending;
+				pending = new LinkedHashMap<>();
+				segments = journal.roll();
+			}
+
+			try {
+				List<UserQuestionAnswerResultsEntity> rows = new ArrayList<>(Math.min(batch.size(), flushBatchSize));
+				for (Map.Entry<Slot, String> entry : batch.entrySet()) {
+					rows.add(entry.getKey().toRow(entry.getValue()));
+					if (rows.size() == flushBatchSize) {
+						userAnswersRepo.bulkUpsert(rows);
+						rows.clear();
+					}
+				}
+				userAnswersRepo.bulkUpsert(rows);
+				journal.delete(segments);
+				flushed.add(batch.size());
+				flushes.increment();
+			} catch (RuntimeException e) {
+				// Keep the journal and put back whatever was not overwritten meanwhile
+				synchronized (this) {
+					batch.forEach(pending::putIfAbsent);
+				}
+				failedFlushes.increment();
+				System.err.println("Autosave flush of " + batch.size() + " answers failed: " + e.getMessage());
+			}
+		}
+	}
+
+	@Override
+	public Map<String, Object> getStats() {
+		int size;
+		synchronized (this) {
+			size = pending.size();
+		}
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("pending", size);
+		stats.put("accepted", accepted.sum());
+		stats.put("flushed", flushed.sum());
+		stats.put("flushes", flushes.sum());
+		stats.put("failedFlushes", failedFlushes.sum());
+		return stats;
+	}
+
+	private boolean isClosed(Exam exam) {
+		synchronized (closed) {
+			Long closedAt = closed.get(exam);
+			if (closedAt == null) {
+				return false;
+			}
+			if (System.currentTimeMillis() - closedAt > TimeUnit.SECONDS.toMillis(closedRetentionSeconds)) {
+				closed.remove(exam);
+				return false;
+			}
+			return true;
+		}
+	}
+
+	/** Question id to section id for the candidate's frozen paper, and whether it was submitted. */
+	private Paper paper(Exam exam) {
+		synchronized (papers) {
+			Paper cached = papers.get(exam);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		if (!userRepo.existsById(exam.userId)) {
+			throw new NoSuchElementException("Candidate not found.");
+		}
+		ManagerTemplateEntity template = managerTemplateRepository.findById(exam.managerTemplateId)
+				.orElseThrow(() -> new NoSuchElementException("Exam not found."));
+		List<ManagerTemplateCategoryMapEntity> categories = managerTemplateCategoryMapRepository
+				.findByManagerTemplateId(exam.managerTemplateId).stream()
+				.sorted(Comparator.comparing(ManagerTemplateCategoryMapEntity::getManagerTemplateCategoryId))
+				.toList();
+		if (categories.isEmpty()) {
+			throw new NoSuchElementException("Exam not found.");
+		}
+		UserAssessmentTemplateMapEntity assignment = userAssessmentRepo
+				.findByUserIdAndManagerTemplateId(exam.userId, exam.managerTemplateId).stream()
+				.findFirst()
+				.orElse(null);
+		Map<Long, List<Long>> questionIds = examPaperService.getPaperQuestionIds(assignment, exam.userId,
+				exam.managerTemplateId, template.getQuestionCount(), categories);
+
+		Map<Long, Long> sectionByQuestion = new HashMap<>();
+		questionIds.forEach((sectionId, ids) -> ids.forEach(id -> sectionByQuestion.put(id, sectionId)));
+		boolean submitted = userSubmissionRepository.existsByUserIdAndManagerTemplateIdAndGradingStatusNot(
+				String.valueOf(exam.userId), exam.managerTemplateId, SubmissionGradingServiceImpl.FAILED)
+				|| evaluationRepo.existsByUserIdAndManagerTemplateId(exam.userId, exam.managerTemplateId);
+		Paper paper = new Paper(sectionByQuestion, submitted);
+		synchronized (papers) {
+			// A discard that ran during the load already closed the exam; do not cache the stale state
+			if (!isClosed(exam)) {
+				papers.put(exam, paper);
+			}
+		}
+		return paper;
+	}
+
+	private void apply(ByteBuffer record) {
+		byte type = record.get();
+		long userId = record.getLong();
+		long managerTemplateId = record.getLong();
+		if (type == DISCARD) {
+			Exam exam = new Exam(userId, managerTemplateId);
+			pending.keySet().removeIf(slot -> slot.belongsTo(exam));
+			return;
+		}
+		long sectionId = record.getLong();
+		long questionId = record.getLong();
+		byte[] selected = new byte[record.getInt()];
+		record.get(selected);
+		pending.put(new Slot(userId, managerTemplateId, sectionId, questionId),
+				new String(selected, StandardCharsets.UTF_8));
+	}
+
+	private static byte[] encodeAnswer(Slot slot, String selected) {
+		byte[] value = selected.getBytes(StandardCharsets.UTF_8);
+		return ByteBuffer.allocate(1 + Long.BYTES * 4 + Integer.BYTES + value.length)
+				.put(ANSWER)
+				.putLong(slot.userId)
+				.putLong(slot.managerTemplateId)
+				.putLong(slot.sectionId)
+				.putLong(slot.questionId)
+				.putInt(value.length)
+				.put(value)
+				.array();
+	}
+
+	private static byte[] encodeDiscard(Exam exam) {
+		return ByteBuffer.allocate(1 + Long.BYTES * 2)
+				.put(DISCARD)
+				.putLong(exam.userId)
+				.putLong(exam.managerTemplateId)
+				.array();
+	}
+
+	private static Long parseQuestionId(String key) {
+		try {
+			return Long.valueOf(key);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid question id: " + key);
+		}
+	}
+
+	private record Exam(long userId, long managerTemplateId) {
+	}
+
+	private record Paper(Map<Long, Long> sectionByQuestion, boolean submitted) {
+	}
+
+	private record Slot(long userId, long managerTemplateId, long sectionId, long questionId) {
+
+		private boolean belongsTo(Exam exam) {
+			return userId == exam.userId && managerTemplateId == exam.managerTemplateId;
+		}
+
+		private UserQuestionAnswerResultsEntity toRow(String selected) {
+			UserQuestionAnswerResultsEntity row = new UserQuestionAnswerResultsEntity();
+			row.setUserId(userId);
+			row.setManagerTemplateCategoryId(sectionId);
+			row.setQuestionId(questionId);
+			row.setSelectedOption(selected);
+			return row;
+		}
+	}
+}
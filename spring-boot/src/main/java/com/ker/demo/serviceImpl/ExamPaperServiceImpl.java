@@ -0,0 +1,189 @@
+package com.ker.demo.serviceImpl;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.ker.demo.domin.PooledQuestion;
+import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
+import com.ker.demo.entity.QuestionAssignmentEntity;
+import com.ker.demo.entity.UserAssessmentTemplateMapEntity;
+import com.ker.demo.repository.QuestionAssignmentRepository;
+import com.ker.demo.service.ExamPaperService;
+import com.ker.demo.service.ExamResponseCacheService;
+import com.ker.demo.service.QuestionAllocationService;
+import com.ker.demo.service.QuestionPoolService;
+
+/*
+ * A candidate's paper is a pure function of the assignment seed and the
+ * question pool versions of the template categories: every category draws
+ * from its own generator derived from (seed, categoryId), so re-fetching an
+ * exam or grading it regenerates exactly the same questions without storing
+ * anything.
+ *
+ * Papers are also frozen into question_assignment when an assessment is
+ * scheduled; delivery and grading read the frozen rows first and only fall
+ * back to regeneration for assignments that predate materialization.
+ */
+@Service
+public class ExamPaperServiceImpl implements ExamPaperService {
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	@Autowired
+	private QuestionPoolService questionPoolService;
+
+	@Autowired
+	private QuestionAssignmentRepository questionAssignmentRepository;
+
+	@Autowired
+	private QuestionAllocationService questionAllocationService;
+
+	@Autowired
+	private ExamResponseCacheService examResponseCacheService;
+
+	@Override
+	public long newSeed() {
+		return ThreadLocalRandom.current().nextLong();
+	}
+
+	@Override
+	public long resolveSeed(UserAssessmentTemplateMapEntity assignment, Long userId, Long managerTemplateId) {
+		if (assignment != null && assignment.getPaperSeed() != null) {
+			return assignment.getPaperSeed();
+		}
+		// Assignments created before seeds were persisted get a stable derived seed, so reads never write.
+		long base = assignment != null ? assignment.getUserAssessmentTemplateId() : userId * 31 + managerTemplateId;
+		return mix(base);
+	}
+
+	@Override
+	public Map<Long, List<PooledQuestion>> buildPaper(long seed, Integer questionCount,
+			List<ManagerTemplateCategoryMapEntity> categories) {
+		Map<Long, Integer> allocation = questionAllocationService.allocate(questionCount, categories);
+		return resolveQuestions(buildPaperQuestionIds(seed, allocation, categories), categories);
+	}
+
+	private Map<Long, List<Long>> buildPaperQuestionIds(long seed, Map<Long, Integer> allocation,
+			List<ManagerTemplateCategoryMapEntity> categories) {
+		Map<Long, List<Long>> paper = new LinkedHashMap<>();
+		for (ManagerTemplateCategoryMapEntity category : ordered(categories)) {
+			SplittableRandom random = new SplittableRandom(seed ^ mix(category.getCategoryId()));
+			int share = allocation.getOrDefault(category.getManagerTemplateCategoryId(), 0);
+			paper.put(category.getManagerTemplateCategoryId(),
+					questionPoolService.sampleIds(category.getCategoryId(), share, random));
+		}
+		return paper;
+	}
+
+	@Override
+	public Map<Long, List<PooledQuestion>> getPaper(UserAssessmentTemplateMapEntity assignment, Long userId,
+			Long managerTemplateId, Integer questionCount, List<ManagerTemplateCategoryMapEntity> categories) {
+		return resolveQuestions(getPaperQuestionIds(assignment, userId, managerTemplateId, questionCount, categories),
+				categories);
+	}
+
+	@Override
+	public Map<Long, List<Long>> getPaperQuestionIds(UserAssessmentTemplateMapEntity assignment, Long userId,
+			Long managerTemplateId, Integer questionCount, List<ManagerTemplateCategoryMapEntity> categories) {
+		if (assignment != null) {
+			Map<Long, List<Long>> frozen = loadMaterializedQuestionIds(assignment);
+			if (!frozen.isEmpty()) {
+				return frozen;
+			}
+		}
+		Map<Long, Integer> allocation = questionAllocationService.allocate(questionCount, categories);
+		return buildPaperQuestionIds(resolveSeed(assignment, userId, managerTemplateId), allocation, categories);
+	}
+
+	@Override
+	public void materializePapers(List<UserAssessmentTemplateMapEntity> assignments, Integer questionCount,
+			List<ManagerTemplateCategoryMapEntity> categories) {
+		// Every candidate of a template gets the same shares, so allocate once per batch
+		Map<Long, Integer> allocation = questionAllocationService.allocate(questionCount, categories);
+		List<QuestionAssignmentEntity> rows = new ArrayList<>();
+		for (UserAssessmentTemplateMapEntity assignment : assignments) {
+			Map<Long, List<Long>> paper = buildPaperQuestionIds(
+					resolveSeed(assignment, assignment.getUserId(), null), allocation, categories);
+			int order = 0;
+			for (Map.Entry<Long, List<Long>> section : paper.entrySet()) {
+				for (Long questionId : section.getValue()) {
+					QuestionAssignmentEntity row = new QuestionAssignmentEntity();
+					row.setUserId(String.valueOf(assignment.getUserId()));
+					row.setQuestionId(questionId);
+					row.setAssignedBy(assignment.getAssignedBy());
+					row.setAssignedDate(assignment.getAssignedDate() != null ? assignment.getAssignedDate()
+							: new Timestamp(System.currentTimeMillis()));
+					row.setUserAssessmentTemplateId(assignment.getUserAssessmentTemplateId());
+					row.setManagerTemplateCategoryId(section.getKey());
+					row.setQuestionOrder(order++);
+					rows.add(row);
+				}
+			}
+		}
+		questionAssignmentRepository.bulkInsert(rows);
+
+		// Drop responses built before these assignments had a frozen paper
+		Long managerTemplateId = categories.isEmpty() ? null : categories.get(0).getManagerTemplateId();
+		for (UserAssessmentTemplateMapEntity assignment : assignments) {
+			examResponseCacheService.evict(assignment.getUserId(), managerTemplateId);
+		}
+	}
+
+	private Map<Long, List<Long>> loadMaterializedQuestionIds(UserAssessmentTemplateMapEntity assignment) {
+		List<QuestionAssignmentEntity> rows = questionAssignmentRepository
+				.findByUserAssessmentTemplateIdOrderByQuestionOrderAsc(assignment.getUserAssessmentTemplateId());
+		Map<Long, List<Long>> idsBySection = new LinkedHashMap<>();
+		for (QuestionAssignmentEntity row : rows) {
+			idsBySection.computeIfAbsent(row.getManagerTemplateCategoryId(), key -> new ArrayList<>())
+					.add(row.getQuestionId());
+		}
+		return idsBySection;
+	}
+
+	private Map<Long, List<PooledQuestion>> resolveQuestions(Map<Long, List<Long>> idsBySection,
+			List<ManagerTemplateCategoryMapEntity> categories) {
+		Map<Long, Long> categoryBySection = new HashMap<>();
+		for (ManagerTemplateCategoryMapEntity category : categories) {
+			categoryBySection.put(category.getManagerTemplateCategoryId(), category.getCategoryId());
+		}
+
+		Map<Long, List<PooledQuestion>> paper = new LinkedHashMap<>();
+		for (Map.Entry<Long, List<Long>> section : idsBySection.entrySet()) {
+			Long categoryId = categoryBySection.get(section.getKey());
+			paper.put(section.getKey(), questionPoolService.getQuestions(categoryId, section.getValue()));
+		}
+		return paper;
+	}
+
+	@Override
+	public long getPaperVersion(long seed, Integer questionCount, List<ManagerTemplateCategoryMapEntity> categories) {
+		long version = 31 * seed + (questionCount != null ? questionCount : 0);
+		for (ManagerTemplateCategoryMapEntity category : ordered(categories)) {
+			version = 31 * version + questionPoolService.getVersion(category.getCategoryId());
+		}
+		return version;
+	}
+
+	private static List<ManagerTemplateCategoryMapEntity> ordered(List<ManagerTemplateCategoryMapEntity> categories) {
+		return categories.stream()
+				.sorted(Comparator.comparing(ManagerTemplateCategoryMapEntity::getManagerTemplateCategoryId))
+				.toList();
+	}
+
+	private static long mix(long value) {
+		long z = value * GOLDEN_GAMMA;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,391 @@
+package com.ker.demo.serviceImpl;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ker.demo.domin.ExamGenerationProgress;
+import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
+import com.ker.demo.entity.ManagerTemplateEntity;
+import com.ker.demo.entity.UserAssessmentTemplateMapEntity;
+import com.ker.demo.event.AssessmentScheduledEvent;
+import com.ker.demo.repository.ManagerTemplateCategoryMapRepository;
+import com.ker.demo.repository.ManagerTemplateRepository;
+import com.ker.demo.repository.UserAssessmentTemplateMapRepository;
+import com.ker.demo.service.ExamPaperService;
+import com.ker.demo.service.ExamPreGenerationService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Creates candidate assignments and their frozen papers off the request
+ * thread. A scheduling request is split into fixed-size batches that a bounded
+ * pool of virtual-thread workers writes in separate transactions, so one bad
+ * batch does not roll back the others and progress is visible while it runs.
+ *
+ * The pending candidates are also written to exam_pregeneration_job in the
+ * scheduling transaction. A batch deletes its rows in the transaction that
+ * writes the assignments, so only candidates it claimed are assigned, and a
+ * scheduled sweep picks up rows that outlived their in-memory job, e.g. after
+ * a restart. Rows of failed batches are retried up to max-attempts times;
+ * after that they are marked failed, logged, and reported by getProgress and
+ * /ops/pregeneration until the exam is scheduled for those candidates again.
+ */
+@Service
+public class ExamPreGenerationServiceImpl implements ExamPreGenerationService {
+
+	private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+	@Autowired
+	private ManagerTemplateCategoryMapRepository managerTemplateCategoryMapRepository;
+
+	@Autowired
+	private ManagerTemplateRepository managerTemplateRepository;
+
+	@Autowired
+	private UserAssessmentTemplateMapRepository userAssessmentTemplateMapRepository;
+
+	@Autowired
+	private ExamPaperService examPaperService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${exam.pregeneration.workers:4}")
+	private int workers;
+
+	@Value("${exam.pregeneration.batch-size:250}")
+	private int batchSize;
+
+	@Value("${exam.pregeneration.recovery-interval-ms:60000}")
+	private long recoveryIntervalMs;
+
+	@Value("${exam.pregeneration.recovery-batch-size:5000}")
+	private int recoveryBatchSize;
+
+	@Value("${exam.pregeneration.max-attempts:3}")
+	private int maxAttempts;
+
+	@Value("${spring.jpa.properties.hibernate.default_schema}")
+	private String schema;
+
+	private ExecutorService executor;
+	private TransactionTemplate transactionTemplate;
+
+	private final Map<Long, Job> jobs = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	void start() {
+		executor = Executors.newFixedThreadPool(workers, Thread.ofVirtual().name("exam-pregen-", 0).factory());
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@PreDestroy
+	void stop() {
+		executor.shutdown();
+	}
+
+	@Override
+	public ExamGenerationProgress enqueue(Long managerTemplateId, List<Long> userIds, String assignedBy,
+			Integer timeLimit, Timestamp scheduleDate) {
+		pruneFinishedJobs();
+		Job job = new Job(managerTemplateId, List.copyOf(userIds), assignedBy, timeLimit, scheduleDate);
+		jobs.put(managerTemplateId, job);
+		persist(job);
+
+		// The manager template must be committed before workers can reference it.
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					executor.execute(() -> run(job));
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					if (status != STATUS_COMMITTED) {
+						jobs.remove(managerTemplateId, job);
+					}
+				}
+			});
+		} else {
+			executor.execute(() -> run(job));
+		}
+		return job.snapshot();
+	}
+
+	@Override
+	public Optional<ExamGenerationProgress> getProgress(Long managerTemplateId) {
+		Job job = jobs.get(managerTemplateId);
+		if (job != null) {
+			return Optional.of(job.snapshot());
+		}
+		// No job in memory, e.g. after a restart: report what is still queued or failed
+		return jdbcTemplate.query("SELECT COUNT(*) FILTER (WHERE failed_date IS NULL), "
+				+ "COUNT(*) FILTER (WHERE failed_date IS NOT NULL), MIN(queued_date), MAX(failed_date) "
+				+ "FROM " + schema + ".exam_pregeneration_job WHERE manager_template_id = ?",
+				rs -> {
+					rs.next();
+					int pending = rs.getInt(1);
+					int failed = rs.getInt(2);
+					if (pending + failed == 0) {
+						return Optional.<ExamGenerationProgress>empty();
+					}
+					int total = pending + failed;
+					return Optional.of(new ExamGenerationProgress(managerTemplateId, pending > 0 ? "QUEUED" : "FAILED",
+							total, 0, failed, (int) (100L * failed / total), rs.getTimestamp(3),
+							pending > 0 ? null : rs.getTimestamp(4)));
+				}, managerTemplateId);
+	}
+
+	@Override
+	public Map<String, Object> getStats() {
+		List<Map<String, Object>> templates = jdbcTemplate.query("SELECT manager_template_id, "
+				+ "COUNT(*) FILTER (WHERE failed_date IS NULL) AS pending, "
+				+ "COUNT(*) FILTER (WHERE failed_date IS NOT NULL) AS failed, "
+				+ "array_agg(user_id ORDER BY user_id) FILTER (WHERE failed_date IS NOT NULL) AS failed_user_ids "
+				+ "FROM " + schema + ".exam_pregeneration_job GROUP BY manager_template_id ORDER BY manager_template_id",
+				(rs, rowNum) -> {
+					Map<String, Object> template = new LinkedHashMap<>();
+					template.put("managerTemplateId", rs.getLong("manager_template_id"));
+					template.put("pendingCandidates", rs.getInt("pending"));
+					template.put("failedCandidates", rs.getInt("failed"));
+					Array failedUserIds = rs.getArray("failed_user_ids");
+					template.put("failedUserIds", failedUserIds == null ? List.of()
+							: Arrays.asList((Long[]) failedUserIds.getArray()));
+					return template;
+				});
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("activeJobs", jobs.values().stream().filter(job -> job.finishedAt == null).count());
+		stats.put("maxAttempts", maxAttempts);
+		stats.put("templates", templates);
+		return stats;
+	}
+
+	/*
+	 * Re-queues persisted candidates that no live job on this instance is
+	 * working on and that have waited at least one interval, so fresh work of
+	 * other instances is left alone.
+	 */
+	@Scheduled(initialDelayString = "${exam.pregeneration.recovery-interval-ms:60000}",
+			fixedDelayString = "${exam.pregeneration.recovery-interval-ms:60000}")
+	void recoverPending() {
+		try {
+			Timestamp cutoff = new Timestamp(System.currentTimeMillis() - recoveryIntervalMs);
+			Map<Long, List<PendingRow>> byTemplate = new LinkedHashMap<>();
+			jdbcTemplate.query("SELECT manager_template_id, user_id, assigned_by, time_limit, schedule_date "
+					+ "FROM " + schema + ".exam_pregeneration_job WHERE queued_date < ? AND failed_date IS NULL "
+					+ "ORDER BY manager_template_id, user_id LIMIT ?",
+					rs -> {
+						byTemplate.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(new PendingRow(
+								rs.getLong(2), rs.getString(3), rs.getObject(4, Integer.class), rs.getTimestamp(5)));
+					}, cutoff, recoveryBatchSize);
+			byTemplate.forEach((managerTemplateId, rows) -> {
+				Job active = jobs.get(managerTemplateId);
+				if (active != null && active.finishedAt == null) {
+					return;
+				}
+				PendingRow first = rows.get(0);
+				Job job = new Job(managerTemplateId, rows.stream().map(PendingRow::userId).toList(),
+						first.assignedBy(), first.timeLimit(), first.scheduleDate());
+				jobs.put(managerTemplateId, job);
+				executor.execute(() -> run(job));
+			});
+		} catch (RuntimeException e) {
+			System.err.println("Could not scan pending exam pre-generation: " + e.getMessage());
+		}
+	}
+
+	private void persist(Job job) {
+		Long[] userIds = job.userIds.toArray(Long[]::new);
+		jdbcTemplate.update("INSERT INTO " + schema + ".exam_pregeneration_job "
+				+ "(manager_template_id, user_id, assigned_by, time_limit, schedule_date, queued_date, attempts) "
+				+ "SELECT ?, u.user_id, ?, ?, ?, ?, 0 FROM unnest(?::bigint[]) AS u(user_id) "
+				// Scheduling failed candidates again gives them a fresh set of attempts
+				+ "ON CONFLICT (manager_template_id, user_id) DO UPDATE SET assigned_by = EXCLUDED.assigned_by, "
+				+ "time_limit = EXCLUDED.time_limit, schedule_date = EXCLUDED.schedule_date, "
+				+ "queued_date = EXCLUDED.queued_date, attempts = 0, failed_date = NULL "
+				+ "WHERE exam_pregeneration_job.failed_date IS NOT NULL",
+				job.managerTemplateId, job.assignedBy, job.timeLimit, job.scheduleDate, job.queuedAt, userIds);
+	}
+
+	// Deletes the batch's job rows and returns the candidates this transaction claimed
+	private List<Long> claim(Job job, List<Long> batch) {
+		Set<Long> claimed = new HashSet<>(jdbcTemplate.queryForList("DELETE FROM " + schema
+				+ ".exam_pregeneration_job WHERE manager_template_id = ? AND user_id = ANY(?) RETURNING user_id",
+				Long.class, job.managerTemplateId, batch.toArray(Long[]::new)));
+		return batch.stream().filter(claimed::contains).toList();
+	}
+
+	private void recordAttempt(Job job, List<Long> userIds) {
+		try {
+			List<Long> exhausted = jdbcTemplate.queryForList("UPDATE " + schema + ".exam_pregeneration_job "
+					+ "SET attempts = attempts + 1, failed_date = CASE WHEN attempts + 1 >= ? THEN ? END "
+					+ "WHERE manager_template_id = ? AND user_id = ANY(?) AND failed_date IS NULL "
+					+ "RETURNING CASE WHEN failed_date IS NOT NULL THEN user_id END",
+					Long.class, maxAttempts, new Timestamp(System.currentTimeMillis()), job.managerTemplateId,
+					userIds.toArray(Long[]::new));
+			exhausted.removeIf(Objects::isNull);
+			if (!exhausted.isEmpty()) {
+				System.err.println("Exam pre-generation gave up on candidates " + exhausted + " of manager template "
+						+ job.managerTemplateId + " after " + maxAttempts + " attempts");
+			}
+		} catch (RuntimeException e) {
+			System.err.println("Could not record exam pre-generation attempt for manager template "
+					+ job.managerTemplateId + ": " + e.getMessage());
+		}
+	}
+
+	private void run(Job job) {
+		List<ManagerTemplateCategoryMapEntity> categories;
+		Integer questionCount;
+		try {
+			categories = managerTemplateCategoryMapRepository.findByManagerTemplateId(job.managerTemplateId);
+			questionCount = managerTemplateRepository.findById(job.managerTemplateId)
+					.map(ManagerTemplateEntity::getQuestionCount)
+					.orElse(null);
+		} catch (RuntimeException e) {
+			job.fail(job.userIds.size());
+			return;
+		}
+		if (categories.isEmpty()) {
+			recordAttempt(job, job.userIds);
+			job.fail(job.userIds.size());
+			return;
+		}
+
+		job.status = "RUNNING";
+		for (int from = 0; from < job.userIds.size(); from += batchSize) {
+			List<Long> batch = job.userIds.subList(from, Math.min(from + batchSize, job.userIds.size()));
+			executor.execute(() -> writeBatch(job, batch, questionCount, categories));
+		}
+	}
+
+	private void writeBatch(Job job, List<Long> batch, Integer questionCount,
+			List<ManagerTemplateCategoryMapEntity> categories) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				// Candidates claimed by another instance, or already assigned, are skipped
+				List<Long> claimed = claim(job, batch);
+				if (claimed.isEmpty()) {
+					return;
+				}
+
+				// Candidates are linked to the first category mapping of the template
+				ManagerTemplateCategoryMapEntity section = new ManagerTemplateCategoryMapEntity();
+				section.setManagerTemplateCategoryId(categories.get(0).getManagerTemplateCategoryId());
+
+				Timestamp now = new Timestamp(System.currentTimeMillis());
+				List<UserAssessmentTemplateMapEntity> assignments = new ArrayList<>(claimed.size());
+				for (Long userId : claimed) {
+					UserAssessmentTemplateMapEntity userMap = new UserAssessmentTemplateMapEntity();
+					userMap.setUserId(userId);
+					userMap.setManagerTemplateCategoryMap(section);
+					userMap.setAssignedBy(job.assignedBy);
+					userMap.setAssignedDate(now);
+					userMap.setTimeLimit(job.timeLimit);
+					userMap.setScheduleDate(job.scheduleDate);
+					userMap.setPaperSeed(examPaperService.newSeed());
+					assignments.add(userMap);
+				}
+				List<UserAssessmentTemplateMapEntity> saved = userAssessmentTemplateMapRepository.saveAll(assignments);
+				examPaperService.materializePapers(saved, questionCount, categories);
+				eventPublisher.publishEvent(new AssessmentScheduledEvent(job.managerTemplateId, claimed));
+			});
+			job.complete(batch.size());
+		} catch (RuntimeException e) {
+			System.err.println("Exam pre-generation batch failed for manager template " + job.managerTemplateId
+					+ ": " + e.getMessage());
+			recordAttempt(job, batch);
+			job.fail(batch.size());
+		}
+	}
+
+	private void pruneFinishedJobs() {
+		long cutoff = System.currentTimeMillis() - FINISHED_JOB_RETENTION.toMillis();
+		jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.getTime() < cutoff);
+	}
+
+	private record PendingRow(Long userId, String assignedBy, Integer timeLimit, Timestamp scheduleDate) {
+	}
+
+	private static final class Job {
+
+		private final Long managerTemplateId;
+		private final List<Long> userIds;
+		private final String assignedBy;
+		private final Integer timeLimit;
+		private final Timestamp scheduleDate;
+		private final Timestamp queuedAt = new Timestamp(System.currentTimeMillis());
+		private final AtomicInteger completed = new AtomicInteger();
+		private final AtomicInteger failed = new AtomicInteger();
+		private volatile String status = "QUEUED";
+		private volatile Timestamp finishedAt;
+
+		private Job(Long managerTemplateId, List<Long> userIds, String assignedBy, Integer timeLimit,
+				Timestamp scheduleDate) {
+			this.managerTemplateId = managerTemplateId;
+			this.userIds = userIds;
+			this.assignedBy = assignedBy;
+			this.timeLimit = timeLimit;
+			this.scheduleDate = scheduleDate;
+		}
+
+		private void complete(int count) {
+			completed.addAndGet(count);
+			finishIfDone();
+		}
+
+		private void fail(int count) {
+			failed.addAndGet(count);
+			finishIfDone();
+		}
+
+		private synchronized void finishIfDone() {
+			int done = completed.get() + failed.get();
+			if (done >= userIds.size() && finishedAt == null) {
+				status = failed.get() == 0 ? "COMPLETED" : (completed.get() == 0 ? "FAILED" : "COMPLETED_WITH_ERRORS");
+				finishedAt = new Timestamp(System.currentTimeMillis());
+			}
+		}
+
+		private ExamGenerationProgress snapshot() {
+			int total = userIds.size();
+			int done = completed.get();
+			int percent = total == 0 ? 100 : (int) (100L * (done + failed.get()) / total);
+			return new ExamGenerationProgress(managerTemplateId, status, total, done, failed.get(), percent, queuedAt,
+					finishedAt);
+		}
+	}
+}
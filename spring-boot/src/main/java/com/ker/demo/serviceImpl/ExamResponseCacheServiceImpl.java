@@ -0,0 +1,133 @@
+package com.ker.demo.serviceImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ker.demo.domin.VersionedExamDetails;
+import com.ker.demo.service.ExamResponseCacheService;
+import com.ker.demo.utils.AfterCommit;
+
+/*
+ * Bounded LRU of built exam details responses, one entry per candidate and
+ * manager template. Entries are dropped when the candidate's assignment is
+ * (re)created, when the template or its categories are edited, and when one of
+ * the question pools the paper was drawn from changes.
+ */
+@Service
+public class ExamResponseCacheServiceImpl implements ExamResponseCacheService {
+
+	private record Key(Long userId, Long managerTemplateId) {
+	}
+
+	@Value("${exam.delivery.response-cache.max-entries:10000}")
+	private int maxEntries;
+
+	private final Map<Key, VersionedExamDetails> entries = new LinkedHashMap<>(256, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, VersionedExamDetails> eldest) {
+			return size() > maxEntries;
+		}
+	};
+
+	private final AtomicLong generation = new AtomicLong();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	@Override
+	public VersionedExamDetails getOrLoad(Long userId, Long managerTemplateId, Supplier<VersionedExamDetails> loader) {
+		Key key = new Key(userId, managerTemplateId);
+		synchronized (entries) {
+			VersionedExamDetails cached = entries.get(key);
+			if (cached != null) {
+				hits.increment();
+				return cached;
+			}
+		}
+		misses.increment();
+
+		long loadGeneration = generation.get();
+		VersionedExamDetails loaded = loader.get();
+		synchronized (entries) {
+			// Skip caching if an eviction raced with the load; the next call rebuilds.
+			if (generation.get() == loadGeneration) {
+				entries.put(key, loaded);
+			}
+		}
+		return loaded;
+	}
+
+	@Override
+	public void evict(Long userId, Long managerTemplateId) {
+		Key key = new Key(userId, managerTemplateId);
+		evictMatching(candidate -> candidate.equals(key), entry -> true);
+	}
+
+	@Override
+	public void evictTemplate(Long managerTemplateId) {
+		if (managerTemplateId == null) {
+			return;
+		}
+		evictMatching(key -> managerTemplateId.equals(key.managerTemplateId()), entry -> true);
+	}
+
+	@Override
+	public void evictCategories(Collection<Long> categoryIds) {
+		if (categoryIds == null || categoryIds.isEmpty()) {
+			return;
+		}
+		List<Long> ids = new ArrayList<>(categoryIds);
+		evictMatching(key -> true, entry -> ids.stream().anyMatch(entry.getCategoryIds()::contains));
+	}
+
+	@Override
+	public long getGeneration() {
+		return generation.get();
+	}
+
+	@Override
+	public Map<String, Object> getStats() {
+		long hitCount = hits.sum();
+		long missCount = misses.sum();
+		long requests = hitCount + missCount;
+		int size;
+		synchronized (entries) {
+			size = entries.size();
+		}
+
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("entries", size);
+		stats.put("maxEntries", maxEntries);
+		stats.put("hits", hitCount);
+		stats.put("misses", missCount);
+		stats.put("evictions", evictions.sum());
+		stats.put("hitRatio", requests == 0 ? 0.0 : (double) hitCount / requests);
+		return stats;
+	}
+
+	private void evictMatching(Predicate<Key> keyFilter, Predicate<VersionedExamDetails> entryFilter) {
+		Runnable eviction = () -> {
+			generation.incrementAndGet();
+			synchronized (entries) {
+				entries.entrySet().removeIf(entry -> {
+					boolean remove = keyFilter.test(entry.getKey()) && entryFilter.test(entry.getValue());
+					if (remove) {
+						evictions.increment();
+					}
+					return remove;
+				});
+			}
+		};
+		AfterCommit.runNowAndAfterCommit(eviction);
+	}
+}
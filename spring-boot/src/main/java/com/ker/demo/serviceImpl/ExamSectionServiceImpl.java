@@ -0,0 +1,358 @@
+package com.ker.demo.serviceImpl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ker.demo.domin.PooledQuestion;
+import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
+import com.ker.demo.entity.ManagerTemplateEntity;
+import com.ker.demo.entity.UserAssessmentTemplateMapEntity;
+import com.ker.demo.repository.ManagerTemplateCategoryMapRepository;
+import com.ker.demo.repository.ManagerTemplateRepository;
+import com.ker.demo.repository.UserAssessmentTemplateMapRepository;
+import com.ker.demo.repository.UserRepo;
+import com.ker.demo.service.ExamPaperService;
+import com.ker.demo.service.ExamResponseCacheService;
+import com.ker.demo.service.ExamSectionService;
+import com.ker.demo.service.QuestionPoolService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Sectioned exam delivery. The manifest only carries section sizes, which come
+ * from the paper's question ids, and each page resolves just its own questions,
+ * so the work per request does not grow with the length of the exam.
+ *
+ * Serving a page queues a background load of the page that follows it (the
+ * next page of the section, or the first page of the next section). The result
+ * is parked in a small bounded store and handed out once if the candidate asks
+ * for exactly those questions before it expires. Opening a section also queues
+ * the first page of the section after it. Prefetch work goes through a bounded
+ * queue; when it is full new prefetches are dropped rather than piling up.
+ *
+ * The layout (template, sections, assignment and paper question ids) is cached
+ * per candidate and template, so paging does not repeat those lookups. A cached
+ * layout is reused only while the exam response cache has not evicted anything
+ * since it was loaded, because both are built from the same inputs.
+ */
+@Service
+public class ExamSectionServiceImpl implements ExamSectionService {
+
+	private static final int DEFAULT_TIME_LIMIT_MINUTES = 10;
+
+	private record PageKey(Long userId, Long managerTemplateId, Long sectionId, int page, int size) {
+	}
+
+	private record PrefetchedPage(List<Long> questionIds, List<PooledQuestion> questions, long loadedAt) {
+	}
+
+	private record LayoutKey(Long userId, Long managerTemplateId) {
+	}
+
+	private record CachedLayout(ExamLayout layout, long generation, long loadedAt) {
+	}
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Autowired
+	private ManagerTemplateRepository managerTemplateRepository;
+
+	@Autowired
+	private ManagerTemplateCategoryMapRepository managerTemplateCategoryMapRepository;
+
+	@Autowired
+	private UserAssessmentTemplateMapRepository userAssessmentRepo;
+
+	@Autowired
+	private ExamPaperService examPaperService;
+
+	@Autowired
+	private QuestionPoolService questionPoolService;
+
+	@Autowired
+	private ExamResponseCacheService examResponseCacheService;
+
+	@Value("${exam.delivery.page-size:20}")
+	private int defaultPageSize;
+
+	@Value("${exam.delivery.max-page-size:100}")
+	private int maxPageSize;
+
+	@Value("${exam.delivery.prefetch.workers:2}")
+	private int prefetchWorkers;
+
+	@Value("${exam.delivery.prefetch.queue-capacity:500}")
+	private int prefetchQueueCapacity;
+
+	@Value("${exam.delivery.prefetch.max-entries:2000}")
+	private int maxPrefetchedPages;
+
+	@Value("${exam.delivery.prefetch.ttl-seconds:120}")
+	private long prefetchTtlSeconds;
+
+	@Value("${exam.delivery.layout-cache.max-entries:10000}")
+	private int maxCachedLayouts;
+
+	@Value("${exam.delivery.layout-cache.ttl-seconds:300}")
+	private long layoutTtlSeconds;
+
+	private ExecutorService prefetchExecutor;
+
+	private final Map<PageKey, PrefetchedPage> prefetched = new LinkedHashMap<>(256, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<PageKey, PrefetchedPage> eldest) {
+			return size() > maxPrefetchedPages;
+		}
+	};
+
+	private final Map<LayoutKey, CachedLayout> layouts = new LinkedHashMap<>(256, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<LayoutKey, CachedLayout> eldest) {
+			return size() > maxCachedLayouts;
+		}
+	};
+
+	@PostConstruct
+	void start() {
+		prefetchExecutor = new ThreadPoolExecutor(prefetchWorkers, prefetchWorkers, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(prefetchQueueCapacity), Thread.ofVirtual().name("exam-prefetch-", 0).factory(),
+				new ThreadPoolExecutor.DiscardPolicy());
+	}
+
+	@PreDestroy
+	void stop() {
+		prefetchExecutor.shutdownNow();
+	}
+
+	@Override
+	public Map<String, Object> getManifest(Long userId, Long managerTemplateId) {
+		ExamLayout layout = loadLayout(userId, managerTemplateId);
+		int pageSize = defaultPageSize;
+
+		List<Map<String, Object>> sections = new ArrayList<>();
+		int totalQuestions = 0;
+		for (ManagerTemplateCategoryMapEntity category : layout.categories) {
+			int count = layout.questionIds(category.getManagerTemplateCategoryId()).size();
+			totalQuestions += count;
+
+			Map<String, Object> section = new LinkedHashMap<>();
+			section.put("sectionId", category.getManagerTemplateCategoryId());
+			section.put("category", categoryName(category));
+			section.put("weightage", category.getWeighage());
+			section.put("questionCount", count);
+			section.put("pageCount", pageCount(count, pageSize));
+			sections.add(section);
+		}
+
+		Map<String, Object> manifest = new LinkedHashMap<>();
+		manifest.put("managerTemplateId", managerTemplateId);
+		manifest.put("name", layout.template.getManagerTemplateName());
+		manifest.put("skillLevel", layout.template.getSkillLevel());
+		manifest.put("time_limit", layout.assignment != null && layout.assignment.getTimeLimit() != null
+				? layout.assignment.getTimeLimit() : DEFAULT_TIME_LIMIT_MINUTES);
+		if (layout.assignment != null && layout.assignment.getAssignedDate() != null) {
+			manifest.put("scheduleDate", layout.assignment.getAssignedDate().toLocalDateTime().toLocalDate().toString());
+		}
+		manifest.put("pageSize", pageSize);
+		manifest.put("totalQuestions", totalQuestions);
+		manifest.put("sections", sections);
+
+		// Warm the first page so the first question is ready when the candidate starts
+		if (!layout.categories.isEmpty()) {
+			prefetch(layout, userId, managerTemplateId, layout.categories.get(0), 0, pageSize);
+		}
+		return manifest;
+	}
+
+	@Override
+	public Map<String, Object> getSectionPage(Long userId, Long managerTemplateId, Long sectionId, int page,
+			Integer size) {
+		int pageSize = size == null ? defaultPageSize : size;
+		if (pageSize < 1 || pageSize > maxPageSize) {
+			throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize + ".");
+		}
+		if (page < 0) {
+			throw new IllegalArgumentException("Page must not be negative.");
+		}
+
+		ExamLayout layout = loadLayout(userId, managerTemplateId);
+		int index = layout.indexOf(sectionId);
+		if (index < 0) {
+			throw new NoSuchElementException("Section not found.");
+		}
+		ManagerTemplateCategoryMapEntity category = layout.categories.get(index);
+		List<Long> sectionIds = layout.questionIds(sectionId);
+		int pageCount = pageCount(sectionIds.size(), pageSize);
+		if (page > 0 && page >= pageCount) {
+			throw new NoSuchElementException("Page not found.");
+		}
+
+		List<Long> pageIds = slice(sectionIds, page, pageSize);
+		List<PooledQuestion> questions = takePrefetched(new PageKey(userId, managerTemplateId, sectionId, page, pageSize),
+				pageIds);
+		if (questions == null) {
+			questions = questionPoolService.getQuestions(category.getCategoryId(), pageIds);
+		}
+
+		// Queue the pages the candidate is most likely to open next
+		if (page + 1 < pageCount) {
+			prefetch(layout, userId, managerTemplateId, category, page + 1, pageSize);
+		}
+		if ((page == 0 || page + 1 >= pageCount) && index + 1 < layout.categories.size()) {
+			prefetch(layout, userId, managerTemplateId, layout.categories.get(index + 1), 0, pageSize);
+		}
+
+		List<Map<String, Object>> qList = new ArrayList<>(questions.size());
+		for (PooledQuestion q : questions) {
+			Map<String, Object> qm = new LinkedHashMap<>();
+			qm.put("id", q.getQuestionId());
+			qm.put("question", q.getQuestion());
+			qm.put("options", q.getOptions());
+			qList.add(qm);
+		}
+
+		Map<String, Object> response = new LinkedHashMap<>();
+		response.put("sectionId", sectionId);
+		response.put("category", categoryName(category));
+		response.put("page", page);
+		response.put("pageSize", pageSize);
+		response.put("pageCount", pageCount);
+		response.put("questionCount", sectionIds.size());
+		response.put("questions", qList);
+		if (index + 1 < layout.categories.size()) {
+			response.put("nextSectionId", layout.categories.get(index + 1).getManagerTemplateCategoryId());
+		}
+		return response;
+	}
+
+	private ExamLayout loadLayout(Long userId, Long managerTemplateId) {
+		LayoutKey key = new LayoutKey(userId, managerTemplateId);
+		long generation = examResponseCacheService.getGeneration();
+		synchronized (layouts) {
+			CachedLayout cached = layouts.get(key);
+			if (cached != null && cached.generation() == generation
+					&& System.currentTimeMillis() - cached.loadedAt() <= layoutTtlSeconds * 1000) {
+				return cached.layout();
+			}
+		}
+
+		ExamLayout layout = readLayout(userId, managerTemplateId);
+		synchronized (layouts) {
+			// Entries loaded across an eviction are stored with the old generation and never served
+			layouts.put(key, new CachedLayout(layout, generation, System.currentTimeMillis()));
+		}
+		return layout;
+	}
+
+	private ExamLayout readLayout(Long userId, Long managerTemplateId) {
+		if (!userRepo.existsById(userId)) {
+			throw new NoSuchElementException("Candidate not found.");
+		}
+		ManagerTemplateEntity template = managerTemplateRepository.findById(managerTemplateId)
+				.orElseThrow(() -> new NoSuchElementException("Exam not found."));
+		List<ManagerTemplateCategoryMapEntity> categories = managerTemplateCategoryMapRepository
+				.findByManagerTemplateId(managerTemplateId).stream()
+				.sorted(Comparator.comparing(ManagerTemplateCategoryMapEntity::getManagerTemplateCategoryId))
+				.toList();
+		UserAssessmentTemplateMapEntity assignment = userAssessmentRepo
+				.findByUserIdAndManagerTemplateId(userId, managerTemplateId).stream()
+				.findFirst()
+				.orElse(null);
+		Map<Long, List<Long>> questionIds = examPaperService.getPaperQuestionIds(assignment, userId,
+				managerTemplateId, template.getQuestionCount(), categories);
+		return new ExamLayout(template, categories, assignment, questionIds);
+	}
+
+	private void prefetch(ExamLayout layout, Long userId, Long managerTemplateId,
+			ManagerTemplateCategoryMapEntity category, int page, int pageSize) {
+		List<Long> pageIds = slice(layout.questionIds(category.getManagerTemplateCategoryId()), page, pageSize);
+		if (pageIds.isEmpty()) {
+			return;
+		}
+		PageKey key = new PageKey(userId, managerTemplateId, category.getManagerTemplateCategoryId(), page, pageSize);
+		synchronized (prefetched) {
+			if (prefetched.containsKey(key)) {
+				return;
+			}
+		}
+		prefetchExecutor.execute(() -> {
+			try {
+				List<PooledQuestion> questions = questionPoolService.getQuestions(category.getCategoryId(), pageIds);
+				synchronized (prefetched) {
+					prefetched.put(key, new PrefetchedPage(pageIds, questions, System.currentTimeMillis()));
+				}
+			} catch (RuntimeException e) {
+				// Prefetch is best effort; the page is loaded on request instead
+			}
+		});
+	}
+
+	private List<PooledQuestion> takePrefetched(PageKey key, List<Long> pageIds) {
+		PrefetchedPage page;
+		synchronized (prefetched) {
+			page = prefetched.remove(key);
+		}
+		if (page == null || !page.questionIds().equals(pageIds)
+				|| System.currentTimeMillis() - page.loadedAt() > prefetchTtlSeconds * 1000) {
+			return null;
+		}
+		return page.questions();
+	}
+
+	private static List<Long> slice(List<Long> ids, int page, int pageSize) {
+		int from = Math.min(page * pageSize, ids.size());
+		int to = Math.min(from + pageSize, ids.size());
+		return List.copyOf(ids.subList(from, to));
+	}
+
+	private static int pageCount(int count, int pageSize) {
+		return (count + pageSize - 1) / pageSize;
+	}
+
+	private static String categoryName(ManagerTemplateCategoryMapEntity category) {
+		return category.getCategory() != null ? category.getCategory().getCategoryName() : "category-";
+	}
+
+	private static final class ExamLayout {
+
+		private final ManagerTemplateEntity template;
+		private final List<ManagerTemplateCategoryMapEntity> categories;
+		private final UserAssessmentTemplateMapEntity assignment;
+		private final Map<Long, List<Long>> questionIds;
+
+		private ExamLayout(ManagerTemplateEntity template, List<ManagerTemplateCategoryMapEntity> categories,
+				UserAssessmentTemplateMapEntity assignment, Map<Long, List<Long>> questionIds) {
+			this.template = template;
+			this.categories = categories;
+			this.assignment = assignment;
+			this.questionIds = questionIds;
+		}
+
+		private List<Long> questionIds(Long sectionId) {
+			return questionIds.getOrDefault(sectionId, List.of());
+		}
+
+		private int indexOf(Long sectionId) {
+			for (int i = 0; i < categories.size(); i++) {
+				if (categories.get(i).getManagerTemplateCategoryId().equals(sectionId)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+}
@@ -46,6 +46,7 @@ import com.ker.demo.repository.DocumentRepository;
 import com.ker.demo.repository.QuestionAnswerRepository;
 import com.ker.demo.service.CategoryService;
 import com.ker.demo.service.FileManagerService;
+import com.ker.demo.service.QuestionPoolService;
 import com.ker.demo.service.UserService;
 
 @Service
@@ -68,6 +69,9 @@ public class FileManagerServiceImpl implements FileManagerService {
 	@Autowired
 	private CategoryService categoryService;
 
+	@Autowired
+	private QuestionPoolService questionPoolService;
+
 	private QuestionnaireDocumentsEntity convertDtoToEntity(QuestionnaireDocuments dto) {
 		QuestionnaireDocumentsEntity entity = new QuestionnaireDocumentsEntity();
 		entity.setQuestionnaireDocumentId(dto.getQuestionnaireDocumentId());
@@ -358,6 +362,7 @@ public class FileManagerServiceImpl implements FileManagerService {
 	            questionAnswerRepository.save(qa);
 	        }
 	    }
+	    questionPoolService.evictAll(categoryMap.keySet());
 
 	    Long firstCategoryId = categoryMap.keySet().stream().findFirst().orElse(null);
 	    if (firstCategoryId != null && categoryRepository.existsById(firstCategoryId)) {
@@ -1,26 +1,21 @@
 package com.ker.demo.serviceImpl;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.ker.demo.entity.ReportingMangerEntity;
-import com.ker.demo.entity.UserAssessmentTemplateMapEntity;
-import com.ker.demo.entity.UserEntity;
-import com.ker.demo.entity.UserEvaluationSummaryEntity;
-import com.ker.demo.repository.ReportingManagerRepo;
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.repository.UserAssessmentRepository;
-import com.ker.demo.repository.UserEvaluationSummaryRepository;
-import com.ker.demo.repository.UserRepo;
+import com.ker.demo.repository.UserAssessmentRepositoryCustom.DashboardRow;
+import com.ker.demo.repository.UserAssessmentRepositoryCustom.RollupRow;
 import com.ker.demo.service.ManagerAssessmentService;
+import com.ker.demo.service.ManagerRollupCacheService;
+import com.ker.demo.utils.Keyset;
 
 @Service
 @Transactional(readOnly = true)
@@ -30,14 +25,8 @@ public class ManagerAssessmentServiceImpl implements ManagerAssessmentService {
 	private UserAssessmentRepository assessmentRepo;
 
 	@Autowired
-	private UserEvaluationSummaryRepository evaluationRepo;
-	
-	@Autowired
-	private UserRepo userRepo;
-	
-	@Autowired
-    private ReportingManagerRepo reportingManagerRepo;
-	
+	private ManagerRollupCacheService rollupCacheService;
+
 	private static final Map<Integer, String> STATUS_MAP = Map.of(
 	        0, "Scheduled",
 	        1, "Pending",
@@ -50,99 +39,131 @@ public class ManagerAssessmentServiceImpl implements ManagerAssessmentService {
 	@Transactional(readOnly = true)
 	public List<Map<String, Object>> getDashboardByManager(String managerIdStr) {
 	    Long managerId = Long.valueOf(managerIdStr);
+	    return toDashboard(assessmentRepo.findDashboardRows(managerId, 0L, null));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public KeysetPage<Map<String, Object>> getDashboardPage(String managerIdStr, Long after, Integer limit) {
+	    Long managerId = Long.valueOf(managerIdStr);
+	    int size = limit == null ? Keyset.DEFAULT_LIMIT : limit;
+	    if (size < 1 || size > Keyset.MAX_LIMIT) {
+	        throw new IllegalArgumentException("limit must be between 1 and " + Keyset.MAX_LIMIT + ".");
+	    }
+
+	    // One extra report tells whether another page follows
+	    List<Map<String, Object>> dashboard = toDashboard(
+	            assessmentRepo.findDashboardRows(managerId, after == null ? 0L : after, size + 1));
+	    if (dashboard.size() <= size) {
+	        return new KeysetPage<>(dashboard, null);
+	    }
+	    List<Map<String, Object>> page = List.copyOf(dashboard.subList(0, size));
+	    return new KeysetPage<>(page, String.valueOf(page.get(size - 1).get("userId")));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Map<String, Object> getRollup(String managerIdStr) {
+	    Long managerId = Long.valueOf(managerIdStr);
+	    List<RollupRow> rows = rollupCacheService.getOrLoad(managerId, () -> assessmentRepo.findRollupRows(managerId));
+
+	    // Rows arrive ordered by depth, so every parent is placed before its subtrees
+	    Map<Long, Map<String, Object>> nodes = new LinkedHashMap<>();
+	    for (RollupRow row : rows) {
+	        Map<String, Object> node = toRollupNode(row);
+	        nodes.put(row.managerId(), node);
+	        Map<String, Object> parent = row.parentManagerId() == null ? null : nodes.get(row.parentManagerId());
+	        if (parent != null) {
+	            @SuppressWarnings("unchecked")
+	            List<Map<String, Object>> subtrees = (List<Map<String, Object>>) parent.get("subtrees");
+	            subtrees.add(node);
+	        }
+	    }
+	    Map<String, Object> root = nodes.get(managerId);
+	    if (root == null) {
+	        root = toRollupNode(new RollupRow(managerId, null, 0, null, null, 0, 0, 0, 0, 0, 0, null, 0, null));
+	    }
+	    return root;
+	}
+
+	/*
+	 * Rows arrive ordered by report and assignment, one statement for the
+	 * whole team, with the passed/total counts already computed per report.
+	 */
+	private List<Map<String, Object>> toDashboard(List<DashboardRow> rows) {
+	    Map<Long, Map<String, Object>> dashboard = new LinkedHashMap<>();
+	    for (DashboardRow row : rows) {
+	        Map<String, Object> userData = dashboard.computeIfAbsent(row.userId(), userId -> {
+	            Map<String, Object> user = new LinkedHashMap<>();
+	            user.put("userId", userId);
+	            user.put("employeeId", row.employeeNumber());
+	            user.put("employeeName", row.firstName() + " " + row.lastName());
+	            user.put("employeeGrade", row.employeeGrade());
+	            user.put("project", row.project());
+	            user.put("assessments", row.passedCount() + "/" + row.totalCount());
+	            user.put("assessmentHistory", new ArrayList<Map<String, Object>>());
+	            return user;
+	        });
+	        @SuppressWarnings("unchecked")
+	        List<Map<String, Object>> assessmentHistory = (List<Map<String, Object>>) userData.get("assessmentHistory");
+	        assessmentHistory.add(toHistory(row));
+	    }
+	    return new ArrayList<>(dashboard.values());
+	}
+
+	private Map<String, Object> toHistory(DashboardRow row) {
+	    Map<String, Object> history = new LinkedHashMap<>();
+	    history.put("userAssessmentTemplateId", row.userAssessmentTemplateId());
+	    history.put("managerTemplateCategoryId", row.managerTemplateCategoryId());
+	    history.put("templateName", row.templateName());
+	    history.put("difficultyLevel", row.difficultyLevel());
 
-	    List<ReportingMangerEntity> mappings = reportingManagerRepo.findAllByManagerId(managerId);
-	    if (mappings.isEmpty()) return Collections.emptyList();
+	    List<Map<String, Object>> categoryList = new ArrayList<>();
+	    if (row.categoryId() != null) {
+	        Map<String, Object> categoryObj = new LinkedHashMap<>();
 
-	    List<UserAssessmentTemplateMapEntity> assessments = new ArrayList<>();
-	    for (ReportingMangerEntity map : mappings) {
-	        Long userId = map.getUserId();
-	        assessments.addAll(assessmentRepo.findByUserId(userId));
+	        Map<String, Object> innerCategory = new LinkedHashMap<>();
+	        innerCategory.put("categoryId", row.categoryId());
+	        innerCategory.put("categoryName", row.categoryName());
+	        innerCategory.put("description", row.categoryDescription());
+
+	        categoryObj.put("category", innerCategory);
+	        categoryObj.put("weightage", row.weighage() + "%");
+
+	        categoryList.add(categoryObj);
 	    }
-	    if (assessments.isEmpty()) return Collections.emptyList();
-
-	    Set<Long> userIds = assessments.stream()
-	            .map(UserAssessmentTemplateMapEntity::getUserId)
-	            .collect(Collectors.toSet());
-
-	    List<UserEntity> users = userRepo.findByUserIdIn(userIds);
-	    Map<Long, UserEntity> userMap = users.stream()
-	            .collect(Collectors.toMap(UserEntity::getUserId, u -> u));
-
-	    Map<Long, List<UserAssessmentTemplateMapEntity>> groupedByUser =
-	            assessments.stream().collect(Collectors.groupingBy(UserAssessmentTemplateMapEntity::getUserId));
-
-	    List<Map<String, Object>> dashboardList = new ArrayList<>();
-
-	    for (var entry : groupedByUser.entrySet()) {
-	        Long userId = entry.getKey();
-	        UserEntity user = userMap.get(userId);
-	        if (user == null) continue;
-
-	        List<UserAssessmentTemplateMapEntity> userAssessments = entry.getValue();
-
-            long totalCount = userAssessments.size();
-            long passedCount = userAssessments.stream()
-                    .filter(a -> a.getStatus() != null && a.getStatus() == 3)
-                    .count();
-
-            List<Map<String, Object>> assessmentHistory = userAssessments.stream().map(uatm -> {
-                var catMap = uatm.getManagerTemplateCategoryMap();
-                UserEvaluationSummaryEntity evaluationSummary = evaluationRepo.findByUserIdAndManagerTemplateCategoryId(uatm.getUserId(), uatm.getManagerTemplateCategoryMap().getManagerTemplateCategoryId());
-                Map<String, Object> history = new LinkedHashMap<>();
-                history.put("userAssessmentTemplateId", uatm.getUserAssessmentTemplateId());
-                history.put("managerTemplateCategoryId",
-                        catMap != null ? catMap.getManagerTemplateCategoryId() : null);
-                history.put("templateName", catMap != null && catMap.getManagerTemplate() != null
-                        ? catMap.getManagerTemplate().getManagerTemplateName()
-                        : null);
-                
-                if (catMap != null) {
-                    history.put("difficultyLevel", catMap.getDifficultyLevel());
-                } else {
-                    history.put("difficultyLevel", null);
-                }
-
-	            List<Map<String, Object>> categoryList = new ArrayList<>();
-	            if (catMap != null && catMap.getCategory() != null) {
-	                Map<String, Object> categoryObj = new LinkedHashMap<>();
-
-	                Map<String, Object> innerCategory = new LinkedHashMap<>();
-	                innerCategory.put("categoryId", catMap.getCategory().getCategoryId());
-	                innerCategory.put("categoryName", catMap.getCategory().getCategoryName());
-	                innerCategory.put("description", catMap.getCategory().getDescription());
-
-                    categoryObj.put("category", innerCategory);
-	                categoryObj.put("weightage", catMap.getWeighage() + "%");
-
-                    categoryList.add(categoryObj);
-                }
-                history.put("categories", categoryList);
-
-                history.put("score", evaluationSummary != null ? evaluationSummary.getScore() : 0L);
-
-                Integer status = uatm.getStatus();
-                String statusText = STATUS_MAP.getOrDefault(status, "Unknown");
-                history.put("status", statusText);
-
-                boolean isRetake = (status != null && status == 4);
-                history.put("isRetake", isRetake);
-
-                history.put("date", uatm.getAssignedDate());
-                return history;
-            }).collect(Collectors.toList());
-
-            Map<String, Object> userData = new LinkedHashMap<>();
-            userData.put("userId", user.getUserId());
-            userData.put("employeeId", user.getEmployeeNumber());
-            userData.put("employeeName", user.getFirstName() + " " + user.getLastName());
-            userData.put("employeeGrade", user.getEmployeeGrade());
-            userData.put("project", user.getProject());
-            userData.put("assessments", passedCount + "/" + totalCount);
-            userData.put("assessmentHistory", assessmentHistory);
-
-	        dashboardList.add(userData);
+	    history.put("categories", categoryList);
+
+	    history.put("score", row.score() != null ? row.score() : 0L);
+
+	    Integer status = row.status();
+	    history.put("status", STATUS_MAP.getOrDefault(status, "Unknown"));
+	    history.put("isRetake", status != null && status == 4);
+
+	    history.put("date", row.assignedDate());
+	    return history;
+	}
+
+	private Map<String, Object> toRollupNode(RollupRow row) {
+	    long[] counts = { row.scheduledCount(), row.pendingCount(), row.overdueCount(), row.completedCount(),
+	            row.failedCount() };
+	    Map<String, Long> statusCounts = new LinkedHashMap<>();
+	    long total = 0;
+	    for (int i = 0; i < counts.length; i++) {
+	        statusCounts.put(STATUS_MAP.get(i), counts[i]);
+	        total += counts[i];
 	    }
-	    return dashboardList;
+
+	    Map<String, Object> node = new LinkedHashMap<>();
+	    node.put("managerId", row.managerId());
+	    node.put("managerName", row.firstName() == null ? null : row.firstName() + " " + row.lastName());
+	    node.put("depth", row.depth());
+	    node.put("members", row.memberCount());
+	    node.put("totalAssessments", total);
+	    node.put("statusCounts", statusCounts);
+	    node.put("averageScore", row.averageScore());
+	    node.put("scoredAssessments", row.scoredCount());
+	    node.put("subtrees", new ArrayList<Map<String, Object>>());
+	    return node;
 	}
 }
@@ -0,0 +1,150 @@
+package com.ker.demo.serviceImpl;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.ker.demo.event.AssessmentGradedEvent;
+import com.ker.demo.event.AssessmentScheduledEvent;
+import com.ker.demo.event.AssessmentStatusChangedEvent;
+import com.ker.demo.repository.UserAssessmentRepositoryCustom.RollupRow;
+import com.ker.demo.service.ManagerRollupCacheService;
+import com.ker.demo.utils.AfterCommit;
+
+/*
+ * Bounded LRU of each manager's subtree roll-up. An entry is dropped when any
+ * member of the subtree is scheduled, changes status or is graded (all arrive
+ * as application events), and expires after a TTL so reporting changes that
+ * publish no event are picked up.
+ */
+@Service
+public class ManagerRollupCacheServiceImpl implements ManagerRollupCacheService {
+
+	private record Entry(List<RollupRow> rows, Set<Long> memberIds, long loadedAt) {
+	}
+
+	@Value("${exam.manager-rollup.cache.max-entries:1000}")
+	private int maxEntries;
+
+	@Value("${exam.manager-rollup.cache.ttl-seconds:300}")
+	private long ttlSeconds;
+
+	private final Map<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+			return size() > maxEntries;
+		}
+	};
+
+	private final AtomicLong generation = new AtomicLong();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	@Override
+	public List<RollupRow> getOrLoad(Long managerId, Supplier<List<RollupRow>> loader) {
+		synchronized (entries) {
+			Entry cached = entries.get(managerId);
+			if (cached != null && System.nanoTime() - cached.loadedAt() < TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+				hits.increment();
+				return cached.rows();
+			}
+		}
+		misses.increment();
+
+		long loadGeneration = generation.get();
+		List<RollupRow> rows = List.copyOf(loader.get());
+		Entry loaded = new Entry(rows, memberIds(rows), System.nanoTime());
+		synchronized (entries) {
+			// Skip caching if an eviction raced with the load; the next call rebuilds.
+			if (generation.get() == loadGeneration) {
+				entries.put(managerId, loaded);
+			}
+		}
+		return rows;
+	}
+
+	@EventListener
+	public void onScheduled(AssessmentScheduledEvent event) {
+		evictMembers(event.getUserIds());
+	}
+
+	@EventListener
+	public void onStatusChanged(AssessmentStatusChangedEvent event) {
+		evictMembers(event.getUserIds());
+	}
+
+	@EventListener
+	public void onGraded(AssessmentGradedEvent event) {
+		evictMembers(List.of(event.getUserId()));
+	}
+
+	@Override
+	public void evictAll() {
+		evictMatching(entry -> true);
+	}
+
+	@Override
+	public Map<String, Object> getStats() {
+		long hitCount = hits.sum();
+		long missCount = misses.sum();
+		long requests = hitCount + missCount;
+		int size;
+		synchronized (entries) {
+			size = entries.size();
+		}
+
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("entries", size);
+		stats.put("maxEntries", maxEntries);
+		stats.put("ttlSeconds", ttlSeconds);
+		stats.put("hits", hitCount);
+		stats.put("misses", missCount);
+		stats.put("evictions", evictions.sum());
+		stats.put("hitRatio", requests == 0 ? 0.0 : (double) hitCount / requests);
+		return stats;
+	}
+
+	// The root row carries the whole subtree's members
+	private static Set<Long> memberIds(List<RollupRow> rows) {
+		if (rows.isEmpty() || rows.get(0).memberIds() == null) {
+			return Set.of();
+		}
+		return Set.copyOf(rows.get(0).memberIds());
+	}
+
+	private void evictMembers(Collection<Long> userIds) {
+		if (userIds == null || userIds.isEmpty()) {
+			return;
+		}
+		Set<Long> ids = Set.copyOf(userIds);
+		evictMatching(entry -> ids.stream().anyMatch(entry.memberIds()::contains));
+	}
+
+	private void evictMatching(Predicate<Entry> filter) {
+		Runnable eviction = () -> {
+			generation.incrementAndGet();
+			synchronized (entries) {
+				entries.values().removeIf(entry -> {
+					boolean remove = filter.test(entry);
+					if (remove) {
+						evictions.increment();
+					}
+					return remove;
+				});
+			}
+		};
+		AfterCommit.runNowAndAfterCommit(eviction);
+	}
+}
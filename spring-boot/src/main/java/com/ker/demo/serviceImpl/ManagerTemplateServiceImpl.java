@@ -3,14 +3,17 @@ package com.ker.demo.serviceImpl;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import com.ker.demo.domin.Category;
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.domin.ManagerTemplate;
 import com.ker.demo.domin.ManagerTemplateCategoryMap;
 import com.ker.demo.entity.CategoryEntity;
@@ -20,11 +23,23 @@ import com.ker.demo.exception.ValidationException;
 import com.ker.demo.repository.CategoryRepository;
 import com.ker.demo.repository.ManagerTemplateCategoryMapRepository;
 import com.ker.demo.repository.ManagerTemplateRepository;
+import com.ker.demo.service.AnswerKeyService;
+import com.ker.demo.service.AssignedExamCacheService;
+import com.ker.demo.service.ExamResponseCacheService;
+import com.ker.demo.service.ManagerRollupCacheService;
 import com.ker.demo.service.ManagerTemplateService;
+import com.ker.demo.utils.Keyset;
+
+import jakarta.persistence.criteria.Predicate;
 
 @Service
 public class ManagerTemplateServiceImpl implements ManagerTemplateService {
 
+	private static final Map<String, Keyset<ManagerTemplateEntity>> SORTS = Map.of(
+			"id", Keyset.byId("managerTemplateId", ManagerTemplateEntity::getManagerTemplateId, false),
+			"name", Keyset.by("managerTemplateName", ManagerTemplateEntity::getManagerTemplateName,
+					"managerTemplateId", ManagerTemplateEntity::getManagerTemplateId, false));
+
 	@Autowired
 	private ManagerTemplateRepository managerTemplateRepository;
 
@@ -34,6 +49,18 @@ public class ManagerTemplateServiceImpl implements ManagerTemplateService {
 	@Autowired
 	private CategoryRepository categoryRepository;
 
+	@Autowired
+	private ExamResponseCacheService examResponseCacheService;
+
+	@Autowired
+	private AnswerKeyService answerKeyService;
+
+	@Autowired
+	private AssignedExamCacheService assignedExamCacheService;
+
+	@Autowired
+	private ManagerRollupCacheService managerRollupCacheService;
+
 	@Override
 	public ManagerTemplate createManagerTemplate(ManagerTemplate template) {
 		validateTemplate(template);
@@ -91,6 +118,10 @@ public class ManagerTemplateServiceImpl implements ManagerTemplateService {
 				.orElseThrow(() -> new ValidationException("ManagerTemplate not found with id: " + id));
 
 		managerTemplateRepository.delete(entity);
+		examResponseCacheService.evictTemplate(id);
+		assignedExamCacheService.evictTemplate(id);
+		answerKeyService.evictTemplate(id);
+		managerRollupCacheService.evictAll();
 	}
 
 	@Override
@@ -105,6 +136,8 @@ public class ManagerTemplateServiceImpl implements ManagerTemplateService {
 	    entity.setModifiedUserId(updatedTemplate.getModifiedUserId());
 	    entity.setModifiedDate(new Timestamp(System.currentTimeMillis()));
 	    managerTemplateRepository.save(entity);
+	    examResponseCacheService.evictTemplate(id);
+	    assignedExamCacheService.evictTemplate(id);
 
 	    // Fetch authoritative mappings from DB
 	    List<ManagerTemplateCategoryMapEntity> dbMappings = managerTemplateCategoryMapRepository.findByManagerTemplateId(id);
@@ -147,6 +180,35 @@ public class ManagerTemplateServiceImpl implements ManagerTemplateService {
 		return templates;
 	}
 
+	@Override
+	public KeysetPage<ManagerTemplate> getManagerTemplates(Long managerId, String skillLevel, String name, String sort,
+			String after, Integer limit) {
+		Specification<ManagerTemplateEntity> filter = (root, query, cb) -> {
+			List<Predicate> predicates = new ArrayList<>();
+			if (managerId != null) {
+				predicates.add(cb.equal(root.get("managerId"), managerId));
+			}
+			if (skillLevel != null) {
+				predicates.add(cb.equal(root.get("skillLevel"), skillLevel));
+			}
+			if (name != null) {
+				predicates.add(Keyset.startsWith(cb, cb.lower(root.get("managerTemplateName")), name.toLowerCase()));
+			}
+			return cb.and(predicates.toArray(Predicate[]::new));
+		};
+		KeysetPage<ManagerTemplateEntity> page = Keyset.forSort(sort, "id", SORTS).page(managerTemplateRepository,
+				filter, after, limit);
+
+		// Category mappings for the whole page are read in one query
+		Map<Long, List<ManagerTemplateCategoryMap>> categories = managerTemplateCategoryMapRepository
+				.findByManagerTemplateIdIn(page.getItems().stream().map(ManagerTemplateEntity::getManagerTemplateId)
+						.toList())
+				.stream().collect(Collectors.groupingBy(ManagerTemplateCategoryMapEntity::getManagerTemplateId,
+						Collectors.mapping(this::mapToDomain, Collectors.toList())));
+		return page.map(entity -> mapToDomain(entity,
+				categories.getOrDefault(entity.getManagerTemplateId(), new ArrayList<>())));
+	}
+
 	private ManagerTemplateEntity mapToEntity(ManagerTemplate template) {
 		ManagerTemplateEntity entity = new ManagerTemplateEntity();
 		entity.setManagerTemplateName(template.getManagerTemplateName());
@@ -4,12 +4,15 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.domin.Permission;
 import com.ker.demo.entity.PermissionEntity;
 import com.ker.demo.repository.PermissionRepo;
 import com.ker.demo.service.PermissionService;
+import com.ker.demo.utils.Keyset;
 
 import jakarta.transaction.Transactional;
 
@@ -17,6 +20,9 @@ import jakarta.transaction.Transactional;
 @Transactional
 public class PermissionServiceImpl implements PermissionService {
 
+	private static final Keyset<PermissionEntity> PERMISSION_KEYSET = Keyset.byId("code", PermissionEntity::getCode,
+			false);
+
 	@Autowired
 	private PermissionRepo permissionRepo;
 
@@ -32,6 +38,13 @@ public class PermissionServiceImpl implements PermissionService {
 		return permissions;
 	}
 
+	@Override
+	public KeysetPage<Permission> getPermissions(String code, String after, Integer limit) {
+		Specification<PermissionEntity> filter = code == null ? null
+				: (root, query, cb) -> Keyset.startsWith(cb, root.get("code"), code);
+		return PERMISSION_KEYSET.page(permissionRepo, filter, after, limit).map(this::convertEntityToData);
+	}
+
 	private Permission convertEntityToData(PermissionEntity entity) {
 		Permission permission = new Permission();
 		permission.setCode(entity.getCode());
@@ -0,0 +1,67 @@
+package com.ker.demo.serviceImpl;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ker.demo.service.QueryStatisticsService;
+
+/*
+ * SQL statement counts per endpoint (HTTP method and handler pattern). The
+ * endpoint set is fixed by the controllers, so the map stays small; requests
+ * that matched no handler share one entry. A request above the warn threshold
+ * is logged with its endpoint so N+1 regressions show up without a profiler.
+ */
+@Service
+public class QueryStatisticsServiceImpl implements QueryStatisticsService {
+
+	@Value("${exam.query-budget.warn-threshold:50}")
+	private long warnThreshold;
+
+	private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+	@Override
+	public void record(String endpoint, long statements) {
+		EndpointStats stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+		stats.requests.increment();
+		stats.statements.add(statements);
+		stats.max.accumulate(statements);
+		if (statements > warnThreshold) {
+			stats.overThreshold.increment();
+			System.err.println("Request " + endpoint + " issued " + statements + " SQL statements (warn threshold "
+					+ warnThreshold + ")");
+		}
+	}
+
+	@Override
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new TreeMap<>();
+		endpoints.forEach((endpoint, endpointStats) -> stats.put(endpoint, endpointStats.toMap()));
+		return stats;
+	}
+
+	private static final class EndpointStats {
+
+		private final LongAdder requests = new LongAdder();
+		private final LongAdder statements = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+		private final LongAdder overThreshold = new LongAdder();
+
+		private Map<String, Object> toMap() {
+			long requestCount = requests.sum();
+			long statementCount = statements.sum();
+			Map<String, Object> stats = new TreeMap<>();
+			stats.put("requests", requestCount);
+			stats.put("statements", statementCount);
+			stats.put("maxPerRequest", max.get());
+			stats.put("avgPerRequest", requestCount == 0 ? 0.0 : (double) statementCount / requestCount);
+			stats.put("overWarnThreshold", overThreshold.sum());
+			return stats;
+		}
+	}
+}
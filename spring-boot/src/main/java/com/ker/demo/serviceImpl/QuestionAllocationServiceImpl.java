@@ -0,0 +1,172 @@
+package com.ker.demo.serviceImpl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
+import com.ker.demo.service.QuestionAllocationService;
+import com.ker.demo.service.QuestionPoolService;
+
+/*
+ * Splits a template's question count across its category mappings in
+ * proportion to their weightage, using largest-remainder rounding so the
+ * shares always add up to the requested count. A category never gets more
+ * questions than its pool holds; the shortfall is handed to the remaining
+ * categories by weight. With stratification enabled the count is first split
+ * across difficulty levels and then across the categories of each level.
+ *
+ * Allocation only depends on the mappings and pool sizes, so the same template
+ * always yields the same shares, which keeps seeded papers reproducible.
+ */
+@Service
+public class QuestionAllocationServiceImpl implements QuestionAllocationService {
+
+	// Templates scheduled without a question count keep the original fixed share
+	private static final int DEFAULT_QUESTIONS_PER_CATEGORY = 5;
+
+	@Autowired
+	private QuestionPoolService questionPoolService;
+
+	@Value("${exam.allocation.stratify-by-difficulty:false}")
+	private boolean stratifyByDifficulty;
+
+	@Override
+	public Map<Long, Integer> allocate(Integer questionCount, List<ManagerTemplateCategoryMapEntity> categories) {
+		List<ManagerTemplateCategoryMapEntity> ordered = categories.stream()
+				.sorted(Comparator.comparing(ManagerTemplateCategoryMapEntity::getManagerTemplateCategoryId))
+				.toList();
+		int n = ordered.size();
+		long[] weights = new long[n];
+		int[] capacities = new int[n];
+		for (int i = 0; i < n; i++) {
+			ManagerTemplateCategoryMapEntity category = ordered.get(i);
+			Integer weightage = category.getWeighage();
+			weights[i] = weightage != null && weightage > 0 ? weightage : 0;
+			capacities[i] = questionPoolService.getSize(category.getCategoryId());
+		}
+
+		int[] shares;
+		if (questionCount == null || questionCount <= 0) {
+			shares = new int[n];
+			for (int i = 0; i < n; i++) {
+				shares[i] = Math.min(DEFAULT_QUESTIONS_PER_CATEGORY, capacities[i]);
+			}
+		} else if (stratifyByDifficulty) {
+			shares = allocateByStratum(questionCount, ordered, weights, capacities);
+		} else {
+			shares = apportion(questionCount, weights, capacities);
+		}
+
+		Map<Long, Integer> allocation = new LinkedHashMap<>();
+		for (int i = 0; i < n; i++) {
+			allocation.put(ordered.get(i).getManagerTemplateCategoryId(), shares[i]);
+		}
+		return allocation;
+	}
+
+	private static int[] allocateByStratum(int questionCount, List<ManagerTemplateCategoryMapEntity> ordered,
+			long[] weights, int[] capacities) {
+		Map<String, List<Integer>> strata = new LinkedHashMap<>();
+		for (int i = 0; i < ordered.size(); i++) {
+			String level = ordered.get(i).getDifficultyLevel();
+			String key = level == null ? "" : level.trim().toLowerCase(Locale.ROOT);
+			strata.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+		}
+
+		List<List<Integer>> members = new ArrayList<>(strata.values());
+		long[] stratumWeights = new long[members.size()];
+		int[] stratumCapacities = new int[members.size()];
+		for (int s = 0; s < members.size(); s++) {
+			for (int i : members.get(s)) {
+				stratumWeights[s] += weights[i];
+				stratumCapacities[s] += capacities[i];
+			}
+		}
+		int[] stratumShares = apportion(questionCount, stratumWeights, stratumCapacities);
+
+		int[] shares = new int[ordered.size()];
+		for (int s = 0; s < members.size(); s++) {
+			List<Integer> indices = members.get(s);
+			long[] memberWeights = new long[indices.size()];
+			int[] memberCapacities = new int[indices.size()];
+			for (int m = 0; m < indices.size(); m++) {
+				memberWeights[m] = weights[indices.get(m)];
+				memberCapacities[m] = capacities[indices.get(m)];
+			}
+			int[] memberShares = apportion(stratumShares[s], memberWeights, memberCapacities);
+			for (int m = 0; m < indices.size(); m++) {
+				shares[indices.get(m)] = memberShares[m];
+			}
+		}
+		return shares;
+	}
+
+	/*
+	 * Largest-remainder apportionment with per-slot caps. Each round splits what
+	 * is left over the slots that still have room; slots that hit their cap drop
+	 * out and the next round redistributes the excess. Zero-weight slots only
+	 * receive questions once every weighted slot is full.
+	 */
+	static int[] apportion(int total, long[] weights, int[] capacities) {
+		int n = weights.length;
+		int[] shares = new int[n];
+		int remaining = total;
+		while (remaining > 0) {
+			long weightSum = 0;
+			long open = 0;
+			for (int i = 0; i < n; i++) {
+				if (shares[i] < capacities[i]) {
+					open++;
+					weightSum += weights[i];
+				}
+			}
+			if (open == 0) {
+				break;
+			}
+			boolean equalWeights = weightSum == 0;
+			long divisor = equalWeights ? open : weightSum;
+
+			long[] remainders = new long[n];
+			int seats = remaining;
+			List<Integer> candidates = new ArrayList<>();
+			for (int i = 0; i < n; i++) {
+				if (shares[i] >= capacities[i]) {
+					continue;
+				}
+				long weight = equalWeights ? 1 : weights[i];
+				long numerator = (long) remaining * weight;
+				int quota = (int) (numerator / divisor);
+				int granted = Math.min(quota, capacities[i] - shares[i]);
+				shares[i] += granted;
+				seats -= quota;
+				remainders[i] = numerator % divisor;
+				if (weight > 0 && shares[i] < capacities[i]) {
+					candidates.add(i);
+				}
+			}
+			candidates.sort(Comparator.<Integer>comparingLong(i -> remainders[i]).reversed()
+					.thenComparing(Comparator.naturalOrder()));
+			for (int c = 0; c < seats && c < candidates.size(); c++) {
+				shares[candidates.get(c)]++;
+			}
+
+			int allocated = 0;
+			for (int share : shares) {
+				allocated += share;
+			}
+			if (total - allocated == remaining) {
+				break;
+			}
+			remaining = total - allocated;
+		}
+		return shares;
+	}
+}
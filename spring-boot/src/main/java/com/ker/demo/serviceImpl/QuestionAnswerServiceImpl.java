@@ -1,8 +1,10 @@
 package com.ker.demo.serviceImpl;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +16,7 @@ import com.ker.demo.domin.QuestionAnswer;
 import com.ker.demo.entity.QuestionAnswerEntity;
 import com.ker.demo.repository.QuestionAnswerRepository;
 import com.ker.demo.service.QuestionAnswerService;
+import com.ker.demo.service.QuestionPoolService;
 
 import jakarta.transaction.Transactional;
 
@@ -26,6 +29,9 @@ public class QuestionAnswerServiceImpl implements QuestionAnswerService {
 	@Autowired
 	private ObjectMapper objectMapper;
 
+	@Autowired
+	private QuestionPoolService questionPoolService;
+
 	@Override
 	public List<QuestionAnswer> getQuestionsByCategoryId(Long categoryId) {
 		return repository.findByCategoryId(categoryId).stream().map(this::convertToDomain).collect(Collectors.toList());
@@ -34,12 +40,15 @@ public class QuestionAnswerServiceImpl implements QuestionAnswerService {
 	@Override
 	@Transactional
 	public void updateStatusFlags(Map<Long, String> questions) {
+		Set<Long> changedCategories = new HashSet<>();
 		questions.forEach((questionId, statusFlag) -> {
 			repository.findById(questionId).ifPresent(entity -> {
 				entity.setStatusFlag(statusFlag);
 				repository.save(entity);
+				changedCategories.add(entity.getCategoryId());
 			});
 		});
+		questionPoolService.evictAll(changedCategories);
 	}
 
 	private QuestionAnswer convertToDomain(QuestionAnswerEntity entity) {
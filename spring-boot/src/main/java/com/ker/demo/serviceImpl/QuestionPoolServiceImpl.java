@@ -0,0 +1,355 @@
+package com.ker.demo.serviceImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ker.demo.domin.PooledQuestion;
+import com.ker.demo.entity.QuestionAnswerEntity;
+import com.ker.demo.repository.QuestionAnswerRepository;
+import com.ker.demo.repository.QuestionAnswerRepository.QuestionRow;
+import com.ker.demo.repository.QuestionAnswerRepository.QuestionIdRange;
+import com.ker.demo.service.AnswerKeyService;
+import com.ker.demo.service.ExamResponseCacheService;
+import com.ker.demo.service.QuestionPoolService;
+import com.ker.demo.utils.AfterCommit;
+import com.ker.demo.utils.IndexSamplers;
+
+/*
+ * Per-category cache of pre-parsed questions used for exam delivery. Entries are
+ * loaded on first use and dropped when the category changes (see AfterCommit).
+ * Categories above the configured size are never cached in full; they are
+ * sampled in the database and only the chosen questions are loaded.
+ *
+ * Questions are kept in question_id order so that sampling with a seeded
+ * generator yields the same paper for as long as the pool version holds.
+ * Sampling works on a compact long[] of the ids and only resolves the picked
+ * questions afterwards.
+ */
+@Service
+public class QuestionPoolServiceImpl implements QuestionPoolService {
+
+	@Autowired
+	private QuestionAnswerRepository questionAnswerRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private ExamResponseCacheService examResponseCacheService;
+
+	@Autowired
+	private AnswerKeyService answerKeyService;
+
+	/** Below this many questions the id list is fetched and sampled in memory. */
+	private static final int PROBE_SAMPLING_THRESHOLD = 2000;
+
+	/** Probe sampling is only used while at least half of the id range is populated. */
+	private static final int MAX_ID_SPAN_FACTOR = 2;
+
+	private static final int MAX_PROBE_ROUNDS = 8;
+
+	@Value("${exam.question-pool.max-cached-questions:5000}")
+	private long maxCachedQuestions;
+
+	private final Map<Long, CachedPool> pools = new ConcurrentHashMap<>();
+	private final Set<Long> oversized = ConcurrentHashMap.newKeySet();
+
+	private final AtomicLong generation = new AtomicLong();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	@Override
+	public List<PooledQuestion> getPool(Long categoryId) {
+		return cachedPool(categoryId).questions;
+	}
+
+	@Override
+	public List<PooledQuestion> sample(Long categoryId, int count, RandomGenerator random) {
+		return getQuestions(categoryId, sampleIds(categoryId, count, random));
+	}
+
+	@Override
+	public List<Long> sampleIds(Long categoryId, int count, RandomGenerator random) {
+		if (!pools.containsKey(categoryId) && isOversized(categoryId)) {
+			return sampleInDatabase(categoryId, count, random);
+		}
+		long[] ids = cachedPool(categoryId).ids;
+		int[] indices = IndexSamplers.sample(ids.length, count, random);
+		List<Long> picked = new ArrayList<>(indices.length);
+		for (int index : indices) {
+			picked.add(ids[index]);
+		}
+		return picked;
+	}
+
+	/*
+	 * Returns up to count distinct random question ids of a category without
+	 * loading the category. Large, densely numbered categories are sampled by
+	 * probing random points of the id range: probes landing in gaps are
+	 * rejected and retried rather than moved to the next id, which would
+	 * favour ids that follow gaps. Hits are taken in probe order so the
+	 * sample stays uniform when a round yields more than needed. Small or
+	 * sparse categories, or runs of unlucky rounds, sample the id list.
+	 */
+	private List<Long> sampleInDatabase(Long categoryId, int count, RandomGenerator random) {
+		if (count <= 0) {
+			return List.of();
+		}
+		QuestionIdRange range = questionAnswerRepository.findQuestionIdRange(categoryId);
+		if (range == null || range.getTotal() == null || range.getTotal() == 0) {
+			return List.of();
+		}
+
+		long total = range.getTotal();
+		long span = range.getMaxId() - range.getMinId() + 1;
+		if (total <= PROBE_SAMPLING_THRESHOLD || total <= count || span > total * MAX_ID_SPAN_FACTOR) {
+			return sampleFromIdList(questionAnswerRepository.findQuestionIdsByCategoryId(categoryId), count, random);
+		}
+
+		Set<Long> picked = new LinkedHashSet<>();
+		for (int round = 0; round < MAX_PROBE_ROUNDS && picked.size() < count; round++) {
+			// Enough probes to expect every missing id from one round at the category's density
+			long probeCount = Math.max(8, (count - picked.size()) * span * 3 / (2 * total));
+			long[] probes = random.longs(probeCount, range.getMinId(), range.getMaxId() + 1).toArray();
+			Set<Long> existing = new HashSet<>(questionAnswerRepository.findExistingQuestionIds(categoryId,
+					Arrays.stream(probes).mapToObj(Long::toString).collect(Collectors.joining(","))));
+			for (long probe : probes) {
+				if (picked.size() == count) {
+					break;
+				}
+				if (existing.contains(probe)) {
+					picked.add(probe);
+				}
+			}
+		}
+		if (picked.size() < count) {
+			return sampleFromIdList(questionAnswerRepository.findQuestionIdsByCategoryId(categoryId), count, random);
+		}
+		return new ArrayList<>(picked);
+	}
+
+	private static List<Long> sampleFromIdList(List<Long> ids, int count, RandomGenerator random) {
+		int[] indices = IndexSamplers.sample(ids.size(), count, random);
+		List<Long> picked = new ArrayList<>(indices.length);
+		for (int index : indices) {
+			picked.add(ids.get(index));
+		}
+		return picked;
+	}
+
+	@Override
+	public int getSize(Long categoryId) {
+		CachedPool cached = pools.get(categoryId);
+		if (cached != null) {
+			return cached.ids.length;
+		}
+		if (isOversized(categoryId)) {
+			return (int) questionAnswerRepository.countByCategoryId(categoryId);
+		}
+		return cachedPool(categoryId).ids.length;
+	}
+
+	@Override
+	public List<PooledQuestion> getQuestions(Long categoryId, Collection<Long> questionIds) {
+		if (questionIds.isEmpty()) {
+			return List.of();
+		}
+		if (categoryId != null && (pools.containsKey(categoryId) || !isOversized(categoryId))) {
+			CachedPool pool = cachedPool(categoryId);
+			List<PooledQuestion> questions = new ArrayList<>(questionIds.size());
+			for (Long id : questionIds) {
+				PooledQuestion question = pool.byId.get(id);
+				if (question != null) {
+					questions.add(question);
+				}
+			}
+			return questions;
+		}
+		return loadByIds(questionIds);
+	}
+
+	@Override
+	public long getVersion(Long categoryId) {
+		if (!pools.containsKey(categoryId) && isOversized(categoryId)) {
+			QuestionAnswerRepository.QuestionIdRange range = questionAnswerRepository.findQuestionIdRange(categoryId);
+			return Objects.hash(range.getTotal(), range.getMinId(), range.getMaxId());
+		}
+		return cachedPool(categoryId).version;
+	}
+
+	private CachedPool cachedPool(Long categoryId) {
+		CachedPool cached = pools.get(categoryId);
+		if (cached != null) {
+			hits.increment();
+			return cached;
+		}
+		misses.increment();
+
+		long loadGeneration = generation.get();
+		CachedPool loaded = new CachedPool(load(categoryId));
+		// Skip caching if an eviction raced with the load; the next call reloads.
+		if (generation.get() == loadGeneration) {
+			CachedPool existing = pools.putIfAbsent(categoryId, loaded);
+			return existing != null ? existing : loaded;
+		}
+		return loaded;
+	}
+
+	@Override
+	public void evict(Long categoryId) {
+		if (categoryId == null) {
+			return;
+		}
+		evictAll(List.of(categoryId));
+	}
+
+	@Override
+	public void evictAll(Collection<Long> categoryIds) {
+		if (categoryIds == null || categoryIds.isEmpty()) {
+			return;
+		}
+		List<Long> ids = new ArrayList<>(categoryIds);
+		examResponseCacheService.evictCategories(ids);
+		answerKeyService.evictCategories(ids);
+		Runnable eviction = () -> {
+			generation.incrementAndGet();
+			for (Long id : ids) {
+				if (id != null && pools.remove(id) != null) {
+					evictions.increment();
+				}
+				oversized.remove(id);
+			}
+		};
+		AfterCommit.runNowAndAfterCommit(eviction);
+	}
+
+	@Override
+	public Map<String, Object> getStats() {
+		long hitCount = hits.sum();
+		long missCount = misses.sum();
+		long requests = hitCount + missCount;
+		long questionCount = pools.values().stream().mapToLong(pool -> pool.questions.size()).sum();
+
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("categories", pools.size());
+		stats.put("uncachedLargeCategories", oversized.size());
+		stats.put("questions", questionCount);
+		stats.put("hits", hitCount);
+		stats.put("misses", missCount);
+		stats.put("evictions", evictions.sum());
+		stats.put("hitRatio", requests == 0 ? 0.0 : (double) hitCount / requests);
+		return stats;
+	}
+
+	private boolean isOversized(Long categoryId) {
+		if (oversized.contains(categoryId)) {
+			return true;
+		}
+		if (questionAnswerRepository.countByCategoryId(categoryId) > maxCachedQuestions) {
+			oversized.add(categoryId);
+			return true;
+		}
+		return false;
+	}
+
+	private List<PooledQuestion> loadByIds(Collection<Long> ids) {
+		// Column projection: papers of large categories never become managed entities
+		Map<Long, QuestionRow> byId = new HashMap<>();
+		for (QuestionRow row : questionAnswerRepository.findQuestionRows(ids)) {
+			byId.put(row.getQuestionId(), row);
+		}
+		List<PooledQuestion> questions = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			QuestionRow row = byId.get(id);
+			if (row != null) {
+				questions.add(new PooledQuestion(row.getQuestionId(), row.getCategoryId(), row.getQuestion(),
+						parseOptions(row.getOptions()), row.getAnswer(), row.getStatusFlag()));
+			}
+		}
+		return questions;
+	}
+
+	private List<PooledQuestion> load(Long categoryId) {
+		List<QuestionAnswerEntity> entities = questionAnswerRepository.findByCategoryIdOrderByQuestionIdAsc(categoryId);
+		List<PooledQuestion> questions = new ArrayList<>(entities.size());
+		for (QuestionAnswerEntity entity : entities) {
+			questions.add(toPooled(entity));
+		}
+		return Collections.unmodifiableList(questions);
+	}
+
+	private static final class CachedPool {
+
+		private final List<PooledQuestion> questions;
+		private final Map<Long, PooledQuestion> byId;
+		private final long[] ids;
+		private final long version;
+
+		private CachedPool(List<PooledQuestion> questions) {
+			this.questions = questions;
+			this.byId = new HashMap<>(questions.size() * 2);
+			this.ids = new long[questions.size()];
+			long hash = 1;
+			for (int i = 0; i < ids.length; i++) {
+				PooledQuestion question = questions.get(i);
+				byId.put(question.getQuestionId(), question);
+				ids[i] = question.getQuestionId();
+				hash = 31 * hash + ids[i];
+			}
+			this.version = hash;
+		}
+	}
+
+	private PooledQuestion toPooled(QuestionAnswerEntity entity) {
+		return new PooledQuestion(entity.getQuestionId(), entity.getCategoryId(), entity.getQuestion(),
+				parseOptions(entity.getOptions()), entity.getAnswer(), entity.getStatusFlag());
+	}
+
+	/*
+	 * Options are stored either as {"A": "...", "B": "..."} (seeded data) or as a
+	 * plain JSON array (file imports); both decode to the ordered option texts.
+	 */
+	private List<String> parseOptions(String json) {
+		if (json == null || json.isBlank()) {
+			return Collections.emptyList();
+		}
+		try {
+			JsonNode node = objectMapper.readTree(json);
+			List<String> options = new ArrayList<>(node.size());
+			if (node.isObject()) {
+				Iterator<JsonNode> values = node.elements();
+				while (values.hasNext()) {
+					options.add(values.next().asText());
+				}
+			} else if (node.isArray()) {
+				node.forEach(option -> options.add(option.asText()));
+			}
+			return Collections.unmodifiableList(options);
+		} catch (Exception e) {
+			return Collections.emptyList();
+		}
+	}
+}
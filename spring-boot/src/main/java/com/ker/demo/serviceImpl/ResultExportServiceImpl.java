@@ -0,0 +1,180 @@
+package com.ker.demo.serviceImpl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ker.demo.repository.ManagerTemplateRepository;
+import com.ker.demo.service.ResultExportService;
+
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Streams every graded section of a template, one line per answer, straight
+ * from a forward-only JDBC cursor into the response. PostgreSQL only honours
+ * the fetch size inside a transaction, so the query runs in a read-only one;
+ * neither the result set nor the spreadsheet is ever held in memory as a
+ * whole. XLSX goes through SXSSF, which keeps a small window of rows on the
+ * heap and flushes the rest to a compressed temp file.
+ */
+@Service
+public class ResultExportServiceImpl implements ResultExportService {
+
+	private static final String[] HEADERS = { "evaluation_id", "user_id", "first_name", "last_name", "email",
+			"section_id", "category", "score", "question_id", "question", "selected_option", "correct_answer" };
+
+	private static final int XLSX_MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+	@Autowired
+	private ManagerTemplateRepository managerTemplateRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${spring.jpa.properties.hibernate.default_schema}")
+	private String schema;
+
+	@Value("${exam.export.fetch-size:1000}")
+	private int fetchSize;
+
+	@Value("${exam.export.xlsx-window-rows:200}")
+	private int xlsxWindowRows;
+
+	private TransactionTemplate readOnlyTransaction;
+
+	@PostConstruct
+	void init() {
+		readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+	}
+
+	@Override
+	public void checkExportable(Long managerTemplateId, String format) {
+		if (!CSV.equalsIgnoreCase(format) && !XLSX.equalsIgnoreCase(format)) {
+			throw new IllegalArgumentException("Unsupported export format: " + format);
+		}
+		if (!managerTemplateRepository.existsById(managerTemplateId)) {
+			throw new NoSuchElementException("Manager template not found: " + managerTemplateId);
+		}
+	}
+
+	@Override
+	public void exportResults(Long managerTemplateId, String format, OutputStream out) throws IOException {
+		if (XLSX.equalsIgnoreCase(format)) {
+			exportXlsx(managerTemplateId, out);
+		} else {
+			exportCsv(managerTemplateId, out);
+		}
+	}
+
+	private void exportCsv(Long managerTemplateId, OutputStream out) throws IOException {
+		BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(HEADERS).build());
+		Object[] values = new Object[HEADERS.length];
+		stream(managerTemplateId, rs -> {
+			try {
+				printer.printRecord(read(rs, values));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		// The servlet container owns the response stream
+		printer.flush();
+	}
+
+	private void exportXlsx(Long managerTemplateId, OutputStream out) throws IOException {
+		SXSSFWorkbook workbook = new SXSSFWorkbook(xlsxWindowRows);
+		workbook.setCompressTempFiles(true);
+		try {
+			Object[] values = new Object[HEADERS.length];
+			Sheet[] sheet = { newSheet(workbook) };
+			stream(managerTemplateId, rs -> {
+				// A sheet holds about a million rows; large exports continue on the next one
+				if (sheet[0].getLastRowNum() + 1 >= XLSX_MAX_ROWS) {
+					sheet[0] = newSheet(workbook);
+				}
+				Row row = sheet[0].createRow(sheet[0].getLastRowNum() + 1);
+				read(rs, values);
+				for (int i = 0; i < values.length; i++) {
+					Object value = values[i];
+					if (value instanceof Number number) {
+						row.createCell(i).setCellValue(number.doubleValue());
+					} else if (value != null) {
+						row.createCell(i).setCellValue(value.toString());
+					}
+				}
+			});
+			workbook.write(out);
+		} finally {
+			workbook.close();
+			workbook.dispose();
+		}
+	}
+
+	private static Sheet newSheet(SXSSFWorkbook workbook) {
+		Sheet sheet = workbook.createSheet("Results " + (workbook.getNumberOfSheets() + 1));
+		Row header = sheet.createRow(0);
+		for (int i = 0; i < HEADERS.length; i++) {
+			header.createCell(i).setCellValue(HEADERS[i]);
+		}
+		return sheet;
+	}
+
+	private void stream(Long managerTemplateId, RowCallbackHandler sink) {
+		String sql = "SELECT s.user_evaluation_id, s.user_id, u.first_name, u.last_name, u.email, "
+				+ "s.manager_template_category_id, c.category_name, s.score, "
+				+ "a.question_id, q.question, a.selected_option, q.answer "
+				+ "FROM " + schema + ".user_evalutaion_summary s "
+				+ "JOIN " + schema + ".manager_template_category_map m "
+				+ "ON m.manager_template_category_id = s.manager_template_category_id "
+				+ "LEFT JOIN " + schema + ".user_profile u ON u.user_id = s.user_id "
+				+ "LEFT JOIN " + schema + ".category c ON c.category_id = m.category_id "
+				+ "LEFT JOIN " + schema + ".user_question_answer_results a "
+				+ "ON a.user_id = s.user_id AND a.manager_template_category_id = s.manager_template_category_id "
+				// Each evaluation lists the answers of the attempt it graded
+				+ "AND a.attempt = (SELECT COUNT(*) FROM " + schema + ".user_evalutaion_summary p "
+				+ "WHERE p.user_id = s.user_id AND p.manager_template_category_id = s.manager_template_category_id "
+				+ "AND p.user_evaluation_id <= s.user_evaluation_id) "
+				+ "LEFT JOIN " + schema + ".question_answer q ON q.question_id = a.question_id "
+				+ "WHERE m.manager_template_id = ? "
+				+ "ORDER BY s.user_evaluation_id, a.question_id";
+		readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+			PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+					ResultSet.CONCUR_READ_ONLY);
+			ps.setFetchSize(fetchSize);
+			ps.setLong(1, managerTemplateId);
+			return ps;
+		}, sink));
+	}
+
+	private static Object[] read(ResultSet rs, Object[] values) throws SQLException {
+		for (int i = 0; i < values.length; i++) {
+			values[i] = rs.getObject(i + 1);
+		}
+		return values;
+	}
+}
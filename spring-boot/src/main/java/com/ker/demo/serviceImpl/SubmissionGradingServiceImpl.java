@@ -0,0 +1,306 @@
+package com.ker.demo.serviceImpl;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ker.demo.domin.SubmissionStatus;
+import com.ker.demo.entity.UserEvaluationSummaryEntity;
+import com.ker.demo.entity.UserSubmissionEntity;
+import com.ker.demo.repository.ManagerTemplateCategoryMapRepository;
+import com.ker.demo.repository.UserEvaluationSummaryRepository;
+import com.ker.demo.repository.UserRepo;
+import com.ker.demo.repository.UserSubmissionRepository;
+import com.ker.demo.service.CandidateAssessmentService;
+import com.ker.demo.service.CandidateAssessmentService.SubmitRequest;
+import com.ker.demo.service.ExamAutosaveService;
+import com.ker.demo.service.SubmissionGradingService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Accepts exam submissions by writing the raw answers to user_submission under
+ * a fresh ticket and grades them off the request thread. Workers drain the
+ * ticket queue in batches and grade each batch in one transaction; a batch
+ * that fails is retried ticket by ticket so one bad submission only fails
+ * itself. The claim (PENDING -> GRADING) happens inside the grading
+ * transaction, so a crash simply leaves the ticket PENDING and the periodic
+ * sweep queues it again.
+ */
+@Service
+public class SubmissionGradingServiceImpl implements SubmissionGradingService {
+
+	static final String PENDING = "PENDING";
+	static final String GRADING = "GRADING";
+	static final String GRADED = "GRADED";
+	static final String FAILED = "FAILED";
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Autowired
+	private ManagerTemplateCategoryMapRepository managerTemplateCategoryMapRepository;
+
+	@Autowired
+	private UserSubmissionRepository userSubmissionRepository;
+
+	@Autowired
+	private UserEvaluationSummaryRepository evaluationRepo;
+
+	@Autowired
+	private CandidateAssessmentService candidateAssessmentService;
+
+	@Autowired
+	private ExamAutosaveService examAutosaveService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${exam.grading.workers:4}")
+	private int workers;
+
+	@Value("${exam.grading.batch-size:50}")
+	private int batchSize;
+
+	@Value("${exam.grading.recovery-batch-size:500}")
+	private int recoveryBatchSize;
+
+	@Value("${exam.grading.result-cache.max-entries:5000}")
+	private int maxCachedResults;
+
+	private ExecutorService executor;
+	private TransactionTemplate transactionTemplate;
+
+	private final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+	private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+	private final Map<String, Map<String, Object>> results = new LinkedHashMap<>(256, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+			return size() > maxCachedResults;
+		}
+	};
+
+	@PostConstruct
+	void start() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		executor = Executors.newFixedThreadPool(workers, Thread.ofVirtual().name("exam-grading-", 0).factory());
+		for (int i = 0; i < workers; i++) {
+			executor.execute(this::work);
+		}
+	}
+
+	@PreDestroy
+	void stop() {
+		executor.shutdownNow();
+	}
+
+	@Override
+	@Transactional
+	public SubmissionStatus submit(Long userId, Long managerTemplateId, SubmitRequest request) {
+		if (request == null || request.answers == null || request.answers.isEmpty()) {
+			throw new IllegalArgumentException("Answers are required.");
+		}
+		if (!userRepo.existsById(userId)) {
+			throw new NoSuchElementException("Candidate not found.");
+		}
+		if (!managerTemplateCategoryMapRepository.existsByManagerTemplateId(managerTemplateId)) {
+			throw new NoSuchElementException("Exam not found.");
+		}
+
+		String ticket = UUID.randomUUID().toString();
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		List<UserSubmissionEntity> rows = new ArrayList<>(request.answers.size());
+		for (Map.Entry<String, String> answer : request.answers.entrySet()) {
+			if (answer.getValue() == null) {
+				continue;
+			}
+			UserSubmissionEntity row = new UserSubmissionEntity();
+			row.setUserId(String.valueOf(userId));
+			row.setQuestionId(parseQuestionId(answer.getKey()));
+			row.setSelectedOption(answer.getValue());
+			row.setSubmittedDate(now);
+			row.setTicket(ticket);
+			row.setManagerTemplateId(managerTemplateId);
+			row.setGradingStatus(PENDING);
+			rows.add(row);
+		}
+		if (rows.isEmpty()) {
+			throw new IllegalArgumentException("Answers are required.");
+		}
+		userSubmissionRepository.bulkInsert(rows);
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				// Autosaved deltas still waiting to flush must not overwrite the submission
+				examAutosaveService.discard(userId, managerTemplateId);
+				enqueue(ticket);
+			}
+		});
+		return new SubmissionStatus(ticket, managerTemplateId, PENDING, now, null, null);
+	}
+
+	@Override
+	public Optional<SubmissionStatus> getStatus(Long userId, String ticket) {
+		List<UserSubmissionEntity> rows = userSubmissionRepository.findByTicketOrderBySubmissionIdAsc(ticket);
+		if (rows.isEmpty() || !String.valueOf(userId).equals(rows.get(0).getUserId())) {
+			return Optional.empty();
+		}
+		UserSubmissionEntity first = rows.get(0);
+		Map<String, Object> result = null;
+		if (GRADED.equals(first.getGradingStatus())) {
+			synchronized (results) {
+				result = results.get(ticket);
+			}
+			if (result == null) {
+				result = summaryResult(userId, first.getManagerTemplateId());
+			}
+		}
+		return Optional.of(new SubmissionStatus(ticket, first.getManagerTemplateId(), first.getGradingStatus(),
+				first.getSubmittedDate(), first.getGradedDate(), result));
+	}
+
+	/*
+	 * Picks up tickets that were committed but never graded, e.g. because the
+	 * instance stopped before its queue drained.
+	 */
+	@Scheduled(initialDelayString = "${exam.grading.recovery-interval-ms:60000}",
+			fixedDelayString = "${exam.grading.recovery-interval-ms:60000}")
+	void requeuePending() {
+		try {
+			userSubmissionRepository.findTicketsByStatus(PENDING, PageRequest.of(0, recoveryBatchSize))
+					.forEach(this::enqueue);
+		} catch (RuntimeException e) {
+			System.err.println("Could not scan pending submissions: " + e.getMessage());
+		}
+	}
+
+	private void enqueue(String ticket) {
+		if (queued.add(ticket)) {
+			queue.add(ticket);
+		}
+	}
+
+	private void work() {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				List<String> batch = new ArrayList<>(batchSize);
+				batch.add(queue.take());
+				queue.drainTo(batch, batchSize - 1);
+				batch.forEach(queued::remove);
+				gradeBatch(batch);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void gradeBatch(List<String> tickets) {
+		try {
+			Map<String, Map<String, Object>> graded = transactionTemplate.execute(status -> {
+				Map<String, Map<String, Object>> batchResults = new LinkedHashMap<>();
+				for (String ticket : tickets) {
+					Map<String, Object> result = grade(ticket);
+					if (result != null) {
+						batchResults.put(ticket, result);
+					}
+				}
+				return batchResults;
+			});
+			remember(graded);
+		} catch (RuntimeException e) {
+			if (tickets.size() == 1) {
+				markFailed(tickets.get(0), e);
+				return;
+			}
+			for (String ticket : tickets) {
+				gradeBatch(List.of(ticket));
+			}
+		}
+	}
+
+	private Map<String, Object> grade(String ticket) {
+		if (userSubmissionRepository.transition(ticket, PENDING, GRADING, null) == 0) {
+			return null; // already graded, or being graded by another instance
+		}
+		List<UserSubmissionEntity> rows = userSubmissionRepository.findByTicketOrderBySubmissionIdAsc(ticket);
+		UserSubmissionEntity first = rows.get(0);
+
+		SubmitRequest request = new SubmitRequest();
+		request.answers = new LinkedHashMap<>();
+		for (UserSubmissionEntity row : rows) {
+			request.answers.put(String.valueOf(row.getQuestionId()), row.getSelectedOption());
+		}
+		Map<String, Object> result = candidateAssessmentService.submitExam(Long.valueOf(first.getUserId()),
+				first.getManagerTemplateId(), request);
+
+		userSubmissionRepository.transition(ticket, GRADING, GRADED, new Timestamp(System.currentTimeMillis()));
+		return result;
+	}
+
+	private void markFailed(String ticket, RuntimeException cause) {
+		System.err.println("Grading failed for submission " + ticket + ": " + cause.getMessage());
+		try {
+			transactionTemplate.executeWithoutResult(status -> userSubmissionRepository.transition(ticket, PENDING,
+					FAILED, new Timestamp(System.currentTimeMillis())));
+		} catch (RuntimeException e) {
+			System.err.println("Could not mark submission " + ticket + " as failed: " + e.getMessage());
+		}
+	}
+
+	private void remember(Map<String, Map<String, Object>> graded) {
+		if (graded == null || graded.isEmpty()) {
+			return;
+		}
+		synchronized (results) {
+			results.putAll(graded);
+		}
+	}
+
+	// Results evicted from memory are served from the stored per-category scores
+	private Map<String, Object> summaryResult(Long userId, Long managerTemplateId) {
+		List<Map<String, Object>> categories = new ArrayList<>();
+		for (UserEvaluationSummaryEntity summary : evaluationRepo.findByUserIdAndManagerTemplateId(userId,
+				managerTemplateId)) {
+			Map<String, Object> category = new LinkedHashMap<>();
+			category.put("managerTemplateCategoryId", summary.getManagerTemplateCategoryId());
+			category.put("score", summary.getScore());
+			categories.add(category);
+		}
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("summaries", categories);
+		return result;
+	}
+
+	private static Long parseQuestionId(String questionId) {
+		try {
+			return Long.valueOf(questionId);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid question id: " + questionId);
+		}
+	}
+}
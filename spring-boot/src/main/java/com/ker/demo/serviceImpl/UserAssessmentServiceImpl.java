@@ -1,5 +1,6 @@
 package com.ker.demo.serviceImpl;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -13,11 +14,10 @@ import org.springframework.transaction.annotation.Transactional;
 import com.ker.demo.domin.Status;
 import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
 import com.ker.demo.entity.UserAssessmentTemplateMapEntity;
-import com.ker.demo.entity.UserEntity;
 import com.ker.demo.entity.UserEvaluationSummaryEntity;
 import com.ker.demo.repository.UserAssessmentRepository;
 import com.ker.demo.repository.UserEvaluationSummaryRepository;
-import com.ker.demo.repository.UserRepo;
+import com.ker.demo.service.AssessmentStatusCounterService;
 import com.ker.demo.service.UserAssessmentService;
 
 @Service
@@ -30,7 +30,7 @@ public class UserAssessmentServiceImpl implements UserAssessmentService {
 	private UserEvaluationSummaryRepository evaluationRepo;
 	
 	@Autowired
-	private UserRepo userRepo;
+	private AssessmentStatusCounterService statusCounterService;
 
 	private static final Map<Integer, String> STATUS_MAP = Map.of(0, "Scheduled", 1, "Pending", 2, "Overdue", 3, "Completed",
 			4, "Fail");
@@ -91,32 +91,22 @@ public class UserAssessmentServiceImpl implements UserAssessmentService {
 	}
 	
 	@Override
-	@Transactional(readOnly = true)
 	public Map<String, Object> getAllUserAssessmentCountsByManager(Long managerId) {
-	    List<UserEntity> users = userRepo.findByReportingManagerId(managerId);
+	    // Reports and counts both come from the counter service's in-memory snapshot
+	    List<Long> userIds = statusCounterService.getUserIds(managerId);
 
-	    if (users.isEmpty()) {
+	    if (userIds.isEmpty()) {
 	        return Map.of("managerId", managerId, "userIds", List.of(), "statusCounts", Map.of());
 	    }
 
-	    List<Long> userIds = users.stream().map(UserEntity::getUserId).toList();
-
-	    List<UserAssessmentTemplateMapEntity> entities = userAssessmentRepository.findAllByUserIdIn(userIds);
-
-	    if (entities.isEmpty()) {
+	    long[] counts = statusCounterService.getStatusCounts(managerId);
+	    if (Arrays.stream(counts).sum() == 0) {
 	        return Map.of("managerId", managerId, "userIds", userIds, "statusCounts", Map.of());
 	    }
 
-	    Map<String, Long> mergedCountMap = entities.stream()
-	            .collect(Collectors.groupingBy(
-	                    e -> STATUS_MAP.getOrDefault(e.getStatus(), "Unknown"),
-	                    Collectors.counting()
-	            ));
-
 	    Map<String, Long> orderedMap = new LinkedHashMap<>();
-	    for (int i = 0; i <= 4; i++) {
-	        String label = STATUS_MAP.get(i);
-	        orderedMap.put(label, mergedCountMap.getOrDefault(label, 0L));
+	    for (int i = 0; i < AssessmentStatusCounterService.STATUS_COUNT; i++) {
+	        orderedMap.put(STATUS_MAP.get(i), counts[i]);
 	    }
 
 	    Map<String, Object> response = new LinkedHashMap<>();
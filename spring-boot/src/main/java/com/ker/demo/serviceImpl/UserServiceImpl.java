@@ -2,6 +2,7 @@ package com.ker.demo.serviceImpl;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -9,8 +10,10 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import com.ker.demo.domin.KeysetPage;
 import com.ker.demo.domin.User;
 import com.ker.demo.domin.UserStatus;
 import com.ker.demo.entity.ReportingMangerEntity;
@@ -19,14 +22,21 @@ import com.ker.demo.entity.UserEntity;
 import com.ker.demo.repository.ReportingManagerRepo;
 import com.ker.demo.repository.RoleRepo;
 import com.ker.demo.repository.UserRepo;
+import com.ker.demo.service.AssignedExamCacheService;
+import com.ker.demo.service.ManagerRollupCacheService;
 import com.ker.demo.service.RoleService;
 import com.ker.demo.service.UserService;
+import com.ker.demo.utils.Keyset;
+
+import jakarta.persistence.criteria.Predicate;
 
 import jakarta.transaction.Transactional;
 
 @Service
 @Transactional
 public class UserServiceImpl implements UserService {
+
+	private static final Keyset<UserEntity> USER_KEYSET = Keyset.byId("userId", UserEntity::getUserId, false);
 	
 	@Autowired
 	private RoleService roleService;
@@ -39,6 +49,12 @@ public class UserServiceImpl implements UserService {
 
 	@Autowired
 	private ReportingManagerRepo reportRepo;
+
+	@Autowired
+	private AssignedExamCacheService assignedExamCacheService;
+
+	@Autowired
+	private ManagerRollupCacheService managerRollupCacheService;
 	
 	@Override
 	public User createUser(User user) {
@@ -80,6 +96,7 @@ public class UserServiceImpl implements UserService {
 	            
 	            savedUser.setReportingManagerId(savedManagerEntity.getUserMangerId());
 	            userRespo.save(savedUser);
+	            managerRollupCacheService.evictAll();
 	        }
 	    }
 	    savedUser = userRespo.findById(savedUser.getUserId())
@@ -172,14 +189,33 @@ public class UserServiceImpl implements UserService {
 		}
 		return users;
 	}
+
+	@Override
+	public KeysetPage<User> getUsers(String status, Long roleId, Long reportingManagerId, String email, String after,
+			Integer limit) {
+		Specification<UserEntity> filter = (root, query, cb) -> {
+			List<Predicate> predicates = new ArrayList<>();
+			if (status != null) {
+				predicates.add(cb.equal(root.get("status"), status));
+			}
+			if (roleId != null) {
+				predicates.add(cb.equal(root.get("userRoleId"), roleId));
+			}
+			if (reportingManagerId != null) {
+				predicates.add(cb.equal(root.get("reportingManagerId"), reportingManagerId));
+			}
+			if (email != null) {
+				predicates.add(Keyset.startsWith(cb, cb.lower(root.get("email")), email.toLowerCase()));
+			}
+			return cb.and(predicates.toArray(Predicate[]::new));
+		};
+		return USER_KEYSET.page(userRespo, filter, after, limit).map(this::convertEntityToData);
+	}
 	
 	@Override
 	public List<User> getAllManagerDetails() {
-	    return userRespo.findAll().stream()
-	        .filter(user -> {
-	            RoleEntity role = rolerepo.findById(user.getUserRoleId()).orElse(null);
-	            return role != null && "manager".equalsIgnoreCase(role.getCode());
-	        })
+	    // Role filter and reporting manager resolved in one query instead of a lookup per user
+	    return userRespo.findManagers().stream()
 	        .map(this::convertEntityToData)
 	        .collect(Collectors.toList());
 	}
@@ -196,6 +232,8 @@ public class UserServiceImpl implements UserService {
 			throw new NoSuchElementException("User with ID " + id + " not found.");
 		}
 		userRespo.deleteById(id);
+		assignedExamCacheService.evictUsers(List.of(id));
+		managerRollupCacheService.evictAll();
 	}
 
 	private User convertEntityToData(UserEntity userEntity) {
@@ -0,0 +1,30 @@
+package com.ker.demo.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache invalidation that holds across the surrounding transaction.
+ */
+public final class AfterCommit {
+
+	private AfterCommit() {
+	}
+
+	/**
+	 * Runs the action now and, inside a transaction, once more after it commits.
+	 * The first run stops serving stale entries; the second drops anything a
+	 * concurrent reader reloaded from the not yet committed state.
+	 */
+	public static void runNowAndAfterCommit(Runnable action) {
+		action.run();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.ker.demo.utils;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Floyd's algorithm: draws {@code k} distinct indices with exactly {@code k}
+ * random numbers and O(k) memory, independent of {@code n}. Membership is
+ * checked in a small open-addressing table and the result is shuffled so the
+ * order is random as well.
+ */
+public final class FloydSampler implements IndexSampler {
+
+	public static final FloydSampler INSTANCE = new FloydSampler();
+
+	private FloydSampler() {
+	}
+
+	@Override
+	public int[] sample(int n, int k, RandomGenerator random) {
+		int size = Math.max(0, Math.min(k, n));
+		int[] picked = new int[size];
+		if (size == 0) {
+			return picked;
+		}
+
+		// Slots hold index + 1 so that zero marks an empty slot
+		int[] table = new int[Integer.highestOneBit(size * 2 - 1) << 1];
+		int mask = table.length - 1;
+		int count = 0;
+		for (int j = n - size; j < n; j++) {
+			int t = random.nextInt(j + 1);
+			int value = insert(table, mask, t) ? t : j;
+			if (value == j) {
+				insert(table, mask, j);
+			}
+			picked[count++] = value;
+		}
+
+		for (int i = size - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int swap = picked[i];
+			picked[i] = picked[j];
+			picked[j] = swap;
+		}
+		return picked;
+	}
+
+	private static boolean insert(int[] table, int mask, int value) {
+		int slot = (value * 0x9E3779B9) & mask;
+		while (table[slot] != 0) {
+			if (table[slot] == value + 1) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = value + 1;
+		return true;
+	}
+}
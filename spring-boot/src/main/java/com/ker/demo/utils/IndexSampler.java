@@ -0,0 +1,18 @@
+package com.ker.demo.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks {@code k} distinct indices out of {@code [0, n)} in random order.
+ * Implementations work on primitive arrays only; pass a seeded
+ * {@link java.util.SplittableRandom} for reproducible results.
+ */
+public interface IndexSampler {
+
+	int[] sample(int n, int k, RandomGenerator random);
+
+	default int[] sample(int n, int k) {
+		return sample(n, k, ThreadLocalRandom.current());
+	}
+}
@@ -0,0 +1,35 @@
+package com.ker.demo.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Chooses an {@link IndexSampler} per call. Floyd's algorithm is used while
+ * {@code k} is a small fraction of {@code n}, where filling an n-sized index
+ * array would dominate; otherwise a partial Fisher-Yates is cheaper. The
+ * choice depends only on {@code n} and {@code k}, so seeded callers stay
+ * reproducible.
+ */
+public final class IndexSamplers {
+
+	/** Floyd is picked when n is at least this many times k. */
+	static final int FLOYD_MIN_RATIO = 8;
+
+	private IndexSamplers() {
+	}
+
+	public static IndexSampler choose(int n, int k) {
+		if (k > 0 && (long) k * FLOYD_MIN_RATIO <= n) {
+			return FloydSampler.INSTANCE;
+		}
+		return PartialFisherYatesSampler.INSTANCE;
+	}
+
+	public static int[] sample(int n, int k, RandomGenerator random) {
+		return choose(n, k).sample(n, k, random);
+	}
+
+	public static int[] sample(int n, int k) {
+		return sample(n, k, ThreadLocalRandom.current());
+	}
+}
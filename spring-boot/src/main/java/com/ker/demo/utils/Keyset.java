@@ -0,0 +1,186 @@
+package com.ker.demo.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ker.demo.domin.KeysetPage;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Keyset (seek) pagination over a JPA Specification. Rows are ordered by a
+ * sort attribute with the primary key as tie-breaker, and the cursor carries
+ * both values of the last row served, so each page is a range scan on a
+ * (sort, id) index and costs the same at any depth. The sort attribute must
+ * be non-null.
+ */
+public final class Keyset<T> {
+
+	public static final int DEFAULT_LIMIT = 50;
+	public static final int MAX_LIMIT = 500;
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final String sortAttribute;
+	private final Function<T, Object> sortValue;
+	private final String idAttribute;
+	private final Function<T, Object> idValue;
+	private final boolean descending;
+
+	private Keyset(String sortAttribute, Function<T, Object> sortValue, String idAttribute,
+			Function<T, Object> idValue, boolean descending) {
+		this.sortAttribute = sortAttribute;
+		this.sortValue = sortValue;
+		this.idAttribute = idAttribute;
+		this.idValue = idValue;
+		this.descending = descending;
+	}
+
+	public static <T> Keyset<T> byId(String idAttribute, Function<T, Object> idValue, boolean descending) {
+		return new Keyset<>(idAttribute, idValue, idAttribute, idValue, descending);
+	}
+
+	public static <T> Keyset<T> by(String sortAttribute, Function<T, Object> sortValue, String idAttribute,
+			Function<T, Object> idValue, boolean descending) {
+		return new Keyset<>(sortAttribute, sortValue, idAttribute, idValue, descending);
+	}
+
+	/**
+	 * Picks the keyset named by a {@code field} or {@code -field} (descending)
+	 * sort parameter; a null parameter selects {@code defaultSort}.
+	 */
+	public static <T> Keyset<T> forSort(String sort, String defaultSort, Map<String, Keyset<T>> options) {
+		String name = sort == null ? defaultSort : sort;
+		boolean reversed = name.startsWith("-");
+		Keyset<T> keyset = options.get(reversed ? name.substring(1) : name);
+		if (keyset == null) {
+			throw new IllegalArgumentException("Unsupported sort: " + sort + ". Use one of " + options.keySet() + ".");
+		}
+		return reversed ? keyset.reversed() : keyset;
+	}
+
+	/**
+	 * Prefix filter for list endpoints. {@code %}, {@code _} and the escape
+	 * character in the prefix match literally, so the filter stays a prefix
+	 * range scan instead of turning into a pattern supplied by the caller.
+	 */
+	public static Predicate startsWith(CriteriaBuilder cb, Expression<String> expression, String prefix) {
+		String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+		return cb.like(expression, escaped + "%", '\\');
+	}
+
+	public Keyset<T> reversed() {
+		return new Keyset<>(sortAttribute, sortValue, idAttribute, idValue, !descending);
+	}
+
+	/**
+	 * Reads the page after the cursor. One extra row is fetched to tell
+	 * whether another page follows; no count query is issued.
+	 */
+	public KeysetPage<T> page(JpaSpecificationExecutor<T> repository, Specification<T> filter, String after,
+			Integer limit) {
+		int size = limit == null ? DEFAULT_LIMIT : limit;
+		if (size < 1 || size > MAX_LIMIT) {
+			throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ".");
+		}
+		Specification<T> spec = after == null ? filter : filter == null ? seek(after) : filter.and(seek(after));
+		List<T> rows;
+		try {
+			rows = repository.findBy(spec, query -> query.sortBy(sort()).limit(size + 1).all());
+		} catch (InvalidDataAccessApiUsageException e) {
+			// A cursor key of the wrong type surfaces here, translated by the repository proxy
+			if (after != null && e.getCause() instanceof IllegalArgumentException) {
+				throw new IllegalArgumentException("Invalid cursor.");
+			}
+			throw e;
+		}
+		if (rows.size() <= size) {
+			return new KeysetPage<>(rows, null);
+		}
+		List<T> items = rows.subList(0, size);
+		return new KeysetPage<>(List.copyOf(items), cursorOf(items.get(size - 1)));
+	}
+
+	private Sort sort() {
+		Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+		Sort sort = Sort.by(direction, sortAttribute);
+		return sortAttribute.equals(idAttribute) ? sort : sort.and(Sort.by(direction, idAttribute));
+	}
+
+	private Specification<T> seek(String after) {
+		List<Object> keys = decode(after);
+		return (root, query, cb) -> {
+			Path<Comparable<Object>> id = root.get(idAttribute);
+			if (sortAttribute.equals(idAttribute)) {
+				return beyond(cb, id, convert(keys.get(0), id.getJavaType()));
+			}
+			if (keys.size() < 2) {
+				throw new IllegalArgumentException("Invalid cursor.");
+			}
+			Path<Comparable<Object>> sorted = root.get(sortAttribute);
+			Comparable<Object> sortKey = convert(keys.get(0), sorted.getJavaType());
+			Predicate tie = cb.and(cb.equal(sorted, sortKey), beyond(cb, id, convert(keys.get(1), id.getJavaType())));
+			return cb.or(beyond(cb, sorted, sortKey), tie);
+		};
+	}
+
+	private Predicate beyond(CriteriaBuilder cb, Path<Comparable<Object>> path, Comparable<Object> key) {
+		return descending ? cb.lessThan(path, key) : cb.greaterThan(path, key);
+	}
+
+	private String cursorOf(T last) {
+		List<Object> keys = sortAttribute.equals(idAttribute)
+				? List.of(idValue.apply(last))
+				: List.of(sortValue.apply(last), idValue.apply(last));
+		try {
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(keys));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Cannot encode cursor", e);
+		}
+	}
+
+	private static List<Object> decode(String cursor) {
+		try {
+			List<Object> keys = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII)),
+					new TypeReference<List<Object>>() {});
+			if (keys.isEmpty() || keys.contains(null)) {
+				throw new IllegalArgumentException("Invalid cursor.");
+			}
+			return keys;
+		} catch (IOException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor.");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Comparable<Object> convert(Object value, Class<?> type) {
+		if (type == String.class) {
+			return (Comparable<Object>) (Comparable<?>) value.toString();
+		}
+		if (!(value instanceof Number number)) {
+			throw new IllegalArgumentException("Invalid cursor.");
+		}
+		if (type == Long.class || type == long.class) {
+			return (Comparable<Object>) (Comparable<?>) number.longValue();
+		}
+		if (type == Integer.class || type == int.class) {
+			return (Comparable<Object>) (Comparable<?>) number.intValue();
+		}
+		throw new IllegalArgumentException("Unsupported keyset attribute type: " + type.getName());
+	}
+}
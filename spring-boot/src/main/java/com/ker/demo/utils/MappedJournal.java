@@ -0,0 +1,180 @@
+package com.ker.demo.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only record journal over fixed-size memory-mapped segment files.
+ * Each record is written as {@code [length][crc32][payload]}; a zero length
+ * marks the end of a segment and a record whose checksum does not match (a
+ * torn write) ends replay of that segment.
+ *
+ * Writes land in the page cache as soon as {@link #append} returns, so they
+ * survive a crash of the JVM; {@link #force} additionally flushes them to disk.
+ * Callers checkpoint with {@link #roll()} and {@link #delete(List)} once the
+ * journaled data is stored elsewhere.
+ */
+public final class MappedJournal implements Closeable {
+
+	private static final String PREFIX = "journal-";
+	private static final String SUFFIX = ".log";
+	private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+	private final Path directory;
+	private final int segmentBytes;
+
+	private long sequence;
+	private Path segmentPath;
+	private FileChannel channel;
+	private MappedByteBuffer segment;
+
+	public MappedJournal(Path directory, int segmentBytes) {
+		this.directory = directory;
+		this.segmentBytes = segmentBytes;
+		try {
+			Files.createDirectories(directory);
+			List<Path> existing = segments();
+			sequence = existing.isEmpty() ? 0 : sequenceOf(existing.get(existing.size() - 1));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open journal in " + directory, e);
+		}
+	}
+
+	/** Calls the consumer with the payload of every intact record, oldest first. */
+	public synchronized void replay(Consumer<ByteBuffer> consumer) {
+		try {
+			for (Path path : segments()) {
+				try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+					ByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+					while (buffer.remaining() >= HEADER_BYTES) {
+						int length = buffer.getInt();
+						int checksum = buffer.getInt();
+						if (length <= 0 || length > buffer.remaining()) {
+							break;
+						}
+						ByteBuffer payload = buffer.slice(buffer.position(), length);
+						if (checksum != checksum(payload)) {
+							break;
+						}
+						consumer.accept(payload.asReadOnlyBuffer());
+						buffer.position(buffer.position() + length);
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot replay journal in " + directory, e);
+		}
+	}
+
+	public synchronized void append(byte[] payload) {
+		if (payload.length + HEADER_BYTES > segmentBytes) {
+			throw new IllegalArgumentException("Journal record larger than a segment");
+		}
+		if (segment == null || segment.remaining() < payload.length + HEADER_BYTES * 2) {
+			openNextSegment();
+		}
+		ByteBuffer body = ByteBuffer.wrap(payload);
+		segment.putInt(payload.length);
+		segment.putInt(checksum(body));
+		segment.put(payload);
+	}
+
+	public synchronized void force() {
+		if (segment != null) {
+			segment.force();
+		}
+	}
+
+	/**
+	 * Closes the current segment so new records go to a fresh one and returns
+	 * the segments written so far, which the caller deletes once their records
+	 * are safely stored.
+	 */
+	public synchronized List<Path> roll() {
+		try {
+			List<Path> written = segments();
+			closeSegment();
+			return written;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot roll journal in " + directory, e);
+		}
+	}
+
+	public synchronized void delete(List<Path> segments) {
+		for (Path path : segments) {
+			if (path.equals(segmentPath)) {
+				continue;
+			}
+			try {
+				Files.deleteIfExists(path);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot delete journal segment " + path, e);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		try {
+			closeSegment();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot close journal in " + directory, e);
+		}
+	}
+
+	private void openNextSegment() {
+		try {
+			closeSegment();
+			segmentPath = directory.resolve(PREFIX + String.format("%019d", ++sequence) + SUFFIX);
+			channel = FileChannel.open(segmentPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open journal segment in " + directory, e);
+		}
+	}
+
+	private void closeSegment() throws IOException {
+		if (segment != null) {
+			segment.force();
+			segment = null;
+		}
+		if (channel != null) {
+			channel.close();
+			channel = null;
+		}
+		segmentPath = null;
+	}
+
+	private List<Path> segments() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files
+					.filter(path -> path.getFileName().toString().startsWith(PREFIX)
+							&& path.getFileName().toString().endsWith(SUFFIX))
+					.sorted()
+					.toList();
+		}
+	}
+
+	private static long sequenceOf(Path path) {
+		String name = path.getFileName().toString();
+		return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+	}
+
+	private static int checksum(ByteBuffer payload) {
+		CRC32 crc = new CRC32();
+		crc.update(payload.duplicate());
+		return (int) crc.getValue();
+	}
+}
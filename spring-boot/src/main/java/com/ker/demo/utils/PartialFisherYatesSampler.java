@@ -0,0 +1,36 @@
+package com.ker.demo.utils;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Fisher-Yates that stops after {@code k} swaps. Needs an index array of size
+ * {@code n}, so it suits the case where {@code k} is a sizeable part of the pool.
+ */
+public final class PartialFisherYatesSampler implements IndexSampler {
+
+	public static final PartialFisherYatesSampler INSTANCE = new PartialFisherYatesSampler();
+
+	private PartialFisherYatesSampler() {
+	}
+
+	@Override
+	public int[] sample(int n, int k, RandomGenerator random) {
+		int size = Math.max(0, Math.min(k, n));
+		int[] indices = new int[n];
+		for (int i = 0; i < n; i++) {
+			indices[i] = i;
+		}
+		for (int i = 0; i < size; i++) {
+			int j = i + random.nextInt(n - i);
+			int swap = indices[i];
+			indices[i] = indices[j];
+			indices[j] = swap;
+		}
+		if (size == n) {
+			return indices;
+		}
+		int[] picked = new int[size];
+		System.arraycopy(indices, 0, picked, 0, size);
+		return picked;
+	}
+}
@@ -0,0 +1,24 @@
+package com.ker.demo.utils;
+
+/**
+ * Per-thread count of the SQL statements executed through
+ * {@link QueryCountingDataSource}. The count only ever grows, so a caller
+ * measures a unit of work as the difference between two readings of
+ * {@link #current()} on the same thread; nested measurements (a request
+ * inside a test) therefore need no coordination.
+ */
+public final class QueryCounter {
+
+	private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+	private QueryCounter() {
+	}
+
+	public static long current() {
+		return COUNT.get()[0];
+	}
+
+	static void increment() {
+		COUNT.get()[0]++;
+	}
+}
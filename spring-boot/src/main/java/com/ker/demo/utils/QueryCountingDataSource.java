@@ -0,0 +1,74 @@
+package com.ker.demo.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Counts every statement executed through the wrapped data source on the
+ * calling thread's {@link QueryCounter}, whether it comes from Hibernate,
+ * JdbcTemplate or a raw connection callback. A batch counts once, as it is
+ * one round trip.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+	public QueryCountingDataSource(DataSource target) {
+		super(target);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return countingConnection(obtainTargetDataSource().getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return countingConnection(obtainTargetDataSource().getConnection(username, password));
+	}
+
+	private static Connection countingConnection(Connection target) {
+		return proxy(Connection.class, target, (proxy, method, args) -> {
+			Object result = invoke(target, method, args);
+			if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+				return countingStatement(method.getReturnType(), statement);
+			}
+			return result;
+		});
+	}
+
+	private static Object countingStatement(Class<?> type, Statement target) {
+		return proxy(type, target, (proxy, method, args) -> {
+			if (method.getName().startsWith("execute")) {
+				QueryCounter.increment();
+			}
+			return invoke(target, method, args);
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> switch (method.getName()) {
+					case "equals" -> proxy == args[0];
+					case "hashCode" -> System.identityHashCode(proxy);
+					case "toString" -> "Counting " + target;
+					default -> handler.invoke(proxy, method, args);
+				});
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}
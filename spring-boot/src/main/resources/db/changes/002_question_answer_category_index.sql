@@ -0,0 +1,3 @@
+-- Supports per-category id range lookups and probe sampling in QuestionAnswerRepository.
+CREATE INDEX IF NOT EXISTS idx_question_answer_category_question
+    ON ker.question_answer (category_id, question_id);
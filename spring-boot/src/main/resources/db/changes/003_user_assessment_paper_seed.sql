@@ -0,0 +1,2 @@
+-- Per-assignment seed from which the candidate's exam paper is regenerated.
+ALTER TABLE ker.user_assessment_template_map ADD COLUMN IF NOT EXISTS paper_seed BIGINT;
@@ -0,0 +1,7 @@
+-- Links materialized paper questions to the candidate assignment they belong to.
+ALTER TABLE ker.question_assignment ADD COLUMN IF NOT EXISTS user_assessment_template_id BIGINT;
+ALTER TABLE ker.question_assignment ADD COLUMN IF NOT EXISTS manager_template_category_id BIGINT;
+ALTER TABLE ker.question_assignment ADD COLUMN IF NOT EXISTS question_order INTEGER;
+
+CREATE INDEX IF NOT EXISTS idx_question_assignment_user_assessment
+    ON ker.question_assignment (user_assessment_template_id, question_order);
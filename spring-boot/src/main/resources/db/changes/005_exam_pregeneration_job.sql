@@ -0,0 +1,15 @@
+-- Candidates of a scheduling request whose assignment and paper are not
+-- written yet; a row is deleted in the transaction that writes them.
+CREATE TABLE IF NOT EXISTS ker.exam_pregeneration_job (
+    manager_template_id BIGINT      NOT NULL,
+    user_id             BIGINT      NOT NULL,
+    assigned_by         VARCHAR(50) NOT NULL,
+    time_limit          INTEGER,
+    schedule_date       TIMESTAMP,
+    queued_date         TIMESTAMP   NOT NULL,
+    attempts            INTEGER     NOT NULL DEFAULT 0,
+    PRIMARY KEY (manager_template_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_exam_pregeneration_job_queued
+    ON ker.exam_pregeneration_job (queued_date);
@@ -0,0 +1,7 @@
+-- Candidates whose batches failed max-attempts times stay in the queue as
+-- failed, reported by the progress and ops endpoints until rescheduled.
+ALTER TABLE ker.exam_pregeneration_job ADD COLUMN IF NOT EXISTS failed_date TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_exam_pregeneration_job_failed
+    ON ker.exam_pregeneration_job (manager_template_id)
+    WHERE failed_date IS NOT NULL;
@@ -0,0 +1,12 @@
+-- Raw submissions are graded asynchronously; rows of one submission share a ticket.
+ALTER TABLE ker.user_submission ADD COLUMN IF NOT EXISTS ticket VARCHAR(36);
+ALTER TABLE ker.user_submission ADD COLUMN IF NOT EXISTS manager_template_id BIGINT;
+ALTER TABLE ker.user_submission ADD COLUMN IF NOT EXISTS grading_status VARCHAR(20);
+ALTER TABLE ker.user_submission ADD COLUMN IF NOT EXISTS graded_date TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_user_submission_ticket
+    ON ker.user_submission (ticket);
+
+CREATE INDEX IF NOT EXISTS idx_user_submission_open
+    ON ker.user_submission (grading_status, submitted_date)
+    WHERE grading_status IN ('PENDING', 'GRADING');
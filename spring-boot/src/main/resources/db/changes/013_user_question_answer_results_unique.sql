@@ -0,0 +1,20 @@
+-- One answer row per (user, section, question, attempt) so autosave flushes and
+-- final submissions can upsert with ON CONFLICT without overwriting earlier
+-- attempts. Attempt n of a section is the one graded by the user's n-th
+-- evaluation summary of that section; existing rows are numbered in insert order.
+ALTER TABLE ker.user_question_answer_results ADD COLUMN IF NOT EXISTS attempt INTEGER;
+
+UPDATE ker.user_question_answer_results r
+SET attempt = numbered.attempt
+FROM (SELECT user_question_answer_result_id,
+             ROW_NUMBER() OVER (PARTITION BY user_id, manager_template_category_id, question_id
+                                ORDER BY user_question_answer_result_id) AS attempt
+      FROM ker.user_question_answer_results) numbered
+WHERE numbered.user_question_answer_result_id = r.user_question_answer_result_id
+  AND r.attempt IS NULL;
+
+ALTER TABLE ker.user_question_answer_results ALTER COLUMN attempt SET DEFAULT 1;
+ALTER TABLE ker.user_question_answer_results ALTER COLUMN attempt SET NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_user_question_answer_results_attempt
+    ON ker.user_question_answer_results (user_id, manager_template_category_id, question_id, attempt);
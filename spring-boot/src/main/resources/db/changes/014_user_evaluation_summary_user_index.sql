@@ -0,0 +1,3 @@
+-- Keyset pages of a candidate's results walk (user_id, user_evaluation_id).
+CREATE INDEX IF NOT EXISTS idx_user_evaluation_summary_user
+    ON ker.user_evalutaion_summary (user_id, user_evaluation_id);
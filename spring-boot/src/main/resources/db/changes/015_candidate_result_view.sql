@@ -0,0 +1,13 @@
+-- Write-time projection of graded results, one row per user_evalutaion_summary row.
+CREATE TABLE IF NOT EXISTS ker.candidate_result_view (
+    user_evaluation_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    manager_template_id BIGINT,
+    manager_template_category_id BIGINT,
+    result JSONB NOT NULL,
+    detail JSONB NOT NULL,
+    created_date TIMESTAMP DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_candidate_result_view_user
+    ON ker.candidate_result_view (user_id, user_evaluation_id);
@@ -0,0 +1,36 @@
+-- Keyset pages of the list endpoints seek on (filter..., sort, id); name
+-- filters are case-insensitive prefix matches on lower(name).
+CREATE INDEX IF NOT EXISTS idx_user_profile_status_user
+    ON ker.user_profile (status, user_id);
+CREATE INDEX IF NOT EXISTS idx_user_profile_role_user
+    ON ker.user_profile (role_id, user_id);
+CREATE INDEX IF NOT EXISTS idx_user_profile_manager_user
+    ON ker.user_profile (reporting_manager_id, user_id);
+CREATE INDEX IF NOT EXISTS idx_user_profile_email_prefix
+    ON ker.user_profile (lower(email) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_category_name_id
+    ON ker.category (category_name, category_id);
+CREATE INDEX IF NOT EXISTS idx_category_name_prefix
+    ON ker.category (lower(category_name) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_manager_template_name_id
+    ON ker.manager_template (manager_template_name, manager_template_id);
+CREATE INDEX IF NOT EXISTS idx_manager_template_manager
+    ON ker.manager_template (manager_id, manager_template_id);
+CREATE INDEX IF NOT EXISTS idx_manager_template_name_prefix
+    ON ker.manager_template (lower(manager_template_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_manager_template_category_map_template
+    ON ker.manager_template_category_map (manager_template_id);
+
+CREATE INDEX IF NOT EXISTS idx_admin_template_name_id
+    ON ker.admin_template (admin_template_name, admin_template_id);
+CREATE INDEX IF NOT EXISTS idx_admin_template_name_prefix
+    ON ker.admin_template (lower(admin_template_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_admin_template_category_map_template
+    ON ker.admin_template_category_map (admin_template_id);
+
+CREATE INDEX IF NOT EXISTS idx_questionnaire_documents_category
+    ON ker.questionnaire_documents (category_id, questionnaire_document_id);
+CREATE INDEX IF NOT EXISTS idx_questionnaire_documents_uploaded_by
+    ON ker.questionnaire_documents (uploaded_by, questionnaire_document_id);
@@ -0,0 +1,3 @@
+-- The assigned-exams view of a candidate reads their assignments in id order.
+CREATE INDEX IF NOT EXISTS idx_user_assessment_template_map_user
+    ON ker.user_assessment_template_map (user_id, user_assessment_template_id);
@@ -0,0 +1,6 @@
+-- The manager dashboard resolves a manager's reports and the latest score of
+-- each of their assignments in one statement.
+CREATE INDEX IF NOT EXISTS idx_user_manager_map_manager
+    ON ker.user_manager_map (manager_id, user_id);
+CREATE INDEX IF NOT EXISTS idx_user_evaluation_summary_user_section
+    ON ker.user_evalutaion_summary (user_id, manager_template_category_id, user_evaluation_id);
@@ -0,0 +1,13 @@
+-- Assignment counts per manager and status, kept current by the
+-- application and recomputed from the assignments by a periodic reconcile.
+CREATE TABLE IF NOT EXISTS ker.assessment_status_counter (
+    manager_id       BIGINT    NOT NULL,
+    status           INTEGER   NOT NULL,
+    assessment_count BIGINT    NOT NULL DEFAULT 0,
+    reconciled_date  TIMESTAMP NOT NULL,
+    PRIMARY KEY (manager_id, status)
+);
+
+-- Seeding and reconciling count each report's assignments by status.
+CREATE INDEX IF NOT EXISTS idx_user_assessment_template_map_user_status
+    ON ker.user_assessment_template_map (user_id, status);
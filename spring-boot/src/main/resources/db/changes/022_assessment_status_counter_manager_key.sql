@@ -0,0 +1,8 @@
+-- Counters are keyed by user_manager_map.manager_id (the manager's user id).
+-- Rows keyed by user_profile.reporting_manager_id are dropped; each manager is
+-- re-seeded from the assignments on first read.
+DELETE FROM ker.assessment_status_counter;
+
+-- Status changes resolve the managers of the affected reports.
+CREATE INDEX IF NOT EXISTS idx_user_manager_map_user
+    ON ker.user_manager_map (user_id, manager_id);
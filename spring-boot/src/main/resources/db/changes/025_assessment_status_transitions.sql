@@ -0,0 +1,3 @@
+-- The status transition job picks the oldest due assignments of one status.
+CREATE INDEX IF NOT EXISTS idx_user_assessment_template_map_status_schedule
+    ON ker.user_assessment_template_map (status, schedule_date);
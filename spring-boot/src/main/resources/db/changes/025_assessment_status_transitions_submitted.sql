@@ -0,0 +1,3 @@
+-- The status transition job skips assignments whose candidate has already submitted.
+CREATE INDEX IF NOT EXISTS idx_user_submission_user_template
+    ON ker.user_submission (user_id, manager_template_id);
@@ -0,0 +1,112 @@
+package com.ker.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.ker.demo.domin.AnswerKey;
+import com.ker.demo.entity.QuestionAnswerEntity;
+
+/*
+ * Grading cost of one submission against a category of 5,000 questions. The
+ * entity path mirrors the original submitExam: index the loaded category by id
+ * and compare answer strings. The compiled path looks each answer up in an
+ * AnswerKey. Loading the entities from the database is not included, so the
+ * entity numbers are a lower bound. Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.ker.demo.benchmark.AnswerKeyBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnswerKeyBenchmark {
+
+	private static final int POOL_SIZE = 5000;
+	private static final List<String> OPTIONS = List.of("first", "second", "third", "fourth");
+
+	@Param({ "10", "100", "500" })
+	private int answers;
+
+	private List<QuestionAnswerEntity> category;
+	private AnswerKey answerKey;
+	private long[] submittedIds;
+	private String[] submittedLetters;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(7);
+		category = new ArrayList<>(POOL_SIZE);
+		long[] ids = new long[POOL_SIZE];
+		byte[] correct = new byte[POOL_SIZE];
+		for (int i = 0; i < POOL_SIZE; i++) {
+			int option = random.nextInt(OPTIONS.size());
+			QuestionAnswerEntity entity = new QuestionAnswerEntity();
+			entity.setQuestionId(10_000L + i);
+			entity.setAnswer(String.valueOf((char) ('A' + option)));
+			category.add(entity);
+			ids[i] = entity.getQuestionId();
+			correct[i] = (byte) option;
+		}
+		answerKey = new AnswerKey(ids, correct);
+
+		submittedIds = new long[answers];
+		submittedLetters = new String[answers];
+		for (int i = 0; i < answers; i++) {
+			submittedIds[i] = 10_000L + random.nextInt(POOL_SIZE);
+			submittedLetters[i] = String.valueOf((char) ('A' + random.nextInt(OPTIONS.size())));
+		}
+	}
+
+	@Benchmark
+	public int entityMapAndStringCompare() {
+		Map<Long, QuestionAnswerEntity> questionById = new HashMap<>();
+		for (QuestionAnswerEntity entity : category) {
+			questionById.put(entity.getQuestionId(), entity);
+		}
+		int correct = 0;
+		for (int i = 0; i < answers; i++) {
+			QuestionAnswerEntity question = questionById.get(submittedIds[i]);
+			if (question != null && submittedLetters[i].equals(question.getAnswer())) {
+				correct++;
+			}
+		}
+		return correct;
+	}
+
+	@Benchmark
+	public int compiledAnswerKey() {
+		int correct = 0;
+		for (int i = 0; i < answers; i++) {
+			int expected = answerKey.correctOptionIndex(submittedIds[i]);
+			if (expected >= 0 && AnswerKey.selectedOptionIndex(submittedLetters[i], OPTIONS) == expected) {
+				correct++;
+			}
+		}
+		return correct;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(AnswerKeyBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,133 @@
+package com.ker.demo.benchmark;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ker.demo.entity.UserQuestionAnswerResultsEntity;
+import com.ker.demo.repository.UserQuestionAnswerResultsRepositoryImpl;
+
+/*
+ * Per-submission latency of persisting answers: one INSERT per answer (what
+ * repository.save did), a JDBC batch, and the unnest-based bulk writer. Each
+ * invocation is one submission in its own transaction. Needs a PostgreSQL
+ * database; rows go to a scratch schema that is dropped afterwards:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.ker.demo.benchmark.AnswerWriterBenchmark \
+ *       -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/mcq \
+ *       -Dbench.jdbc.user=postgres -Dbench.jdbc.password=postgres
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnswerWriterBenchmark {
+
+	private static final String SCHEMA = "answer_writer_bench";
+
+	@Param({ "10", "100", "500" })
+	private int answers;
+
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+	private UserQuestionAnswerResultsRepositoryImpl writer;
+	private List<UserQuestionAnswerResultsEntity> submission;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/postgres"),
+				System.getProperty("bench.jdbc.user", "postgres"),
+				System.getProperty("bench.jdbc.password", "postgres"));
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+		jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + SCHEMA + ".user_question_answer_results ("
+				+ "user_question_answer_result_id BIGSERIAL PRIMARY KEY, user_id BIGINT NOT NULL, "
+				+ "manager_template_category_id BIGINT, question_id BIGINT NOT NULL, selected_option TEXT NOT NULL)");
+
+		writer = new UserQuestionAnswerResultsRepositoryImpl();
+		ReflectionTestUtils.setField(writer, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(writer, "schema", SCHEMA);
+
+		submission = new ArrayList<>(answers);
+		for (int i = 0; i < answers; i++) {
+			UserQuestionAnswerResultsEntity answer = new UserQuestionAnswerResultsEntity();
+			answer.setUserId(1L);
+			answer.setManagerTemplateCategoryId(1L + i % 8);
+			answer.setQuestionId(1000L + i);
+			answer.setSelectedOption(String.valueOf((char) ('A' + i % 4)));
+			submission.add(answer);
+		}
+	}
+
+	@TearDown(Level.Iteration)
+	public void truncate() {
+		jdbcTemplate.execute("TRUNCATE " + SCHEMA + ".user_question_answer_results");
+	}
+
+	@TearDown(Level.Trial)
+	public void dropSchema() {
+		jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+	}
+
+	@Benchmark
+	public void insertPerAnswer() {
+		String sql = "INSERT INTO " + SCHEMA + ".user_question_answer_results "
+				+ "(user_id, manager_template_category_id, question_id, selected_option) VALUES (?, ?, ?, ?)";
+		transactionTemplate.executeWithoutResult(status -> {
+			for (UserQuestionAnswerResultsEntity answer : submission) {
+				jdbcTemplate.update(sql, answer.getUserId(), answer.getManagerTemplateCategoryId(),
+						answer.getQuestionId(), answer.getSelectedOption());
+			}
+		});
+	}
+
+	@Benchmark
+	public void jdbcBatch() {
+		String sql = "INSERT INTO " + SCHEMA + ".user_question_answer_results "
+				+ "(user_id, manager_template_category_id, question_id, selected_option) VALUES (?, ?, ?, ?)";
+		transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, submission,
+				submission.size(), (PreparedStatement ps, UserQuestionAnswerResultsEntity answer) -> {
+					ps.setLong(1, answer.getUserId());
+					ps.setLong(2, answer.getManagerTemplateCategoryId());
+					ps.setLong(3, answer.getQuestionId());
+					ps.setString(4, answer.getSelectedOption());
+				}));
+	}
+
+	@Benchmark
+	public void bulkWriter() {
+		transactionTemplate.executeWithoutResult(status -> writer.bulkInsert(submission));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(AnswerWriterBenchmark.class.getSimpleName()).build()).run();
+	}
+}
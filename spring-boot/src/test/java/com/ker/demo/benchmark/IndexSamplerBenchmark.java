@@ -0,0 +1,87 @@
+package com.ker.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.ker.demo.utils.FloydSampler;
+import com.ker.demo.utils.IndexSamplers;
+import com.ker.demo.utils.PartialFisherYatesSampler;
+
+/*
+ * Compares a boxed full shuffle of the whole index list with the primitive
+ * samplers. Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.ker.demo.benchmark.IndexSamplerBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexSamplerBenchmark {
+
+	@Param({ "100", "5000", "100000" })
+	private int n;
+
+	@Param({ "5", "50" })
+	private int k;
+
+	private SplittableRandom random;
+
+	@Setup
+	public void setUp() {
+		random = new SplittableRandom(42);
+	}
+
+	@Benchmark
+	public List<Integer> boxedFullShuffle() {
+		List<Integer> indices = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			indices.add(i);
+		}
+		Random rand = new Random();
+		for (int i = indices.size() - 1; i > 0; i--) {
+			Collections.swap(indices, i, rand.nextInt(i + 1));
+		}
+		return indices.subList(0, Math.min(k, n));
+	}
+
+	@Benchmark
+	public int[] partialFisherYates() {
+		return PartialFisherYatesSampler.INSTANCE.sample(n, k, random);
+	}
+
+	@Benchmark
+	public int[] floyd() {
+		return FloydSampler.INSTANCE.sample(n, k, random);
+	}
+
+	@Benchmark
+	public int[] chosen() {
+		return IndexSamplers.sample(n, k, random);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(IndexSamplerBenchmark.class.getSimpleName()).build()).run();
+	}
+}
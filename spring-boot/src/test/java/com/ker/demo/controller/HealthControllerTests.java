@@ -0,0 +1,26 @@
+package com.ker.demo.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.ker.demo.support.QueryBudget;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class HealthControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	@QueryBudget(max = 0)
+	void healthCheckIssuesNoQueries() throws Exception {
+		mockMvc.perform(get("/health/check")).andExpect(status().isOk());
+	}
+}
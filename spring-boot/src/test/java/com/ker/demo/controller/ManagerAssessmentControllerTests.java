@@ -0,0 +1,146 @@
+package com.ker.demo.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Timestamp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.ker.demo.entity.CategoryEntity;
+import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
+import com.ker.demo.entity.ManagerTemplateEntity;
+import com.ker.demo.entity.ReportingMangerEntity;
+import com.ker.demo.entity.UserAssessmentTemplateMapEntity;
+import com.ker.demo.entity.UserEntity;
+import com.ker.demo.entity.UserEvaluationSummaryEntity;
+import com.ker.demo.repository.CategoryRepository;
+import com.ker.demo.repository.ManagerTemplateCategoryMapRepository;
+import com.ker.demo.repository.ManagerTemplateRepository;
+import com.ker.demo.repository.ReportingManagerRepo;
+import com.ker.demo.repository.UserAssessmentTemplateMapRepository;
+import com.ker.demo.repository.UserEvaluationSummaryRepository;
+import com.ker.demo.repository.UserRepo;
+import com.ker.demo.support.QueryBudget;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ManagerAssessmentControllerTests {
+
+	private static final int REPORTS = 5;
+	private static final int TEMPLATES = 3;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Autowired
+	private ReportingManagerRepo reportingManagerRepo;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private ManagerTemplateRepository managerTemplateRepository;
+
+	@Autowired
+	private ManagerTemplateCategoryMapRepository managerTemplateCategoryMapRepository;
+
+	@Autowired
+	private UserAssessmentTemplateMapRepository userAssessmentRepo;
+
+	@Autowired
+	private UserEvaluationSummaryRepository evaluationRepo;
+
+	private Long managerId;
+
+	@BeforeEach
+	void seed() {
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		managerId = userRepo.save(user("manager@example.com")).getUserId();
+
+		ManagerTemplateCategoryMapEntity[] sections = new ManagerTemplateCategoryMapEntity[TEMPLATES];
+		for (int i = 0; i < TEMPLATES; i++) {
+			CategoryEntity category = new CategoryEntity();
+			category.setCategoryName("category-" + i);
+			category = categoryRepository.save(category);
+
+			ManagerTemplateEntity template = new ManagerTemplateEntity();
+			template.setManagerTemplateName("template-" + i);
+			template.setManagerId(managerId);
+			template = managerTemplateRepository.save(template);
+
+			ManagerTemplateCategoryMapEntity section = new ManagerTemplateCategoryMapEntity();
+			section.setManagerTemplateId(template.getManagerTemplateId());
+			section.setCategoryId(category.getCategoryId());
+			section.setWeighage(100);
+			sections[i] = managerTemplateCategoryMapRepository.save(section);
+		}
+
+		for (int i = 0; i < REPORTS; i++) {
+			Long reportId = userRepo.save(user("report" + i + "@example.com")).getUserId();
+			ReportingMangerEntity mapping = new ReportingMangerEntity();
+			mapping.setManagerId(managerId);
+			mapping.setUserId(reportId);
+			reportingManagerRepo.save(mapping);
+
+			for (ManagerTemplateCategoryMapEntity section : sections) {
+				UserAssessmentTemplateMapEntity assignment = new UserAssessmentTemplateMapEntity();
+				assignment.setUserId(reportId);
+				assignment.setManagerTemplateCategoryMap(section);
+				assignment.setAssignedBy("test");
+				assignment.setAssignedDate(now);
+				assignment.setStatus(3);
+				userAssessmentRepo.save(assignment);
+
+				UserEvaluationSummaryEntity summary = new UserEvaluationSummaryEntity();
+				summary.setUserId(reportId);
+				summary.setManagerTemplateId(section.getManagerTemplateId());
+				summary.setManagerTemplateCategoryId(section.getManagerTemplateCategoryId());
+				summary.setScore(80L);
+				evaluationRepo.save(summary);
+			}
+		}
+	}
+
+	@AfterEach
+	void clean() {
+		evaluationRepo.deleteAllInBatch();
+		userAssessmentRepo.deleteAllInBatch();
+		managerTemplateCategoryMapRepository.deleteAllInBatch();
+		managerTemplateRepository.deleteAllInBatch();
+		categoryRepository.deleteAllInBatch();
+		reportingManagerRepo.deleteAllInBatch();
+		userRepo.deleteAllInBatch();
+	}
+
+	@Test
+	@QueryBudget(max = 1)
+	void dashboardIsOneStatementForAnyTeamSize() throws Exception {
+		mockMvc.perform(get("/assessment-dashboard/" + managerId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(REPORTS))
+				.andExpect(jsonPath("$[0].assessments").value(TEMPLATES + "/" + TEMPLATES))
+				.andExpect(jsonPath("$[0].assessmentHistory.length()").value(TEMPLATES));
+	}
+
+	private static UserEntity user(String email) {
+		UserEntity user = new UserEntity();
+		user.setEmail(email);
+		user.setFirstName("Test");
+		user.setStatus("ACTIVE");
+		user.setCreatedUserId("test");
+		return user;
+	}
+}
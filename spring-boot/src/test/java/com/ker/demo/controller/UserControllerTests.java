@@ -0,0 +1,97 @@
+package com.ker.demo.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Timestamp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.ker.demo.entity.ReportingMangerEntity;
+import com.ker.demo.entity.RoleEntity;
+import com.ker.demo.entity.UserEntity;
+import com.ker.demo.repository.ReportingManagerRepo;
+import com.ker.demo.repository.RoleRepo;
+import com.ker.demo.repository.UserRepo;
+import com.ker.demo.support.QueryBudget;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class UserControllerTests {
+
+	private static final int MANAGERS = 6;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Autowired
+	private RoleRepo roleRepo;
+
+	@Autowired
+	private ReportingManagerRepo reportingManagerRepo;
+
+	@BeforeEach
+	void seed() {
+		RoleEntity manager = roleRepo.save(role("manager"));
+		RoleEntity employee = roleRepo.save(role("employee"));
+		UserEntity head = userRepo.save(user("head@example.com", manager.getId(), null));
+		for (int i = 1; i < MANAGERS; i++) {
+			// Every manager reports through its own mapping row, the case that used to cost a query each
+			ReportingMangerEntity mapping = new ReportingMangerEntity();
+			mapping.setManagerId(head.getUserId());
+			mapping.setUserId(head.getUserId() + i);
+			mapping = reportingManagerRepo.save(mapping);
+			userRepo.save(user("manager" + i + "@example.com", manager.getId(), mapping.getUserMangerId()));
+			userRepo.save(user("employee" + i + "@example.com", employee.getId(), mapping.getUserMangerId()));
+		}
+	}
+
+	@AfterEach
+	void clean() {
+		userRepo.deleteAllInBatch();
+		reportingManagerRepo.deleteAllInBatch();
+		roleRepo.deleteAllInBatch();
+	}
+
+	@Test
+	@QueryBudget(max = 2)
+	void managerListCostsTheSameForAnyNumberOfManagers() throws Exception {
+		mockMvc.perform(get("/users/managers"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(MANAGERS))
+				.andExpect(jsonPath("$[0].roleCode").value("manager"));
+	}
+
+	private static RoleEntity role(String code) {
+		RoleEntity role = new RoleEntity();
+		role.setCode(code);
+		role.setName(code);
+		role.setType("system");
+		role.setCreatedUserId("test");
+		role.setCreatedDate(new Timestamp(System.currentTimeMillis()));
+		return role;
+	}
+
+	private static UserEntity user(String email, Long roleId, Long reportingManagerId) {
+		UserEntity user = new UserEntity();
+		user.setEmail(email);
+		user.setFirstName("Test");
+		user.setUserRoleId(roleId);
+		user.setReportingManagerId(reportingManagerId);
+		user.setStatus("ACTIVE");
+		user.setCreatedUserId("test");
+		return user;
+	}
+}
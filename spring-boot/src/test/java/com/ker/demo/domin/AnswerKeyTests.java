@@ -0,0 +1,68 @@
+package com.ker.demo.domin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class AnswerKeyTests {
+
+	private static final List<String> OPTIONS = List.of("Paris", "Rome", "Berlin", "Madrid");
+
+	@Test
+	void lettersMapToOptionPositions() {
+		assertEquals(0, AnswerKey.selectedOptionIndex("A", OPTIONS));
+		assertEquals(3, AnswerKey.selectedOptionIndex("D", OPTIONS));
+	}
+
+	@Test
+	void lowerCaseAndPaddedLettersAreAccepted() {
+		assertEquals(1, AnswerKey.selectedOptionIndex("b", OPTIONS));
+		assertEquals(2, AnswerKey.selectedOptionIndex(" c ", OPTIONS));
+	}
+
+	@Test
+	void lettersPastTheLastOptionAreUnresolved() {
+		assertEquals(AnswerKey.UNRESOLVED, AnswerKey.selectedOptionIndex("E", OPTIONS));
+		assertEquals(AnswerKey.UNRESOLVED, AnswerKey.selectedOptionIndex("z", OPTIONS));
+	}
+
+	@Test
+	void lettersAreTakenAsIsWhenOptionsAreUnknown() {
+		assertEquals(4, AnswerKey.selectedOptionIndex("E", null));
+		assertEquals(4, AnswerKey.selectedOptionIndex("E", List.of()));
+	}
+
+	@Test
+	void optionTextMapsToItsPosition() {
+		assertEquals(2, AnswerKey.selectedOptionIndex("Berlin", OPTIONS));
+		assertEquals(AnswerKey.UNRESOLVED, AnswerKey.selectedOptionIndex("Lisbon", OPTIONS));
+		assertEquals(AnswerKey.UNRESOLVED, AnswerKey.selectedOptionIndex("Berlin", null));
+	}
+
+	@Test
+	void blankAndNonLetterAnswersAreUnresolved() {
+		assertEquals(AnswerKey.UNRESOLVED, AnswerKey.selectedOptionIndex(null, OPTIONS));
+		assertEquals(AnswerKey.UNRESOLVED, AnswerKey.selectedOptionIndex("", OPTIONS));
+		assertEquals(AnswerKey.UNRESOLVED, AnswerKey.selectedOptionIndex("1", OPTIONS));
+		assertEquals(AnswerKey.UNRESOLVED, AnswerKey.selectedOptionIndex("AB", OPTIONS));
+	}
+
+	@Test
+	void correctOptionIsLookedUpByQuestionId() {
+		AnswerKey key = new AnswerKey(new long[] { 3, 7, 19 }, new byte[] { 2, AnswerKey.UNRESOLVED, 0 });
+
+		assertEquals(3, key.size());
+		assertEquals(2, key.correctOptionIndex(3));
+		assertEquals(AnswerKey.UNRESOLVED, key.correctOptionIndex(7));
+		assertEquals(0, key.correctOptionIndex(19));
+		assertEquals(AnswerKey.UNRESOLVED, key.correctOptionIndex(8));
+	}
+
+	@Test
+	void mismatchedArraysAreRejected() {
+		assertThrows(IllegalArgumentException.class, () -> new AnswerKey(new long[] { 1, 2 }, new byte[1]));
+	}
+}
@@ -0,0 +1,114 @@
+package com.ker.demo.serviceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ker.demo.entity.CategoryEntity;
+import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
+import com.ker.demo.entity.ManagerTemplateEntity;
+import com.ker.demo.entity.UserAssessmentTemplateMapEntity;
+import com.ker.demo.entity.UserEntity;
+import com.ker.demo.repository.CategoryRepository;
+import com.ker.demo.repository.ManagerTemplateCategoryMapRepository;
+import com.ker.demo.repository.ManagerTemplateRepository;
+import com.ker.demo.repository.UserAssessmentTemplateMapRepository;
+import com.ker.demo.repository.UserRepo;
+import com.ker.demo.service.CandidateAssessmentService;
+import com.ker.demo.support.QueryBudget;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class CandidateAssessmentServiceImplQueryTests {
+
+	private static final int ASSIGNMENTS = 5;
+
+	@Autowired
+	private CandidateAssessmentService candidateAssessmentService;
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private ManagerTemplateRepository managerTemplateRepository;
+
+	@Autowired
+	private ManagerTemplateCategoryMapRepository managerTemplateCategoryMapRepository;
+
+	@Autowired
+	private UserAssessmentTemplateMapRepository userAssessmentRepo;
+
+	private Long userId;
+
+	@BeforeEach
+	void seed() {
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		UserEntity candidate = new UserEntity();
+		candidate.setEmail("candidate@example.com");
+		candidate.setCreatedUserId("test");
+		userId = userRepo.save(candidate).getUserId();
+
+		for (int i = 0; i < ASSIGNMENTS; i++) {
+			CategoryEntity category = new CategoryEntity();
+			category.setCategoryName("category-" + i);
+			category = categoryRepository.save(category);
+
+			ManagerTemplateEntity template = new ManagerTemplateEntity();
+			template.setManagerTemplateName("template-" + i);
+			template.setManagerId(1L);
+			template = managerTemplateRepository.save(template);
+
+			ManagerTemplateCategoryMapEntity section = new ManagerTemplateCategoryMapEntity();
+			section.setManagerTemplateId(template.getManagerTemplateId());
+			section.setCategoryId(category.getCategoryId());
+			section.setWeighage(100);
+			section = managerTemplateCategoryMapRepository.save(section);
+
+			UserAssessmentTemplateMapEntity assignment = new UserAssessmentTemplateMapEntity();
+			assignment.setUserId(userId);
+			assignment.setManagerTemplateCategoryMap(section);
+			assignment.setAssignedBy("test");
+			assignment.setAssignedDate(now);
+			userAssessmentRepo.save(assignment);
+		}
+	}
+
+	@AfterEach
+	void clean() {
+		userAssessmentRepo.deleteAllInBatch();
+		managerTemplateCategoryMapRepository.deleteAllInBatch();
+		managerTemplateRepository.deleteAllInBatch();
+		categoryRepository.deleteAllInBatch();
+		userRepo.deleteAllInBatch();
+	}
+
+	@Test
+	@QueryBudget(max = 2)
+	void assignedExamsCostTheSameForAnyNumberOfAssignments() {
+		List<Map<String, Object>> exams = candidateAssessmentService.getAssignedExams(userId);
+
+		assertEquals(ASSIGNMENTS, exams.size());
+		assertEquals("template-0", exams.get(0).get("name"));
+		assertEquals("category-0", exams.get(0).get("category"));
+	}
+
+	@Test
+	@QueryBudget(max = 2)
+	void repeatedLookupsAreServedFromTheCache() {
+		candidateAssessmentService.getAssignedExams(userId);
+		candidateAssessmentService.getAssignedExams(userId);
+		candidateAssessmentService.getAssignedExams(userId);
+	}
+}
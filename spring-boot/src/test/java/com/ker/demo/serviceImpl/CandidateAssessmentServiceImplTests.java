@@ -0,0 +1,238 @@
+package com.ker.demo.serviceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ker.demo.domin.AnswerKey;
+import com.ker.demo.domin.PooledQuestion;
+import com.ker.demo.event.AssessmentStatusChangedEvent;
+import com.ker.demo.entity.ManagerTemplateCategoryMapEntity;
+import com.ker.demo.entity.UserAssessmentTemplateMapEntity;
+import com.ker.demo.entity.UserEntity;
+import com.ker.demo.entity.UserEvaluationSummaryEntity;
+import com.ker.demo.repository.CandidateResultViewRepository;
+import com.ker.demo.repository.CategoryRepository;
+import com.ker.demo.repository.ManagerTemplateCategoryMapRepository;
+import com.ker.demo.repository.ManagerTemplateRepository;
+import com.ker.demo.repository.QuestionAnswerRepository;
+import com.ker.demo.repository.UserAssessmentTemplateMapRepository;
+import com.ker.demo.repository.UserEvaluationSummaryRepository;
+import com.ker.demo.repository.UserQuestionAnswerResultsRepository;
+import com.ker.demo.repository.UserRepo;
+import com.ker.demo.service.AnswerKeyService;
+import com.ker.demo.service.AssignedExamCacheService;
+import com.ker.demo.service.CandidateAssessmentService.SubmitRequest;
+import com.ker.demo.service.ExamPaperService;
+import com.ker.demo.service.ExamResponseCacheService;
+
+@ExtendWith(MockitoExtension.class)
+class CandidateAssessmentServiceImplTests {
+
+	private static final Long USER_ID = 1L;
+	private static final Long TEMPLATE_ID = 7L;
+	private static final List<String> OPTIONS = List.of("red", "green", "blue", "black");
+
+	@Mock
+	private UserRepo userRepo;
+	@Mock
+	private UserAssessmentTemplateMapRepository userAssessmentRepo;
+	@Mock
+	private ManagerTemplateCategoryMapRepository managerTemplateCategoryMapRepository;
+	@Mock
+	private ManagerTemplateRepository managerTemplateRepository;
+	@Mock
+	private QuestionAnswerRepository questionAnswerRepository;
+	@Mock
+	private UserQuestionAnswerResultsRepository userAnswersRepo;
+	@Mock
+	private UserEvaluationSummaryRepository evaluationRepo;
+	@Mock
+	private CategoryRepository categoryRepository;
+	@Mock
+	private ExamPaperService examPaperService;
+	@Mock
+	private ExamResponseCacheService examResponseCacheService;
+	@Mock
+	private AnswerKeyService answerKeyService;
+	@Mock
+	private CandidateResultViewRepository resultViewRepo;
+	@Mock
+	private AssignedExamCacheService assignedExamCacheService;
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@InjectMocks
+	private CandidateAssessmentServiceImpl service;
+
+	@BeforeEach
+	void setPassMark() {
+		ReflectionTestUtils.setField(service, "passMark", 60);
+	}
+
+	@Test
+	void unansweredQuestionsCountAgainstTheSectionScore() {
+		ManagerTemplateCategoryMapEntity section = section(11L, 5L);
+		givenExam(List.of(section), Map.of(11L, questions(5L, 101, 102, 103, 104)));
+
+		Map<String, Object> result = service.submitExam(USER_ID, TEMPLATE_ID, answers("101", "A", "102", "B"));
+
+		// One of four questions right; the two unanswered ones are not skipped
+		assertEquals(Map.of(11L, 25L), storedScores());
+		@SuppressWarnings("unchecked")
+		Map<String, Object> analysis = (Map<String, Object>) result.get("analysis");
+		assertEquals(4, analysis.get("totalQuestions"));
+		assertEquals(1, analysis.get("correct"));
+		assertEquals(1, analysis.get("incorrect"));
+		assertEquals(2, analysis.get("unanswered"));
+	}
+
+	@Test
+	void eachSectionIsScoredOnItsOwnQuestions() {
+		ManagerTemplateCategoryMapEntity first = section(11L, 5L);
+		ManagerTemplateCategoryMapEntity second = section(12L, 6L);
+		givenExam(List.of(first, second), Map.of(11L, questions(5L, 101, 102), 12L, questions(6L, 201, 202)));
+
+		service.submitExam(USER_ID, TEMPLATE_ID, answers("101", "A", "102", "A", "201", "C", "202", "D"));
+
+		// Not a running total across sections, which would have stored 50 for the second one
+		assertEquals(Map.of(11L, 100L, 12L, 0L), storedScores());
+	}
+
+	@Test
+	void theWeightedExamScoreDecidesCompletedOrFail() {
+		ManagerTemplateCategoryMapEntity first = section(11L, 5L);
+		ManagerTemplateCategoryMapEntity second = section(12L, 6L);
+		givenExam(List.of(first, second), Map.of(11L, questions(5L, 101, 102), 12L, questions(6L, 201, 202)));
+		// Assignments always point at the template's first section
+		UserAssessmentTemplateMapEntity assignment = assignment(first, 1);
+		when(userAssessmentRepo.findByUserIdAndManagerTemplateId(USER_ID, TEMPLATE_ID))
+				.thenReturn(List.of(assignment));
+
+		service.submitExam(USER_ID, TEMPLATE_ID, answers("101", "A", "102", "D", "201", "A", "202", "A"));
+
+		// 50 on the first section alone would fail; the equally weighted total is 75
+		assertEquals(Map.of(11L, 50L, 12L, 100L), storedScores());
+		assertEquals(3, assignment.getStatus());
+		List<AssessmentStatusChangedEvent> changes = statusChanges();
+		assertEquals(1, changes.size());
+		assertEquals(1, changes.get(0).getFromStatus());
+		assertEquals(3, changes.get(0).getToStatus());
+		assertEquals(TEMPLATE_ID, changes.get(0).getManagerTemplateId());
+		assertEquals(List.of(USER_ID), changes.get(0).getUserIds());
+	}
+
+	@Test
+	void aWeightedExamScoreBelowThePassMarkFails() {
+		ManagerTemplateCategoryMapEntity first = section(11L, 5L);
+		ManagerTemplateCategoryMapEntity second = section(12L, 6L);
+		givenExam(List.of(first, second), Map.of(11L, questions(5L, 101, 102), 12L, questions(6L, 201, 202)));
+		UserAssessmentTemplateMapEntity assignment = assignment(first, 1);
+		when(userAssessmentRepo.findByUserIdAndManagerTemplateId(USER_ID, TEMPLATE_ID))
+				.thenReturn(List.of(assignment));
+
+		service.submitExam(USER_ID, TEMPLATE_ID, answers("101", "A", "102", "A", "201", "D", "202", "D"));
+
+		// 100 on the first section, 0 on the second: 50 overall
+		assertEquals(4, assignment.getStatus());
+		assertEquals(4, statusChanges().get(0).getToStatus());
+	}
+
+	@Test
+	void gradingSettlesAnAssignmentTheJobAlreadyExpired() {
+		ManagerTemplateCategoryMapEntity section = section(11L, 5L);
+		givenExam(List.of(section), Map.of(11L, questions(5L, 101, 102)));
+		UserAssessmentTemplateMapEntity newest = assignment(section, 2);
+		UserAssessmentTemplateMapEntity older = assignment(section, 4);
+		when(userAssessmentRepo.findByUserIdAndManagerTemplateId(USER_ID, TEMPLATE_ID))
+				.thenReturn(List.of(newest, older));
+
+		service.submitExam(USER_ID, TEMPLATE_ID, answers("101", "A", "102", "A"));
+
+		// Only the newest assignment of the exam is settled; the older one keeps its outcome
+		assertEquals(3, newest.getStatus());
+		assertEquals(4, older.getStatus());
+		List<AssessmentStatusChangedEvent> changes = statusChanges();
+		assertEquals(1, changes.size());
+		assertEquals(2, changes.get(0).getFromStatus());
+		assertEquals(3, changes.get(0).getToStatus());
+	}
+
+	private void givenExam(List<ManagerTemplateCategoryMapEntity> sections, Map<Long, List<PooledQuestion>> paper) {
+		when(userRepo.findById(USER_ID)).thenReturn(Optional.of(new UserEntity()));
+		when(managerTemplateCategoryMapRepository.findByManagerTemplateId(TEMPLATE_ID)).thenReturn(sections);
+		when(examPaperService.getPaper(any(), eq(USER_ID), eq(TEMPLATE_ID), any(), anyList())).thenReturn(paper);
+		// Option A is correct for every question
+		long[] ids = paper.values().stream().flatMap(List::stream).mapToLong(PooledQuestion::getQuestionId)
+				.sorted().toArray();
+		when(answerKeyService.getAnswerKey(TEMPLATE_ID)).thenReturn(new AnswerKey(ids, new byte[ids.length]));
+	}
+
+	private Map<Long, Long> storedScores() {
+		ArgumentCaptor<UserEvaluationSummaryEntity> summaries = ArgumentCaptor.forClass(UserEvaluationSummaryEntity.class);
+		verify(evaluationRepo, atLeastOnce()).save(summaries.capture());
+		return summaries.getAllValues().stream().collect(Collectors.toMap(
+				UserEvaluationSummaryEntity::getManagerTemplateCategoryId, UserEvaluationSummaryEntity::getScore));
+	}
+
+	private List<AssessmentStatusChangedEvent> statusChanges() {
+		ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+		verify(eventPublisher, atLeastOnce()).publishEvent(events.capture());
+		return events.getAllValues().stream().filter(AssessmentStatusChangedEvent.class::isInstance)
+				.map(AssessmentStatusChangedEvent.class::cast).toList();
+	}
+
+	private static UserAssessmentTemplateMapEntity assignment(ManagerTemplateCategoryMapEntity section, int status) {
+		UserAssessmentTemplateMapEntity assignment = new UserAssessmentTemplateMapEntity();
+		assignment.setUserId(USER_ID);
+		assignment.setManagerTemplateCategoryMap(section);
+		assignment.setStatus(status);
+		return assignment;
+	}
+
+	private static ManagerTemplateCategoryMapEntity section(Long managerTemplateCategoryId, Long categoryId) {
+		ManagerTemplateCategoryMapEntity section = new ManagerTemplateCategoryMapEntity();
+		section.setManagerTemplateCategoryId(managerTemplateCategoryId);
+		section.setManagerTemplateId(TEMPLATE_ID);
+		section.setCategoryId(categoryId);
+		section.setWeighage(50);
+		return section;
+	}
+
+	private static List<PooledQuestion> questions(Long categoryId, long... questionIds) {
+		return Arrays.stream(questionIds)
+				.mapToObj(id -> new PooledQuestion(id, categoryId, "Question " + id, OPTIONS, OPTIONS.get(0), null))
+				.toList();
+	}
+
+	private static SubmitRequest answers(String... questionAndLetter) {
+		Map<String, String> answers = new LinkedHashMap<>();
+		for (int i = 0; i < questionAndLetter.length; i += 2) {
+			answers.put(questionAndLetter[i], questionAndLetter[i + 1]);
+		}
+		SubmitRequest request = new SubmitRequest();
+		request.answers = answers;
+		return request;
+	}
+}
@@ -0,0 +1,67 @@
+package com.ker.demo.serviceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class QuestionAllocationServiceImplTests {
+
+	private static final int UNLIMITED = Integer.MAX_VALUE;
+
+	@Test
+	void sharesFollowWeightage() {
+		int[] shares = QuestionAllocationServiceImpl.apportion(10, new long[] { 50, 30, 20 },
+				new int[] { UNLIMITED, UNLIMITED, UNLIMITED });
+
+		assertArrayEquals(new int[] { 5, 3, 2 }, shares);
+	}
+
+	@Test
+	void largestRemaindersTakeTheLeftoverQuestions() {
+		int[] shares = QuestionAllocationServiceImpl.apportion(10, new long[] { 1, 1, 1 },
+				new int[] { UNLIMITED, UNLIMITED, UNLIMITED });
+
+		// Equal remainders go to the earlier slot
+		assertArrayEquals(new int[] { 4, 3, 3 }, shares);
+	}
+
+	@Test
+	void fullCategoriesPassTheirExcessOn() {
+		int[] shares = QuestionAllocationServiceImpl.apportion(10, new long[] { 80, 10, 10 }, new int[] { 2, 50, 50 });
+
+		assertArrayEquals(new int[] { 2, 4, 4 }, shares);
+	}
+
+	@Test
+	void zeroWeightCategoriesOnlyFillWhenOthersAreFull() {
+		assertArrayEquals(new int[] { 6, 0 },
+				QuestionAllocationServiceImpl.apportion(6, new long[] { 1, 0 }, new int[] { 10, 10 }));
+		assertArrayEquals(new int[] { 3, 3 },
+				QuestionAllocationServiceImpl.apportion(6, new long[] { 1, 0 }, new int[] { 3, 10 }));
+	}
+
+	@Test
+	void sharesAlwaysAddUpToTheRequestedCount() {
+		SplittableRandom random = new SplittableRandom(11);
+		for (int run = 0; run < 500; run++) {
+			int n = 1 + random.nextInt(8);
+			long[] weights = random.longs(n, 0, 100).toArray();
+			int[] capacities = random.ints(n, 0, 40).toArray();
+			int total = random.nextInt(120);
+
+			int[] shares = QuestionAllocationServiceImpl.apportion(total, weights, capacities);
+
+			int available = Arrays.stream(capacities).sum();
+			assertEquals(Math.min(total, available), Arrays.stream(shares).sum(), () -> "weights "
+					+ Arrays.toString(weights) + ", capacities " + Arrays.toString(capacities) + ", total " + total);
+			for (int i = 0; i < n; i++) {
+				assertTrue(shares[i] >= 0 && shares[i] <= capacities[i]);
+			}
+		}
+	}
+}
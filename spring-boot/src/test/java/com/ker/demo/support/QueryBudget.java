@@ -0,0 +1,23 @@
+package com.ker.demo.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Fails the test when it issues more than {@code max} SQL statements, through
+ * Hibernate or JdbcTemplate. MockMvc runs the request on the test thread, so the budget
+ * covers the endpoint under test. Only the test method body is measured, so
+ * fixtures written in {@code @BeforeEach} do not count. On a class it applies
+ * to every test method without its own budget.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+	long max();
+}
@@ -0,0 +1,37 @@
+package com.ker.demo.support;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import com.ker.demo.utils.QueryCounter;
+
+class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+	private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace
+			.create(QueryBudgetExtension.class);
+
+	@Override
+	public void beforeTestExecution(ExtensionContext context) {
+		context.getStore(NAMESPACE).put(context.getUniqueId(), QueryCounter.current());
+	}
+
+	@Override
+	public void afterTestExecution(ExtensionContext context) {
+		long start = context.getStore(NAMESPACE).remove(context.getUniqueId(), Long.class);
+		long statements = QueryCounter.current() - start;
+		long max = budget(context);
+		if (statements > max) {
+			throw new AssertionError(context.getDisplayName() + " issued " + statements
+					+ " SQL statements, over its query budget of " + max + ".");
+		}
+	}
+
+	private static long budget(ExtensionContext context) {
+		return AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+				.or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class))
+				.map(QueryBudget::max)
+				.orElseThrow();
+	}
+}
@@ -0,0 +1,107 @@
+package com.ker.demo.support;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import com.ker.demo.utils.QueryCountingDataSource;
+
+class QueryBudgetExtensionTests {
+
+	private final QueryBudgetExtension extension = new QueryBudgetExtension();
+
+	@Test
+	void failsWhenTheBudgetIsExceeded() throws Exception {
+		ExtensionContext context = contextFor("budgetOfTwo");
+
+		extension.beforeTestExecution(context);
+		issueStatements(3);
+		AssertionError error = assertThrows(AssertionError.class, () -> extension.afterTestExecution(context));
+		assertTrue(error.getMessage().contains("issued 3 SQL statements, over its query budget of 2"));
+	}
+
+	@Test
+	void passesAtTheBudget() throws Exception {
+		ExtensionContext context = contextFor("budgetOfTwo");
+
+		extension.beforeTestExecution(context);
+		issueStatements(2);
+		assertDoesNotThrow(() -> extension.afterTestExecution(context));
+	}
+
+	@Test
+	void methodBudgetOverridesTheClassBudget() throws Exception {
+		ExtensionContext context = contextFor("unannotated");
+
+		extension.beforeTestExecution(context);
+		issueStatements(1);
+		assertThrows(AssertionError.class, () -> extension.afterTestExecution(context));
+	}
+
+	@Test
+	void onlyCountsStatementsIssuedDuringTheTest() throws Exception {
+		ExtensionContext context = contextFor("budgetOfTwo");
+
+		issueStatements(5);
+		extension.beforeTestExecution(context);
+		issueStatements(2);
+		assertDoesNotThrow(() -> extension.afterTestExecution(context));
+	}
+
+	private static void issueStatements(int count) throws SQLException {
+		Connection connection = mock(Connection.class);
+		when(connection.prepareStatement(any())).thenReturn(mock(PreparedStatement.class));
+		DataSource target = mock(DataSource.class);
+		when(target.getConnection()).thenReturn(connection);
+
+		// Counted where the statements execute, as for the application's data source
+		try (Connection counted = new QueryCountingDataSource(target).getConnection()) {
+			for (int i = 0; i < count; i++) {
+				counted.prepareStatement("select 1").executeQuery();
+			}
+		}
+	}
+
+	private static ExtensionContext contextFor(String methodName) throws NoSuchMethodException {
+		Method method = Budgeted.class.getDeclaredMethod(methodName);
+		Map<Object, Object> values = new HashMap<>();
+		ExtensionContext.Store store = mock(ExtensionContext.Store.class);
+		org.mockito.Mockito.doAnswer(invocation -> values.put(invocation.getArgument(0), invocation.getArgument(1)))
+				.when(store).put(any(), any());
+		when(store.remove(any(), any())).thenAnswer(invocation -> values.remove(invocation.getArgument(0)));
+
+		ExtensionContext context = mock(ExtensionContext.class);
+		when(context.getStore(any())).thenReturn(store);
+		when(context.getUniqueId()).thenReturn(methodName);
+		when(context.getDisplayName()).thenReturn(methodName + "()");
+		when(context.getRequiredTestMethod()).thenReturn(method);
+		when(context.getRequiredTestClass()).thenAnswer(invocation -> Budgeted.class);
+		return context;
+	}
+
+	@QueryBudget(max = 0)
+	static class Budgeted {
+
+		@QueryBudget(max = 2)
+		void budgetOfTwo() {
+		}
+
+		void unannotated() {
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.ker.demo.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class IndexSamplerTests {
+
+	static Stream<IndexSampler> samplers() {
+		return Stream.of(FloydSampler.INSTANCE, PartialFisherYatesSampler.INSTANCE);
+	}
+
+	@ParameterizedTest
+	@MethodSource("samplers")
+	void sameSeedGivesSameSample(IndexSampler sampler) {
+		int[] first = sampler.sample(1000, 40, new SplittableRandom(42));
+		int[] second = sampler.sample(1000, 40, new SplittableRandom(42));
+
+		assertArrayEquals(first, second);
+	}
+
+	@ParameterizedTest
+	@MethodSource("samplers")
+	void samplesAreDistinctAndInRange(IndexSampler sampler) {
+		for (long seed = 0; seed < 50; seed++) {
+			int[] picked = sampler.sample(60, 25, new SplittableRandom(seed));
+
+			assertEquals(25, picked.length);
+			assertEquals(25, Arrays.stream(picked).distinct().count());
+			assertTrue(Arrays.stream(picked).allMatch(i -> i >= 0 && i < 60));
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("samplers")
+	void sampleIsCappedAtPoolSize(IndexSampler sampler) {
+		int[] picked = sampler.sample(10, 25, new SplittableRandom(7));
+
+		assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 },
+				Arrays.stream(picked).sorted().toArray());
+		assertEquals(0, sampler.sample(10, 0, new SplittableRandom(7)).length);
+		assertEquals(0, sampler.sample(0, 5, new SplittableRandom(7)).length);
+	}
+
+	@Test
+	void floydIsChosenOnlyForSmallFractions() {
+		assertSame(FloydSampler.INSTANCE, IndexSamplers.choose(1000, 10));
+		assertSame(PartialFisherYatesSampler.INSTANCE, IndexSamplers.choose(100, 50));
+		assertSame(PartialFisherYatesSampler.INSTANCE, IndexSamplers.choose(100, 0));
+	}
+}